@@ -21,14 +21,6 @@ public class AppConfig {
         return new RestTemplate();
     }
 
-    // Schedule task to update sustainability scores daily
-    @Scheduled(cron = "0 0 0 * * *") // Run at 00:00 every day
-    public void scheduleTaskEveryDay() {
-        // Update sustainability scores
-        // Update item statuses
-        // Clean up expired tokens
-    }
-
     // Schedule task to update system metrics
     @Scheduled(cron = "0 * * * * *") // Run every minute
     public void scheduleTaskEveryMinute() {
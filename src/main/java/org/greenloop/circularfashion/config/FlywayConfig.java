@@ -0,0 +1,51 @@
+package org.greenloop.circularfashion.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate (ddl-auto) creates and updates the entity tables; Flyway then applies db/migration on
+ * top of them for what the entities cannot declare: partial, expression and trigram indexes,
+ * extensions and the partitioned lifecycle log. The migrations need the tables, so Flyway runs
+ * after the EntityManagerFactory instead of before it. V3 onwards are idempotent.
+ */
+@Configuration
+public class FlywayConfig {
+
+    // Spring Boot migrates before JPA starts; that run is skipped and replaced by the one below
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> { };
+    }
+
+    @Bean
+    public FlywayMigrationAfterHibernate flywayMigrationAfterHibernate(Flyway flyway,
+                                                                       EntityManagerFactory entityManagerFactory) {
+        return new FlywayMigrationAfterHibernate(flyway);
+    }
+
+    // Beans are lazy (spring.main.lazy-initialization), so the migration is created at startup explicitly
+    @Bean
+    public static LazyInitializationExcludeFilter flywayMigrationAfterHibernateExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationAfterHibernate.class);
+    }
+
+    public static class FlywayMigrationAfterHibernate implements InitializingBean {
+
+        private final Flyway flyway;
+
+        FlywayMigrationAfterHibernate(Flyway flyway) {
+            this.flyway = flyway;
+        }
+
+        @Override
+        public void afterPropertiesSet() {
+            flyway.migrate();
+        }
+    }
+}
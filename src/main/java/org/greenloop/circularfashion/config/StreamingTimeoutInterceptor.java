@@ -0,0 +1,28 @@
+package org.greenloop.circularfashion.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Applies a per-request async timeout to streamed responses (StreamingResponseBody runs as a
+ * Callable). A handler that needs longer than the container default sets TIMEOUT_ATTRIBUTE on the
+ * request; every other async request keeps the default.
+ */
+@Component
+public class StreamingTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    public static final String TIMEOUT_ATTRIBUTE = StreamingTimeoutInterceptor.class.getName() + ".timeoutMs";
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Long timeoutMs && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(timeoutMs);
+        }
+    }
+}
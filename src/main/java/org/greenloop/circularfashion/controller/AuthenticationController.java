@@ -176,7 +176,8 @@ public class AuthenticationController {
     @PostMapping("/logout")
     public ResponseEntity<ApiResponse<String>> logout(@RequestHeader("Authorization") String token) {
         try {
-            return ResponseEntity.ok(ApiResponse.success("Logged out successfully", "Logout successful"));
+            String message = authenticationService.logout(token);
+            return ResponseEntity.ok(ApiResponse.success(message, "Logout successful"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(ApiResponse.error("Logout failed: " + e.getMessage()));
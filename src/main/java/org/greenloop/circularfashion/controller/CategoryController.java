@@ -14,13 +14,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/categories")
@@ -71,7 +74,7 @@ public class CategoryController {
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete category (soft)", 
-               description = "Soft delete a category and all subcategories by setting isActive=false")
+               description = "Soft delete a category and its whole subtree by setting isActive=false")
     public ResponseEntity<Void> deleteCategory(@PathVariable UUID id) {
         log.info("Soft deleting category: {}", id);
         categoryService.deleteCategory(id);
@@ -88,7 +91,7 @@ public class CategoryController {
     }
 
     @PostMapping("/{id}/restore")
-    @Operation(summary = "Restore category", description = "Restore a soft-deleted category by setting isActive=true")
+    @Operation(summary = "Restore category", description = "Restore a soft-deleted category and its whole subtree by setting isActive=true")
     public ResponseEntity<CategoryResponse> restoreCategory(@PathVariable UUID id) {
         log.info("Restoring category: {}", id);
         CategoryResponse response = categoryService.restoreCategory(id);
@@ -124,29 +127,33 @@ public class CategoryController {
     }
 
     @GetMapping("/root")
-    @Operation(summary = "Get root categories", description = "Retrieve all top-level categories (no parent)")
-    public ResponseEntity<List<CategoryResponse>> getRootCategories() {
+    @Operation(summary = "Get root categories", 
+               description = "Retrieve all top-level categories (no parent); revalidate with If-None-Match")
+    public ResponseEntity<List<CategoryResponse>> getRootCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Fetching root categories");
-        List<CategoryResponse> categories = categoryService.getRootCategories();
-        return ResponseEntity.ok(categories);
+        return withTreeETag(ifNoneMatch, categoryService::getRootCategories);
     }
 
     @GetMapping("/{id}/subcategories")
-    @Operation(summary = "Get subcategories", description = "Get all subcategories of a parent category")
-    public ResponseEntity<List<CategoryResponse>> getSubCategories(@PathVariable UUID id) {
+    @Operation(summary = "Get subcategories", 
+               description = "Get all subcategories of a parent category; revalidate with If-None-Match")
+    public ResponseEntity<List<CategoryResponse>> getSubCategories(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Fetching subcategories for parent: {}", id);
-        List<CategoryResponse> subCategories = categoryService.getSubCategories(id);
-        return ResponseEntity.ok(subCategories);
+        return withTreeETag(ifNoneMatch, () -> categoryService.getSubCategories(id));
     }
 
     // ==================== Tree Structure ====================
 
     @GetMapping("/tree")
-    @Operation(summary = "Get category tree", description = "Get the complete category hierarchy tree")
-    public ResponseEntity<List<CategoryResponse>> getCategoryTree() {
+    @Operation(summary = "Get category tree", 
+               description = "Get the complete hierarchy of active categories; revalidate with If-None-Match")
+    public ResponseEntity<List<CategoryResponse>> getCategoryTree(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.debug("Fetching category tree");
-        List<CategoryResponse> tree = categoryService.getCategoryTree();
-        return ResponseEntity.ok(tree);
+        return withTreeETag(ifNoneMatch, categoryService::getCategoryTree);
     }
 
     @GetMapping("/{id}/with-subcategories")
@@ -187,5 +194,16 @@ public class CategoryController {
                 "subCategories", totalCategories - rootCategories
         ));
     }
-}
 
+    // The tag is read before the body, so a body is never older than the tag it is served with
+    private ResponseEntity<List<CategoryResponse>> withTreeETag(String ifNoneMatch,
+                                                                Supplier<List<CategoryResponse>> body) {
+        String eTag = categoryService.getCategoryTreeETag();
+        if (ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(body.get());
+    }
+}
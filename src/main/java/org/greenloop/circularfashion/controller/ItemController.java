@@ -1,36 +1,65 @@
 package org.greenloop.circularfashion.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.config.StreamingTimeoutInterceptor;
 import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.ItemWorkLease;
+import org.greenloop.circularfashion.entity.request.BulkItemStatusUpdateRequest;
 import org.greenloop.circularfashion.entity.request.ItemCreateRequest;
+import org.greenloop.circularfashion.entity.request.ItemLifecycleEventRequest;
 import org.greenloop.circularfashion.entity.request.ItemUpdateRequest;
+import org.greenloop.circularfashion.entity.response.BulkItemReport;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
+import org.greenloop.circularfashion.entity.response.FacetSearchResponse;
+import org.greenloop.circularfashion.entity.response.ItemCodeSnapshot;
+import org.greenloop.circularfashion.entity.response.ItemLifecycleEventResponse;
+import org.greenloop.circularfashion.entity.response.ItemMediaAckResponse;
 import org.greenloop.circularfashion.entity.response.ItemResponse;
 import org.greenloop.circularfashion.entity.response.ItemStatusUpdateRequest;
 import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
+import org.greenloop.circularfashion.entity.response.ItemWorkBatchResponse;
+import org.greenloop.circularfashion.entity.response.ItemWorkQueueStatsResponse;
 import org.greenloop.circularfashion.service.CloudinaryService;
+import org.greenloop.circularfashion.service.ItemFacetService;
+import org.greenloop.circularfashion.service.ItemLifecycleEventService;
 import org.greenloop.circularfashion.service.ItemService;
+import org.greenloop.circularfashion.service.ItemStatsService;
+import org.greenloop.circularfashion.service.ItemWorkQueueService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 @RestController
 @RequestMapping("/api/items")
@@ -42,6 +71,16 @@ public class ItemController {
 
     private final ItemService itemService;
     private final CloudinaryService cloudinaryService;
+    private final ItemFacetService itemFacetService;
+    private final ItemLifecycleEventService itemLifecycleEventService;
+    private final ItemWorkQueueService itemWorkQueueService;
+    private final ItemStatsService itemStatsService;
+    private final ObjectMapper objectMapper;
+
+    private static final int NDJSON_FLUSH_INTERVAL = 100;
+
+    @Value("${app.items.export.timeout-ms:600000}")
+    private Long exportTimeoutMs;
 
     // ==================== CRUD Operations ====================
 
@@ -119,7 +158,7 @@ public class ItemController {
     }
 
     @GetMapping("/category/{categoryId}")
-    @Operation(summary = "Get items by category", description = "Get all items in a specific category")
+    @Operation(summary = "Get items by category", description = "Get listed items in a category and all of its subcategories")
     public ResponseEntity<Page<ItemSummaryResponse>> getItemsByCategory(
             @PathVariable UUID categoryId,
             @PageableDefault(size = 20) Pageable pageable) {
@@ -130,10 +169,10 @@ public class ItemController {
     }
 
     @GetMapping("/brand/{brandId}")
-    @Operation(summary = "Get items by brand", description = "Get all items from a specific brand")
+    @Operation(summary = "Get items by brand", description = "Get listed items from a specific brand")
     public ResponseEntity<Page<ItemSummaryResponse>> getItemsByBrand(
             @PathVariable UUID brandId,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
         
         log.debug("Fetching items for brand: {}", brandId);
         Page<ItemSummaryResponse> items = itemService.getItemsByBrand(brandId, pageable);
@@ -153,6 +192,19 @@ public class ItemController {
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/search/fulltext")
+    @Operation(summary = "Full-text search items", 
+               description = "Ranked search over name, description and tags with prefix matching; " +
+                             "falls back to similar names when nothing matches")
+    public ResponseEntity<Page<ItemSummaryResponse>> searchItemsFullText(
+            @RequestParam String keyword,
+            @PageableDefault(size = 20) Pageable pageable) {
+        
+        log.info("Full-text searching items with keyword: {}", keyword);
+        Page<ItemSummaryResponse> items = itemService.searchItemsFullText(keyword, pageable);
+        return ResponseEntity.ok(items);
+    }
+
     @GetMapping("/filter")
     @Operation(summary = "Filter items", description = "Filter items with multiple criteria")
     public ResponseEntity<Page<ItemSummaryResponse>> filterItems(
@@ -169,6 +221,94 @@ public class ItemController {
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping("/facets")
+    @Operation(summary = "Faceted marketplace search", 
+               description = "Filter listed and ready-for-sale items by category, brand, size, color and condition, " +
+                             "with match counts for every facet value")
+    public ResponseEntity<FacetSearchResponse> facetSearch(
+            @RequestParam(required = false) Set<String> categoryIds,
+            @RequestParam(required = false) Set<String> brandIds,
+            @RequestParam(required = false) Set<String> sizes,
+            @RequestParam(required = false) Set<String> colors,
+            @RequestParam(required = false) Set<String> conditions,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        Map<String, Set<String>> filters = new HashMap<>();
+        filters.put(ItemFacetService.CATEGORY, categoryIds);
+        filters.put(ItemFacetService.BRAND, brandIds);
+        filters.put(ItemFacetService.SIZE, sizes);
+        filters.put(ItemFacetService.COLOR, colors);
+        filters.put(ItemFacetService.CONDITION, conditions);
+        
+        return ResponseEntity.ok(itemFacetService.search(filters, page, limit));
+    }
+
+    // ==================== Cursor Pagination ====================
+    // Keyset alternatives to the offset listings above: no total count, pass nextCursor back as "after"
+
+    @GetMapping("/cursor")
+    @Operation(summary = "Get all items (cursor)", description = "Retrieve all items newest first using keyset pagination")
+    public ResponseEntity<CursorPageResponse<ItemSummaryResponse>> getAllItemsByCursor(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(itemService.getAllItems(after, size));
+    }
+
+    @GetMapping("/owner/{ownerId}/cursor")
+    @Operation(summary = "Get items by owner (cursor)", description = "Get items owned by a user using keyset pagination")
+    public ResponseEntity<CursorPageResponse<ItemSummaryResponse>> getItemsByOwnerByCursor(
+            @PathVariable UUID ownerId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(itemService.getItemsByOwner(ownerId, after, size));
+    }
+
+    @GetMapping("/status/{status}/cursor")
+    @Operation(summary = "Get items by status (cursor)", description = "Get verified items with a status using keyset pagination")
+    public ResponseEntity<CursorPageResponse<ItemSummaryResponse>> getItemsByStatusByCursor(
+            @PathVariable Item.ItemStatus status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(itemService.getItemsByStatus(status, after, size));
+    }
+
+    @GetMapping("/category/{categoryId}/cursor")
+    @Operation(summary = "Get items by category (cursor)", description = "Get listed items in a category and its subcategories using keyset pagination")
+    public ResponseEntity<CursorPageResponse<ItemSummaryResponse>> getItemsByCategoryByCursor(
+            @PathVariable UUID categoryId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(itemService.getItemsByCategory(categoryId, after, size));
+    }
+
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search items (cursor)", description = "Search items by keyword using keyset pagination")
+    public ResponseEntity<CursorPageResponse<ItemSummaryResponse>> searchItemsByCursor(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.info("Searching items with keyword: {} (cursor)", keyword);
+        return ResponseEntity.ok(itemService.searchItems(keyword, after, size));
+    }
+
+    @GetMapping("/filter/cursor")
+    @Operation(summary = "Filter items (cursor)", description = "Filter items with multiple criteria using keyset pagination")
+    public ResponseEntity<CursorPageResponse<ItemSummaryResponse>> filterItemsByCursor(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) List<Item.ItemStatus> statuses,
+            @RequestParam(required = false) BigDecimal minCondition,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        return ResponseEntity.ok(itemService.findItemsWithFilters(categoryId, statuses, minCondition, after, size));
+    }
+
     // ==================== Status Management ====================
 
     @PatchMapping("/{id}/status")
@@ -213,6 +353,22 @@ public class ItemController {
         return ResponseEntity.ok(items);
     }
 
+    @GetMapping(value = "/awaiting-verification/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export items awaiting verification",
+               description = "Stream all items awaiting verification as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportItemsAwaitingVerification() {
+        log.info("Exporting items awaiting verification");
+        return ndjson(itemService::exportItemsAwaitingVerification);
+    }
+
+    @GetMapping(value = "/marketplace-ready/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export marketplace ready items",
+               description = "Stream all marketplace ready items as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportMarketplaceReadyItems() {
+        log.info("Exporting marketplace ready items");
+        return ndjson(itemService::exportMarketplaceReadyItems);
+    }
+
     // ==================== Ownership Management ====================
 
     @PostMapping("/{id}/transfer")
@@ -245,13 +401,60 @@ public class ItemController {
     @Operation(summary = "Update valuation", description = "Update item estimated value")
     public ResponseEntity<ItemResponse> updateValuation(
             @PathVariable UUID id,
-            @RequestParam BigDecimal estimatedValue) {
+            @RequestParam BigDecimal estimatedValue,
+            @RequestParam(required = false) UUID valuerId) {
         
         log.info("Updating valuation for item: {}", id);
-        ItemResponse response = itemService.updateValuation(id, estimatedValue);
+        ItemResponse response = itemService.updateValuation(id, estimatedValue, valuerId);
+        return ResponseEntity.ok(response);
+    }
+
+    // ==================== Staff Work Queues ====================
+
+    @PostMapping("/work-queue/{queue}/claim")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Claim work", 
+               description = "Lease the next items of the verification or valuation queue to a staff member")
+    public ResponseEntity<ItemWorkBatchResponse> claimWork(
+            @PathVariable String queue,
+            @RequestParam UUID staffId,
+            @RequestParam(defaultValue = "10") int size) {
+        
+        log.debug("Staff {} claiming {} items from {} queue", staffId, size, queue);
+        ItemWorkBatchResponse response = itemWorkQueueService.claim(parseWorkQueue(queue), staffId, size);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/work-queue/{queue}/renew")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Renew leases", description = "Extend every live lease the staff member holds on the queue")
+    public ResponseEntity<Map<String, Object>> renewWork(
+            @PathVariable String queue,
+            @RequestParam UUID staffId) {
+        
+        int renewed = itemWorkQueueService.renew(parseWorkQueue(queue), staffId);
+        return ResponseEntity.ok(Map.of("renewed", renewed));
+    }
+
+    @DeleteMapping("/work-queue/{queue}/leases")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('STAFF')")
+    @Operation(summary = "Release leases", 
+               description = "Hand leased items back to the queue (all of the staff member's leases when no item ids are given)")
+    public ResponseEntity<Map<String, Object>> releaseWork(
+            @PathVariable String queue,
+            @RequestParam UUID staffId,
+            @RequestParam(required = false) List<UUID> itemIds) {
+        
+        int released = itemWorkQueueService.release(parseWorkQueue(queue), staffId, itemIds);
+        return ResponseEntity.ok(Map.of("released", released));
+    }
+
+    @GetMapping("/work-queue/{queue}/stats")
+    @Operation(summary = "Work queue statistics", description = "Backlog size and leased items of a work queue")
+    public ResponseEntity<ItemWorkQueueStatsResponse> getWorkQueueStats(@PathVariable String queue) {
+        return ResponseEntity.ok(itemWorkQueueService.getStats(parseWorkQueue(queue)));
+    }
+
     // ==================== Media Management ====================
 
     @PostMapping("/{id}/images/upload")
@@ -281,13 +484,45 @@ public class ItemController {
         // Upload all images to Cloudinary
         List<String> imageUrls = cloudinaryService.uploadImages(files, "greenloop/items");
         
-        // Add all images to item
-        ItemResponse response = itemService.getItemById(id);
-        for (String imageUrl : imageUrls) {
-            response = itemService.addImage(id, imageUrl);
-        }
+        // Add all images to item in a single update
+        itemService.addMedia(id, ItemMediaAckResponse.Field.IMAGES, imageUrls);
+        return ResponseEntity.ok(itemService.getItemById(id));
+    }
+
+    @PostMapping("/{id}/media/images/upload")
+    @Operation(summary = "Upload images (acknowledgement only)",
+               description = "Upload image files to Cloudinary and append them to the item; returns only the new image count")
+    public ResponseEntity<ItemMediaAckResponse> uploadImagesAck(
+            @PathVariable UUID id,
+            @RequestParam("files") List<MultipartFile> files) throws IOException {
         
-        return ResponseEntity.ok(response);
+        log.info("Uploading {} images for item: {}", files.size(), id);
+        List<String> imageUrls = cloudinaryService.uploadImages(files, "greenloop/items");
+        return ResponseEntity.ok(itemService.addMedia(id, ItemMediaAckResponse.Field.IMAGES, imageUrls));
+    }
+
+    @PostMapping("/{id}/media/{field}")
+    @Operation(summary = "Add images, videos or tags (acknowledgement only)",
+               description = "Append values to the item's images, videos or tags in place; returns only the new count")
+    public ResponseEntity<ItemMediaAckResponse> addMedia(
+            @PathVariable UUID id,
+            @Parameter(description = "images, videos or tags") @PathVariable String field,
+            @RequestBody List<String> values) {
+        
+        log.info("Adding {} {} to item: {}", values.size(), field, id);
+        return ResponseEntity.ok(itemService.addMedia(id, parseMediaField(field), values));
+    }
+
+    @DeleteMapping("/{id}/media/{field}")
+    @Operation(summary = "Remove an image, video or tag (acknowledgement only)",
+               description = "Remove a value from the item's images, videos or tags in place; returns only the new count")
+    public ResponseEntity<ItemMediaAckResponse> removeMedia(
+            @PathVariable UUID id,
+            @Parameter(description = "images, videos or tags") @PathVariable String field,
+            @RequestParam String value) {
+        
+        log.info("Removing {} value from item: {}", field, id);
+        return ResponseEntity.ok(itemService.removeMedia(id, parseMediaField(field), value));
     }
 
     @PostMapping("/{id}/images")
@@ -371,6 +606,56 @@ public class ItemController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/code/{itemCode}")
+    @Operation(summary = "Scan item code", 
+               description = "Resolve a QR / item code to a compact item snapshot (id, status, owner, category, condition); cached for scanners")
+    public ResponseEntity<ItemCodeSnapshot> getItemByCode(@PathVariable String itemCode) {
+        log.debug("Resolving item code: {}", itemCode);
+        return ResponseEntity.ok(itemService.getItemSnapshotByCode(itemCode));
+    }
+
+    // ==================== Lifecycle Events ====================
+
+    @PostMapping("/{id}/lifecycle-events")
+    @Operation(summary = "Record lifecycle event", 
+               description = "Append an event (scan, inspection, move, ...) to the item's lifecycle log; written asynchronously in batches")
+    public ResponseEntity<Void> recordLifecycleEvent(
+            @PathVariable UUID id,
+            @Valid @RequestBody ItemLifecycleEventRequest request,
+            HttpServletRequest httpRequest) {
+        
+        log.debug("Recording lifecycle event {} for item: {}", request.getEventType(), id);
+        request.setItemId(id);
+        withClientInfo(request, httpRequest);
+        itemLifecycleEventService.appendEvents(List.of(request));
+        return ResponseEntity.accepted().build();
+    }
+
+    @PostMapping("/lifecycle-events/batch")
+    @Operation(summary = "Record lifecycle events in bulk", 
+               description = "Append events for many items at once (e.g. from IoT scanners); written asynchronously in batches")
+    public ResponseEntity<Map<String, Object>> recordLifecycleEvents(
+            @Valid @RequestBody List<ItemLifecycleEventRequest> requests,
+            HttpServletRequest httpRequest) {
+        
+        log.debug("Recording {} lifecycle events", requests.size());
+        requests.forEach(request -> withClientInfo(request, httpRequest));
+        int accepted = itemLifecycleEventService.appendEvents(requests);
+        return ResponseEntity.accepted().body(Map.of("accepted", accepted));
+    }
+
+    @GetMapping("/{id}/lifecycle-events")
+    @Operation(summary = "Get item timeline", 
+               description = "Lifecycle events of an item, newest first. Pass nextCursor as 'after' to fetch the next page")
+    public ResponseEntity<CursorPageResponse<ItemLifecycleEventResponse>> getLifecycleTimeline(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        log.debug("Fetching lifecycle timeline for item: {}", id);
+        return ResponseEntity.ok(itemLifecycleEventService.getTimeline(id, after, size));
+    }
+
     // ==================== Statistics ====================
 
     @GetMapping("/statistics")
@@ -381,7 +666,9 @@ public class ItemController {
         BigDecimal avgCondition = itemService.getAverageConditionScore();
         
         return ResponseEntity.ok(Map.of(
-                "averageConditionScore", avgCondition
+                "averageConditionScore", avgCondition,
+                "totalItems", itemStatsService.countAll(),
+                "itemsByStatus", itemStatsService.countsByStatus()
         ));
     }
 
@@ -393,6 +680,13 @@ public class ItemController {
         return ResponseEntity.ok(count);
     }
 
+    @GetMapping("/statistics/category/{categoryId}/count")
+    @Operation(summary = "Count items by category", description = "Get count of items filed directly under a category")
+    public ResponseEntity<Long> countItemsByCategory(@PathVariable UUID categoryId) {
+        log.debug("Counting items for category: {}", categoryId);
+        return ResponseEntity.ok(itemStatsService.countByCategory(categoryId));
+    }
+
     @GetMapping("/statistics/status/{status}/count")
     @Operation(summary = "Count items by status", description = "Get count of items with specific status")
     public ResponseEntity<Long> countItemsByStatus(@PathVariable Item.ItemStatus status) {
@@ -404,21 +698,95 @@ public class ItemController {
     // ==================== Bulk Operations ====================
 
     @PostMapping("/bulk")
-    @Operation(summary = "Create items in bulk", description = "Create multiple items at once")
-    public ResponseEntity<List<ItemResponse>> createBulkItems(
+    @Operation(summary = "Create items in bulk", 
+               description = "Create multiple items at once; returns a per-row report, failed rows do not block the others")
+    public ResponseEntity<BulkItemReport> createBulkItems(
             @Valid @RequestBody List<ItemCreateRequest> requests,
             @RequestParam UUID userId) {
         
         log.info("Creating {} items in bulk", requests.size());
-        List<ItemResponse> responses = itemService.createBulkItems(requests, userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+        BulkItemReport report = itemService.createBulkItems(requests, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(report);
     }
 
     @DeleteMapping("/bulk")
-    @Operation(summary = "Delete items in bulk", description = "Delete multiple items at once")
-    public ResponseEntity<Void> deleteBulkItems(@RequestBody List<UUID> itemIds) {
+    @Operation(summary = "Delete items in bulk", description = "Delete multiple items at once; returns a per-item report")
+    public ResponseEntity<BulkItemReport> deleteBulkItems(@RequestBody List<UUID> itemIds) {
         log.info("Deleting {} items in bulk", itemIds.size());
-        itemService.deleteBulkItems(itemIds);
-        return ResponseEntity.noContent().build();
+        BulkItemReport report = itemService.deleteBulkItems(itemIds, null);
+        return ResponseEntity.ok(report);
+    }
+
+    @DeleteMapping("/bulk/codes")
+    @Operation(summary = "Delete items in bulk by item code", description = "Delete scanned items by their item codes")
+    public ResponseEntity<BulkItemReport> deleteBulkItemsByCode(@RequestBody List<String> itemCodes) {
+        log.info("Deleting {} items in bulk by item code", itemCodes.size());
+        BulkItemReport report = itemService.deleteBulkItems(null, itemCodes);
+        return ResponseEntity.ok(report);
+    }
+
+    @PatchMapping("/bulk/status")
+    @Operation(summary = "Update item status in bulk", 
+               description = "Change the status of many items, addressed by id and/or item code; " +
+                             "each item is checked against the status transition rules")
+    public ResponseEntity<BulkItemReport> updateBulkItemStatus(
+            @Valid @RequestBody BulkItemStatusUpdateRequest request,
+            @RequestParam UUID userId) {
+        
+        log.info("Updating status of items in bulk to: {}", request.getNewStatus());
+        BulkItemReport report = itemService.updateBulkItemStatus(
+                request.getItemIds(), request.getItemCodes(), request.getNewStatus(), request.getReason(), userId);
+        return ResponseEntity.ok(report);
+    }
+
+    private void withClientInfo(ItemLifecycleEventRequest request, HttpServletRequest httpRequest) {
+        if (request.getIpAddress() == null) {
+            request.setIpAddress(httpRequest.getRemoteAddr());
+        }
+        if (request.getUserAgent() == null) {
+            String userAgent = httpRequest.getHeader("User-Agent");
+            request.setUserAgent(userAgent != null && userAgent.length() > 500 ? userAgent.substring(0, 500) : userAgent);
+        }
+    }
+
+    private ItemWorkLease.Queue parseWorkQueue(String queue) {
+        try {
+            return ItemWorkLease.Queue.valueOf(queue.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown work queue: " + queue + " (expected verification or valuation)");
+        }
+    }
+
+    private ItemMediaAckResponse.Field parseMediaField(String field) {
+        try {
+            return ItemMediaAckResponse.Field.valueOf(field.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown media field: " + field + " (expected images, videos or tags)");
+        }
+    }
+
+    // One JSON object per line, flushed in chunks as the export batches are read. Exports may run
+    // longer than the container's default async timeout, so they get their own
+    private ResponseEntity<StreamingResponseBody> ndjson(ToLongFunction<Consumer<ItemResponse>> export) {
+        RequestContextHolder.currentRequestAttributes().setAttribute(StreamingTimeoutInterceptor.TIMEOUT_ATTRIBUTE,
+                exportTimeoutMs, RequestAttributes.SCOPE_REQUEST);
+        StreamingResponseBody body = out -> {
+            long[] written = {0};
+            export.applyAsLong(item -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(item));
+                    out.write('\n');
+                    if (++written[0] % NDJSON_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
-} 
\ No newline at end of file
+}
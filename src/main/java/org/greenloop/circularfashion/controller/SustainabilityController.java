@@ -0,0 +1,107 @@
+package org.greenloop.circularfashion.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.SustainabilityRollup;
+import org.greenloop.circularfashion.entity.response.SustainabilityImpactResponse;
+import org.greenloop.circularfashion.service.SustainabilityRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/sustainability/impact")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Sustainability Impact", description = "APIs for environmental impact dashboards")
+@SecurityRequirement(name = "bearerAuth")
+public class SustainabilityController {
+
+    private final SustainabilityRollupService sustainabilityRollupService;
+
+    // ==================== Impact Dashboards ====================
+
+    @GetMapping("/platform")
+    @Operation(summary = "Platform impact",
+               description = "Daily or monthly impact realized across the platform in a date range")
+    public ResponseEntity<SustainabilityImpactResponse> getPlatformImpact(
+            @RequestParam(defaultValue = "day") String period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String impactEvent) {
+
+        return ResponseEntity.ok(sustainabilityRollupService.getImpact(SustainabilityRollup.Scope.PLATFORM, null,
+                parsePeriod(period), from, to, parseImpactEvent(impactEvent)));
+    }
+
+    @GetMapping("/users/{userId}")
+    @Operation(summary = "User impact",
+               description = "Daily or monthly impact of the items a user donated, bought or recycled")
+    public ResponseEntity<SustainabilityImpactResponse> getUserImpact(
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "day") String period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String impactEvent) {
+
+        return ResponseEntity.ok(sustainabilityRollupService.getImpact(SustainabilityRollup.Scope.USER, userId,
+                parsePeriod(period), from, to, parseImpactEvent(impactEvent)));
+    }
+
+    @GetMapping("/categories/{categoryId}")
+    @Operation(summary = "Category impact", description = "Daily or monthly impact realized by items of a category")
+    public ResponseEntity<SustainabilityImpactResponse> getCategoryImpact(
+            @PathVariable UUID categoryId,
+            @RequestParam(defaultValue = "day") String period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String impactEvent) {
+
+        return ResponseEntity.ok(sustainabilityRollupService.getImpact(SustainabilityRollup.Scope.CATEGORY, categoryId,
+                parsePeriod(period), from, to, parseImpactEvent(impactEvent)));
+    }
+
+    // ==================== Maintenance ====================
+
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild impact rollups",
+               description = "Recompute the rollups of every month in the range from the item status history")
+    public ResponseEntity<Map<String, Object>> backfill(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        log.info("Rebuilding sustainability rollups from {} to {}", from, to);
+        int months = sustainabilityRollupService.backfill(from, to);
+        return ResponseEntity.ok(Map.of("months", months));
+    }
+
+    private SustainabilityRollup.Period parsePeriod(String period) {
+        try {
+            return SustainabilityRollup.Period.valueOf(period.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown period: " + period + " (expected day or month)");
+        }
+    }
+
+    private Item.ItemStatus parseImpactEvent(String impactEvent) {
+        if (impactEvent == null || impactEvent.isBlank()) {
+            return null;
+        }
+        try {
+            return Item.ItemStatus.valueOf(impactEvent.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown impact event: " + impactEvent +
+                    " (expected collected, sold or recycled)");
+        }
+    }
+}
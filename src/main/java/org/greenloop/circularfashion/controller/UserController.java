@@ -1,6 +1,7 @@
 package org.greenloop.circularfashion.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -8,8 +9,13 @@ import lombok.extern.slf4j.Slf4j;
 import org.greenloop.circularfashion.entity.User;
 import org.greenloop.circularfashion.entity.request.UserUpdateRequest;
 import org.greenloop.circularfashion.entity.response.ApiResponse;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
+import org.greenloop.circularfashion.entity.response.FollowUserResponse;
+import org.greenloop.circularfashion.entity.response.ScoreRecomputeReport;
 import org.greenloop.circularfashion.entity.response.UserDetailResponse;
 import org.greenloop.circularfashion.entity.response.UserManagementResponse;
+import org.greenloop.circularfashion.service.FollowService;
+import org.greenloop.circularfashion.service.UserScoreService;
 import org.greenloop.circularfashion.service.UserService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +35,8 @@ import java.util.UUID;
 public class UserController {
 
     private final UserService userService;
+    private final FollowService followService;
+    private final UserScoreService userScoreService;
 
     // ==================== User Retrieval ====================
     
@@ -178,7 +186,7 @@ public class UserController {
     // ==================== User Search & Filtering ====================
     
     @GetMapping("/search")
-    @Operation(summary = "Search users", description = "Search users by keyword")
+    @Operation(summary = "Search users", description = "Fuzzy search over username, email and full name, best matches first")
     public ResponseEntity<ApiResponse<Page<UserDetailResponse>>> searchUsers(
             @RequestParam String keyword,
             Pageable pageable) {
@@ -242,6 +250,26 @@ public class UserController {
                 .build());
     }
 
+    @GetMapping("/moderation/cursor")
+    @Operation(summary = "Get users for moderation (cursor)",
+               description = "Filter users by type, role and account status, newest first, using keyset pagination")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MODERATOR')")
+    public ResponseEntity<ApiResponse<CursorPageResponse<UserDetailResponse>>> getUsersForModeration(
+            @RequestParam(required = false) User.UserType userType,
+            @RequestParam(required = false) User.Role role,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) Boolean banned,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<UserDetailResponse> users =
+                userService.getUsersForModeration(userType, role, active, banned, after, size);
+        return ResponseEntity.ok(ApiResponse.<CursorPageResponse<UserDetailResponse>>builder()
+                .success(true)
+                .message("Users retrieved successfully")
+                .data(users)
+                .build());
+    }
+
     // ==================== User Statistics ====================
     
     @GetMapping("/management/summary")
@@ -400,6 +428,47 @@ public class UserController {
                 .build());
     }
 
+    @GetMapping("/{followerId}/follows/{followedId}")
+    @Operation(summary = "Check follow", description = "Whether one user follows another")
+    public ResponseEntity<ApiResponse<Boolean>> isFollowing(
+            @PathVariable UUID followerId,
+            @PathVariable UUID followedId) {
+        boolean following = followService.isFollowing(followerId, followedId);
+        return ResponseEntity.ok(ApiResponse.<Boolean>builder()
+                .success(true)
+                .message("Follow status retrieved successfully")
+                .data(following)
+                .build());
+    }
+
+    @GetMapping("/{userId}/followers")
+    @Operation(summary = "Get followers (cursor)", description = "Users following this user, newest first, using keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<FollowUserResponse>>> getFollowers(
+            @PathVariable UUID userId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<FollowUserResponse> followers = followService.getFollowers(userId, after, size);
+        return ResponseEntity.ok(ApiResponse.<CursorPageResponse<FollowUserResponse>>builder()
+                .success(true)
+                .message("Followers retrieved successfully")
+                .data(followers)
+                .build());
+    }
+
+    @GetMapping("/{userId}/following")
+    @Operation(summary = "Get following (cursor)", description = "Users this user follows, newest first, using keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPageResponse<FollowUserResponse>>> getFollowing(
+            @PathVariable UUID userId,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPageResponse<FollowUserResponse> following = followService.getFollowing(userId, after, size);
+        return ResponseEntity.ok(ApiResponse.<CursorPageResponse<FollowUserResponse>>builder()
+                .success(true)
+                .message("Following retrieved successfully")
+                .data(following)
+                .build());
+    }
+
     // ==================== Score Management ====================
     
     @PatchMapping("/{userId}/update-trust-score")
@@ -421,6 +490,20 @@ public class UserController {
                 .message("Sustainability score updated successfully")
                 .build());
     }
+
+    @PostMapping("/scores/recompute")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recompute all scores", description = "Recalculate trust and sustainability scores of every user in parallel batches")
+    public ResponseEntity<ApiResponse<ScoreRecomputeReport>> recomputeScores(
+            @Parameter(description = "Continue the last unfinished run from its checkpoint")
+            @RequestParam(defaultValue = "true") boolean resume) {
+        ScoreRecomputeReport report = userScoreService.recomputeAll(resume);
+        return ResponseEntity.ok(ApiResponse.<ScoreRecomputeReport>builder()
+                .success(true)
+                .message(report.isCompleted() ? "Scores recomputed successfully" : "Scores partially recomputed")
+                .data(report)
+                .build());
+    }
 }
 
 
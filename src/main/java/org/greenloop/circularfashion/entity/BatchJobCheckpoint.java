@@ -0,0 +1,48 @@
+package org.greenloop.circularfashion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a long-running batch job (V15): everything up to lastKey has been processed. A run
+ * that stopped before completedAt was set can resume after lastKey instead of starting over. The
+ * row is also the job's run lock: a run owns the job while owner is set and leaseUntil lies ahead.
+ */
+@Entity
+@Table(name = "batch_job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchJobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 50)
+    private String jobName;
+
+    @Column(name = "last_key", length = 64)
+    private String lastKey;
+
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "owner", length = 64)
+    private String owner;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+}
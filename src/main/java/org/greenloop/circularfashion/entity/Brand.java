@@ -7,6 +7,8 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,7 +27,7 @@ import java.util.UUID;
 public class Brand {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "brand_id")
     private UUID brandId;
 
@@ -95,7 +97,7 @@ public class Brand {
     @PrePersist
     protected void onCreate() {
         if (brandId == null) {
-            brandId = UUID.randomUUID();
+            brandId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -22,7 +24,7 @@ import java.util.UUID;
 public class Category {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "category_id")
     private UUID categoryId;
 
@@ -93,7 +95,7 @@ public class Category {
     @PrePersist
     protected void onCreate() {
         if (categoryId == null) {
-            categoryId = UUID.randomUUID();
+            categoryId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
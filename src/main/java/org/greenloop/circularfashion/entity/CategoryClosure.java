@@ -0,0 +1,48 @@
+package org.greenloop.circularfashion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Closure table of the category hierarchy (V11): one row per (ancestor, descendant) pair, including
+ * each category paired with itself at depth 0. "Everything under X" is a primary key range scan on
+ * ancestor_id. Maintained by CategoryHierarchyIndex on category writes; no foreign keys, like the
+ * other derived tables.
+ */
+@Entity
+@Table(name = "category_closure", indexes = {
+    @Index(name = "idx_category_closure_descendant", columnList = "descendant_id, depth")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CategoryClosure {
+
+    @EmbeddedId
+    private ClosureId id;
+
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ClosureId implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Column(name = "ancestor_id", nullable = false)
+        private UUID ancestorId;
+
+        @Column(name = "descendant_id", nullable = false)
+        private UUID descendantId;
+    }
+}
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -21,7 +23,7 @@ import java.util.UUID;
 public class ChatRoom {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "room_id")
     private UUID roomId;
 
@@ -126,7 +128,7 @@ public class ChatRoom {
     @PrePersist
     protected void onCreate() {
         if (roomId == null) {
-            roomId = UUID.randomUUID();
+            roomId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -7,6 +7,8 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -24,7 +26,7 @@ import java.util.UUID;
 public class CollectionPoint {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "point_id")
     private UUID pointId;
 
@@ -130,7 +132,7 @@ public class CollectionPoint {
     @PrePersist
     protected void onCreate() {
         if (pointId == null) {
-            pointId = UUID.randomUUID();
+            pointId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
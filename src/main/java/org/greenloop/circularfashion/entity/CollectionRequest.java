@@ -7,6 +7,8 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -25,7 +27,7 @@ import java.util.UUID;
 public class CollectionRequest {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "request_id")
     private UUID requestId;
 
@@ -136,7 +138,7 @@ public class CollectionRequest {
     @PrePersist
     protected void onCreate() {
         if (requestId == null) {
-            requestId = UUID.randomUUID();
+            requestId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
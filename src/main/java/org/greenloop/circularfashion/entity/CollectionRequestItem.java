@@ -6,6 +6,8 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -22,7 +24,7 @@ import java.util.UUID;
 public class CollectionRequestItem {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "request_item_id")
     private UUID requestItemId;
 
@@ -112,7 +114,7 @@ public class CollectionRequestItem {
     @PrePersist
     protected void onCreate() {
         if (requestItemId == null) {
-            requestItemId = UUID.randomUUID();
+            requestItemId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -7,6 +7,8 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -22,7 +24,7 @@ import java.util.*;
 public class Item {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "item_id")
     private UUID itemId;
 
@@ -195,9 +197,12 @@ public class Item {
     }
 
     public String getConditionText() {
-        if (conditionScore == null) return "Unknown";
+        return conditionTextOf(conditionScore);
+    }
+
+    public static String conditionTextOf(BigDecimal score) {
+        if (score == null) return "Unknown";
         
-        BigDecimal score = conditionScore;
         if (score.compareTo(BigDecimal.valueOf(4.5)) >= 0) return "Excellent";
         if (score.compareTo(BigDecimal.valueOf(3.5)) >= 0) return "Very Good";
         if (score.compareTo(BigDecimal.valueOf(2.5)) >= 0) return "Good";
@@ -210,10 +215,14 @@ public class Item {
     }
 
     public String getDisplayName() {
+        return displayNameOf(brand != null ? brand.getName() : null, name, size);
+    }
+
+    public static String displayNameOf(String brandName, String name, String size) {
         StringBuilder displayName = new StringBuilder();
         
-        if (brand != null && brand.getName() != null) {
-            displayName.append(brand.getName()).append(" ");
+        if (brandName != null) {
+            displayName.append(brandName).append(" ");
         }
         
         displayName.append(name);
@@ -244,12 +253,14 @@ public class Item {
         }
     }
 
-    public void updateStatus(ItemStatus newStatus, User changedBy, String reason) {
+    // Returns the lifecycle entry for the caller to save; it is not added to lifecycleHistory,
+    // which would load the item's whole history
+    public ItemLifecycle updateStatus(ItemStatus newStatus, User changedBy, String reason) {
         ItemStatus oldStatus = this.itemStatus;
         this.itemStatus = newStatus;
         
         // Create lifecycle entry
-        ItemLifecycle lifecycle = ItemLifecycle.builder()
+        return ItemLifecycle.builder()
                 .item(this)
                 .previousStatus(oldStatus != null ? oldStatus.name() : null)
                 .newStatus(newStatus.name())
@@ -257,14 +268,12 @@ public class Item {
                 .changedBy(changedBy)
                 .createdAt(LocalDateTime.now())
                 .build();
-        
-        this.lifecycleHistory.add(lifecycle);
     }
 
     @PrePersist
     protected void onCreate() {
         if (itemId == null) {
-            itemId = UUID.randomUUID();
+            itemId = TimeOrderedIds.uuid();
         }
         if (itemCode == null) {
             itemCode = generateItemCode();
@@ -283,9 +292,7 @@ public class Item {
     }
 
     private String generateItemCode() {
-        // Generate a unique item code: GL + timestamp + random
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String random = String.valueOf((int)(Math.random() * 1000));
-        return "GL" + timestamp.substring(timestamp.length() - 8) + random;
+        // GL + time-ordered, node-unique body + check character
+        return TimeOrderedIds.itemCode();
     }
 } 
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,7 +21,7 @@ import java.util.UUID;
 public class ItemLifecycle {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "lifecycle_id")
     private UUID lifecycleId;
 
@@ -82,7 +84,7 @@ public class ItemLifecycle {
     @PrePersist
     protected void onCreate() {
         if (lifecycleId == null) {
-            lifecycleId = UUID.randomUUID();
+            lifecycleId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
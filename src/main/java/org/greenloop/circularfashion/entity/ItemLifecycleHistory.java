@@ -13,14 +13,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Map;
 
+/**
+ * Append-only item event log (traceability, IoT scans), range-partitioned by month on event_date
+ * (V7). Written in batches through ItemLifecycleEventService, never updated; references carry no
+ * foreign keys so high-volume inserts skip the checks and history outlives deleted items.
+ * Indexes are declared in V7 only: Hibernate does not see indexes on a partitioned table and
+ * would try to create them again on every start.
+ */
 @Entity
-@Table(name = "item_lifecycle_history", indexes = {
-    @Index(name = "idx_lifecycle_item", columnList = "item_id"),
-    @Index(name = "idx_lifecycle_user", columnList = "user_id"),
-    @Index(name = "idx_lifecycle_event_type", columnList = "event_type"),
-    @Index(name = "idx_lifecycle_event_date", columnList = "event_date"),
-    @Index(name = "idx_lifecycle_location", columnList = "location_id")
-})
+@Table(name = "item_lifecycle_history")
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
@@ -29,20 +30,21 @@ import java.util.Map;
 public class ItemLifecycleHistory extends BaseEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_lifecycle_history_seq")
+    @SequenceGenerator(name = "item_lifecycle_history_seq", sequenceName = "item_lifecycle_history_seq", allocationSize = 1)
     @Column(name = "history_id")
     private Long historyId;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "item_id", nullable = false)
+    @JoinColumn(name = "item_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Item item;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user; // User involved in this event
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "location_id")
+    @JoinColumn(name = "location_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private CollectionPoint location; // Collection point if applicable
     
     @Column(name = "event_type", length = 50, nullable = false)
@@ -70,16 +72,16 @@ public class ItemLifecycleHistory extends BaseEntity {
     
     // Owner tracking
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "previous_owner_id")
+    @JoinColumn(name = "previous_owner_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User previousOwner;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "new_owner_id")
+    @JoinColumn(name = "new_owner_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User newOwner;
     
     // Transaction reference
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "transaction_id")
+    @JoinColumn(name = "transaction_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Transaction transaction;
     
     // Financial impact
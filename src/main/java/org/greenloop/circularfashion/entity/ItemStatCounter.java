@@ -0,0 +1,62 @@
+package org.greenloop.circularfashion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One slot of a maintained item counter (V9): number of items and sum of their condition scores
+ * for the whole catalog, one status, one owner, one category or one category and status
+ * (key "categoryId:STATUS"); subtree totals add up the CATEGORY counters of the subtree. Each counter is spread over a few
+ * slots so concurrent item writes rarely wait on the same row; readers add the slots up.
+ */
+@Entity
+@Table(name = "item_stat_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemStatCounter {
+
+    @EmbeddedId
+    private CounterId id;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "condition_sum", precision = 19, scale = 2, nullable = false)
+    private BigDecimal conditionSum;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Dimension {
+        TOTAL, STATUS, OWNER, CATEGORY, CATEGORY_STATUS
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CounterId implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "dimension", length = 20, nullable = false)
+        private Dimension dimension;
+
+        // Status name or owner/category id; empty for TOTAL
+        @Column(name = "dimension_key", length = 64, nullable = false)
+        private String dimensionKey;
+
+        @Column(name = "slot", nullable = false)
+        private int slot;
+    }
+}
@@ -0,0 +1,59 @@
+package org.greenloop.circularfashion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Time-limited claim of one item by one staff member on a work queue (V8). Rows are inserted by the
+ * SKIP LOCKED claim in ItemWorkLeaseRepository, deleted when the work is done, and become claimable
+ * again once expires_at passes. No foreign keys, so leases never block item deletes.
+ */
+@Entity
+@Table(name = "item_work_leases",
+    uniqueConstraints = @UniqueConstraint(name = "uk_item_work_lease_item_queue", columnNames = {"item_id", "queue"}),
+    indexes = {
+        @Index(name = "idx_item_work_lease_staff", columnList = "staff_id, queue"),
+        @Index(name = "idx_item_work_lease_expiry", columnList = "queue, expires_at")
+    })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemWorkLease {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_work_lease_seq")
+    @SequenceGenerator(name = "item_work_lease_seq", sequenceName = "item_work_lease_seq", allocationSize = 1)
+    @Column(name = "lease_id")
+    private Long leaseId;
+
+    @Column(name = "item_id", nullable = false)
+    private UUID itemId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "queue", length = 20, nullable = false)
+    private Queue queue;
+
+    @Column(name = "staff_id", nullable = false)
+    private UUID staffId;
+
+    @Column(name = "leased_at", nullable = false)
+    private LocalDateTime leasedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    public enum Queue {
+        VERIFICATION, VALUATION
+    }
+
+    public boolean isActive(LocalDateTime now) {
+        return expiresAt.isAfter(now);
+    }
+}
@@ -7,6 +7,8 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,7 +28,7 @@ import java.util.UUID;
 public class MarketplaceListing {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "listing_id")
     private UUID listingId;
 
@@ -221,7 +223,7 @@ public class MarketplaceListing {
     @PrePersist
     protected void onCreate() {
         if (listingId == null) {
-            listingId = UUID.randomUUID();
+            listingId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -0,0 +1,32 @@
+package org.greenloop.circularfashion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Node id held by one running instance for minting item codes (V16). Claimed at startup, renewed
+ * while the instance runs and claimable by another instance once leased_until passes.
+ */
+@Entity
+@Table(name = "node_id_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NodeIdLease {
+
+    @Id
+    @Column(name = "node_id")
+    private Integer nodeId;
+
+    @Column(name = "instance_id", length = 64, nullable = false)
+    private String instanceId;
+
+    @Column(name = "leased_until", nullable = false)
+    private LocalDateTime leasedUntil;
+}
@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -21,7 +23,7 @@ import java.util.UUID;
 public class Order {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "order_id")
     private UUID orderId;
 
@@ -213,7 +215,7 @@ public class Order {
     @PrePersist
     protected void onCreate() {
         if (orderId == null) {
-            orderId = UUID.randomUUID();
+            orderId = TimeOrderedIds.uuid();
         }
         if (orderNumber == null) {
             orderNumber = generateOrderNumber();
@@ -6,6 +6,8 @@ import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -20,7 +22,7 @@ import java.util.UUID;
 public class PointEarningRule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(name = "rule_id")
     private UUID ruleId;
 
@@ -148,7 +150,7 @@ public class PointEarningRule {
     @PrePersist
     protected void onCreate() {
         if (ruleId == null) {
-            ruleId = UUID.randomUUID();
+            ruleId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
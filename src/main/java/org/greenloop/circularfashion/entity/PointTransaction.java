@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -18,7 +20,7 @@ import java.util.UUID;
 public class PointTransaction {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "transaction_id")
     private UUID transactionId;
 
@@ -106,7 +108,7 @@ public class PointTransaction {
     @PrePersist
     protected void onCreate() {
         if (transactionId == null) {
-            transactionId = UUID.randomUUID();
+            transactionId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
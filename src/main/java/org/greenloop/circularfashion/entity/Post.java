@@ -7,6 +7,8 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -24,7 +26,7 @@ import java.util.UUID;
 public class Post {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "post_id")
     private UUID postId;
 
@@ -168,7 +170,7 @@ public class Post {
     @PrePersist
     protected void onCreate() {
         if (postId == null) {
-            postId = UUID.randomUUID();
+            postId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -7,6 +7,8 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,7 +24,7 @@ import java.util.UUID;
 public class Review {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "review_id")
     private UUID reviewId;
 
@@ -161,7 +163,7 @@ public class Review {
     @PrePersist
     protected void onCreate() {
         if (reviewId == null) {
-            reviewId = UUID.randomUUID();
+            reviewId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
@@ -0,0 +1,83 @@
+package org.greenloop.circularfashion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily or monthly total of the environmental impact realized by items reaching an impact status
+ * (collected, sold, recycled), platform-wide, per user and per category (V10). Maintained by
+ * SustainabilityRollupService as items change status; impact dashboards read only these rows.
+ */
+@Entity
+@Table(name = "sustainability_rollups", indexes = {
+    @Index(name = "idx_sustainability_rollup_period", columnList = "period, period_start")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SustainabilityRollup {
+
+    @EmbeddedId
+    private RollupId id;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(name = "carbon_footprint_kg", precision = 19, scale = 4, nullable = false)
+    private BigDecimal carbonFootprintKg;
+
+    @Column(name = "water_saved_liters", precision = 19, scale = 2, nullable = false)
+    private BigDecimal waterSavedLiters;
+
+    @Column(name = "energy_saved_kwh", precision = 19, scale = 2, nullable = false)
+    private BigDecimal energySavedKwh;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Scope {
+        PLATFORM, USER, CATEGORY
+    }
+
+    public enum Period {
+        DAY, MONTH
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RollupId implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "scope", length = 20, nullable = false)
+        private Scope scope;
+
+        // User or category id; empty for PLATFORM
+        @Column(name = "scope_key", length = 64, nullable = false)
+        private String scopeKey;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "period", length = 10, nullable = false)
+        private Period period;
+
+        // The day, or the first day of the month
+        @Column(name = "period_start", nullable = false)
+        private LocalDate periodStart;
+
+        @Enumerated(EnumType.STRING)
+        @Column(name = "impact_event", length = 20, nullable = false)
+        private Item.ItemStatus impactEvent;
+    }
+}
@@ -5,11 +5,14 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -30,8 +33,10 @@ import java.util.*;
 @EqualsAndHashCode(callSuper = false)
 public class User implements UserDetails {
 
+    private static final long serialVersionUID = 1L;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     @Column(name = "user_id")
     private UUID userId;
 
@@ -144,6 +149,13 @@ public class User implements UserDetails {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
+    // Bumped to revoke every JWT issued before the change (logout, ban, password change)
+    @JsonIgnore
+    @ColumnDefault("0")
+    @Column(name = "token_version", nullable = false)
+    @Builder.Default
+    private Integer tokenVersion = 0;
+
     // Timestamps
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
@@ -293,6 +305,11 @@ public class User implements UserDetails {
         }
     }
 
+    public int revokeTokens() {
+        this.tokenVersion = (this.tokenVersion != null ? this.tokenVersion : 0) + 1;
+        return this.tokenVersion;
+    }
+
     public boolean canPerformAction(String action) {
         if (isBanned) return false;
         if (!isActive) return false;
@@ -309,7 +326,7 @@ public class User implements UserDetails {
     @PrePersist
     protected void onCreate() {
         if (userId == null) {
-            userId = UUID.randomUUID();
+            userId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
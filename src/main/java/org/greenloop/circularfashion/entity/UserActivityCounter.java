@@ -0,0 +1,43 @@
+package org.greenloop.circularfashion.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Maintained social and activity counts of one user (V13), so profiles and user listings never
+ * count user_follows, marketplace_listings or orders rows. Owned items come from the OWNER item
+ * stat counters. A user without a row has no activity yet.
+ */
+@Entity
+@Table(name = "user_activity_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserActivityCounter {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "followers_count", nullable = false)
+    private long followersCount;
+
+    @Column(name = "following_count", nullable = false)
+    private long followingCount;
+
+    @Column(name = "listings_count", nullable = false)
+    private long listingsCount;
+
+    @Column(name = "orders_count", nullable = false)
+    private long ordersCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
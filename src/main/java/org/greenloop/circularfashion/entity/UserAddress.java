@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,7 +22,7 @@ import java.util.UUID;
 public class UserAddress {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "address_id")
     private UUID addressId;
 
@@ -132,7 +134,7 @@ public class UserAddress {
     @PrePersist
     protected void onCreate() {
         if (addressId == null) {
-            addressId = UUID.randomUUID();
+            addressId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
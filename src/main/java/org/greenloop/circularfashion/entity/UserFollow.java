@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.greenloop.circularfashion.util.TimeOrderedUuid;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -19,7 +21,7 @@ import java.util.UUID;
 public class UserFollow {
 
     @Id
-    @GeneratedValue
+    @TimeOrderedUuid
     @Column(name = "follow_id")
     private UUID followId;
 
@@ -40,7 +42,7 @@ public class UserFollow {
     @PrePersist
     protected void onCreate() {
         if (followId == null) {
-            followId = UUID.randomUUID();
+            followId = TimeOrderedIds.uuid();
         }
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
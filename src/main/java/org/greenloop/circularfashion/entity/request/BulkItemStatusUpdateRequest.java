@@ -0,0 +1,29 @@
+package org.greenloop.circularfashion.entity.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.greenloop.circularfashion.entity.Item;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Status change for many items at once, addressed by id and/or scanned item code
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemStatusUpdateRequest {
+    
+    private List<UUID> itemIds;
+    private List<String> itemCodes;
+    
+    @NotNull(message = "New status is required")
+    private Item.ItemStatus newStatus;
+    
+    private String reason;
+}
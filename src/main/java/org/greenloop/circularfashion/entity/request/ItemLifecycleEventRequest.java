@@ -0,0 +1,57 @@
+package org.greenloop.circularfashion.entity.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One event for the item lifecycle log, from the item services or an IoT scanner
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemLifecycleEventRequest {
+
+    private UUID itemId; // Taken from the path for single-item endpoints
+
+    @NotBlank(message = "Event type is required")
+    @Size(max = 50, message = "Event type must not exceed 50 characters")
+    private String eventType; // CREATED, STATUS_CHANGED, TRANSFERRED, VERIFIED, EVALUATED, SCANNED, etc.
+
+    private LocalDateTime eventDate; // Defaults to now
+    private String description;
+
+    private String previousStatus;
+    private String newStatus;
+    private String previousLocation;
+    private String newLocation;
+
+    private UUID userId;
+    private UUID locationId; // Collection point
+    private UUID previousOwnerId;
+    private UUID newOwnerId;
+
+    private BigDecimal financialValue;
+    private BigDecimal pointsInvolved;
+    private Map<String, Object> environmentalImpact;
+    private Map<String, Object> eventMetadata;
+    private BigDecimal conditionBefore;
+    private BigDecimal conditionAfter;
+
+    private Boolean automatedEvent;
+
+    @Size(max = 100, message = "Device id must not exceed 100 characters")
+    private String deviceId;
+
+    private String ipAddress;
+    private String userAgent;
+}
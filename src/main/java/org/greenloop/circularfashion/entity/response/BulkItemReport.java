@@ -0,0 +1,35 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-row report of a bulk item operation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemReport {
+    
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<BulkItemResult> results;
+    
+    public static BulkItemReport of(List<BulkItemResult> results) {
+        int failed = (int) results.stream()
+                .filter(result -> result.getOutcome() == BulkItemResult.Outcome.FAILED)
+                .count();
+        return BulkItemReport.builder()
+                .requested(results.size())
+                .succeeded(results.size() - failed)
+                .failed(failed)
+                .results(results)
+                .build();
+    }
+}
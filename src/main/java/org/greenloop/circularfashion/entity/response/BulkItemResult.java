@@ -0,0 +1,28 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one row of a bulk item operation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkItemResult {
+    
+    public enum Outcome {
+        CREATED, UPDATED, UNCHANGED, DELETED, FAILED
+    }
+    
+    private int index; // Position in the request
+    private UUID itemId;
+    private String itemCode;
+    private Outcome outcome;
+    private String message;
+}
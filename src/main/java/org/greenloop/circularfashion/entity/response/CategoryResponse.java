@@ -4,9 +4,11 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.greenloop.circularfashion.entity.Item;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Data
@@ -41,8 +43,11 @@ public class CategoryResponse {
     private String fullPath;
     private Integer level;
     
-    // Statistics
+    // Statistics (maintained counters): items filed directly under the category, items in the
+    // category and all of its subcategories, and direct items per status
     private Long totalItems;
+    private Long subtreeItems;
+    private Map<Item.ItemStatus, Long> itemsByStatus;
 }
 
 
@@ -0,0 +1,23 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Keyset (cursor) page: no total count, pass nextCursor as "after" to fetch the next page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPageResponse<T> {
+    
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Faceted marketplace search: matching items plus per-value counts for each facet
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FacetSearchResponse {
+    
+    private long totalMatches;
+    private List<ItemSummaryResponse> items;
+    
+    // facet name -> facet value -> number of matching items
+    private Map<String, Map<String, Long>> facets;
+}
@@ -0,0 +1,28 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of a follower or following list: the other user and when the follow started
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FollowUserResponse {
+
+    private UUID followId;
+    private LocalDateTime followedAt;
+
+    private UUID userId;
+    private String username;
+    private String firstName;
+    private String lastName;
+    private String avatarUrl;
+}
@@ -0,0 +1,28 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.greenloop.circularfashion.entity.Item;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Compact view of an item resolved from its QR / item code, for scanners
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemCodeSnapshot {
+    
+    private UUID itemId;
+    private String itemCode;
+    private Item.ItemStatus itemStatus;
+    private UUID ownerId;
+    private UUID categoryId;
+    private BigDecimal conditionScore;
+    private Boolean isVerified;
+}
@@ -0,0 +1,47 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Entry of an item's lifecycle timeline
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemLifecycleEventResponse {
+
+    private Long historyId;
+    private UUID itemId;
+    private String eventType;
+    private LocalDateTime eventDate;
+    private String description;
+
+    private String previousStatus;
+    private String newStatus;
+    private String previousLocation;
+    private String newLocation;
+
+    private UUID userId;
+    private UUID locationId;
+    private UUID previousOwnerId;
+    private UUID newOwnerId;
+
+    private BigDecimal financialValue;
+    private BigDecimal pointsInvolved;
+    private Map<String, Object> environmentalImpact;
+    private Map<String, Object> eventMetadata;
+    private BigDecimal conditionBefore;
+    private BigDecimal conditionAfter;
+
+    private Boolean automatedEvent;
+    private String deviceId;
+}
@@ -0,0 +1,27 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Lightweight acknowledgement of an image / video / tag edit, returned instead of the full item
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemMediaAckResponse {
+
+    public enum Field {
+        IMAGES, VIDEOS, TAGS
+    }
+
+    private UUID itemId;
+    private Field field;
+    private boolean changed; // False when the value was already present (add) or absent (remove)
+    private int count; // Number of entries in the field after the edit
+}
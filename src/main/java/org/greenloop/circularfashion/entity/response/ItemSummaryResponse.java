@@ -8,6 +8,7 @@ import org.greenloop.circularfashion.entity.Item;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -49,14 +50,23 @@ public class ItemSummaryResponse {
     // Timestamps
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-}
-
-
-
-
-
-
-
-
-
 
+    /**
+     * Projection constructor for JPQL "SELECT new" queries: reads only the summary columns
+     * and derives the display fields without loading the Item entity.
+     * The jsonb images column is typed as Object in query results.
+     */
+    public ItemSummaryResponse(UUID itemId, String itemCode, String name,
+                               UUID categoryId, String categoryName, UUID brandId, String brandName,
+                               String size, String color, BigDecimal conditionScore,
+                               BigDecimal currentEstimatedValue, Item.ItemStatus itemStatus, Boolean isVerified,
+                               Object images, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(itemId, itemCode, name, Item.displayNameOf(brandName, name, size),
+                categoryId, categoryName, brandId, brandName,
+                size, color,
+                conditionScore, Item.conditionTextOf(conditionScore), currentEstimatedValue,
+                itemStatus, isVerified,
+                images instanceof List<?> urls && !urls.isEmpty() ? String.valueOf(urls.get(0)) : null,
+                createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,27 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.greenloop.circularfashion.entity.ItemWorkLease;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Items leased to one staff member from a work queue, in priority order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemWorkBatchResponse {
+
+    private ItemWorkLease.Queue queue;
+    private UUID staffId;
+    private LocalDateTime leasedAt;
+    private LocalDateTime expiresAt;
+    private List<ItemSummaryResponse> items;
+}
@@ -0,0 +1,22 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.greenloop.circularfashion.entity.ItemWorkLease;
+
+/**
+ * Backlog of a work queue and how much of it is currently leased
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemWorkQueueStatsResponse {
+
+    private ItemWorkLease.Queue queue;
+    private long backlog;
+    private long leased;
+    private long available;
+}
@@ -0,0 +1,30 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one batch recomputation of user trust and sustainability scores
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScoreRecomputeReport {
+
+    // Null when the run started from the first user
+    private UUID resumedAfter;
+    private boolean completed;
+
+    private int chunks;
+    private int failedChunks;
+    private long usersScanned;
+    private long usersUpdated;
+
+    private long elapsedMs;
+    private double usersPerSecond;
+}
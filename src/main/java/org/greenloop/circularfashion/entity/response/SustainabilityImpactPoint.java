@@ -0,0 +1,25 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Environmental impact realized in one day or month (periodStart is null for range totals)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SustainabilityImpactPoint {
+
+    private LocalDate periodStart;
+    private long itemCount;
+    private BigDecimal carbonFootprintKg;
+    private BigDecimal waterSavedLiters;
+    private BigDecimal energySavedKwh;
+}
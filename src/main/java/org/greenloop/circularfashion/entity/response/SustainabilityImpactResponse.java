@@ -0,0 +1,31 @@
+package org.greenloop.circularfashion.entity.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.SustainabilityRollup;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Impact of one scope (platform, user or category) over a date range, per day or month
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SustainabilityImpactResponse {
+
+    private SustainabilityRollup.Scope scope;
+    private String scopeKey;
+    private SustainabilityRollup.Period period;
+    private LocalDate from;
+    private LocalDate to;
+    private Item.ItemStatus impactEvent; // null = all impact events
+
+    private SustainabilityImpactPoint totals;
+    private List<SustainabilityImpactPoint> series;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Data
@@ -21,6 +22,7 @@ public class UserManagementResponse {
     private Long verifiedUsers;
     private Map<String, Long> usersByType;
     private Map<String, Long> usersByRole;
+    private LocalDateTime statisticsAsOf;
 }
 
 
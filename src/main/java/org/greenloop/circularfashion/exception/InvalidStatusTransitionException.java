@@ -4,6 +4,8 @@ import org.greenloop.circularfashion.entity.Item;
 
 public class InvalidStatusTransitionException extends RuntimeException {
     
+    private static final long serialVersionUID = 1L;
+    
     public InvalidStatusTransitionException(Item.ItemStatus from, Item.ItemStatus to) {
         super(String.format("Invalid status transition from %s to %s", from, to));
     }
@@ -4,6 +4,8 @@ import java.util.UUID;
 
 public class ItemNotFoundException extends RuntimeException {
     
+    private static final long serialVersionUID = 1L;
+    
     public ItemNotFoundException(UUID id) {
         super("Item not found with id: " + id);
     }
@@ -2,6 +2,8 @@ package org.greenloop.circularfashion.exception;
 
 public class ResourceNotFoundException extends RuntimeException {
     
+    private static final long serialVersionUID = 1L;
+    
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
         super(String.format("%s not found with %s: %s", resourceName, fieldName, fieldValue));
     }
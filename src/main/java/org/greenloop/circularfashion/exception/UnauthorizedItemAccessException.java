@@ -4,6 +4,8 @@ import java.util.UUID;
 
 public class UnauthorizedItemAccessException extends RuntimeException {
     
+    private static final long serialVersionUID = 1L;
+    
     public UnauthorizedItemAccessException(UUID itemId, UUID userId) {
         super(String.format("User %s is not authorized to access item %s", userId, itemId));
     }
@@ -4,6 +4,7 @@ import org.greenloop.circularfashion.entity.Category;
 import org.greenloop.circularfashion.entity.request.CategoryCreateRequest;
 import org.greenloop.circularfashion.entity.request.CategoryUpdateRequest;
 import org.greenloop.circularfashion.entity.response.CategoryResponse;
+import org.greenloop.circularfashion.service.impl.CategoryTree;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -59,6 +60,43 @@ public class CategoryMapper {
         return builder.build();
     }
     
+    /**
+     * Convert a category tree snapshot node to CategoryResponse DTO, with subcategories down to the given depth
+     */
+    public CategoryResponse toResponse(CategoryTree tree, CategoryTree.Node node, int subCategoryDepth,
+                                       boolean activeSubCategoriesOnly, Long itemCount) {
+        if (node == null) {
+            return null;
+        }
+        
+        CategoryTree.Node parent = tree.parent(node).orElse(null);
+        CategoryResponse.CategoryResponseBuilder builder = CategoryResponse.builder()
+                .categoryId(node.categoryId())
+                .name(node.name())
+                .slug(node.slug())
+                .description(node.description())
+                .parentCategoryId(node.parentCategoryId())
+                .parentCategoryName(parent != null ? parent.name() : null)
+                .displayOrder(node.displayOrder())
+                .isActive(node.active())
+                .createdAt(node.createdAt())
+                .updatedAt(node.updatedAt())
+                .isRootCategory(node.parentCategoryId() == null)
+                .hasSubCategories(!node.childIds().isEmpty())
+                .fullPath(node.fullPath())
+                .level(node.level())
+                .totalItems(itemCount);
+        
+        if (subCategoryDepth > 0) {
+            builder.subCategories(tree.children(node).stream()
+                    .filter(child -> child.active() || !activeSubCategoriesOnly)
+                    .map(child -> toResponse(tree, child, subCategoryDepth - 1, activeSubCategoriesOnly, null))
+                    .collect(Collectors.toList()));
+        }
+        
+        return builder.build();
+    }
+    
     /**
      * Convert CategoryCreateRequest to Category entity
      */
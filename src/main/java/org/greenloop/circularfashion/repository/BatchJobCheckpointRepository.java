@@ -0,0 +1,41 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.BatchJobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BatchJobCheckpointRepository extends JpaRepository<BatchJobCheckpoint, String> {
+
+    // Takes the job for owner unless another run holds an unexpired lease; 1 when taken
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE BatchJobCheckpoint c SET c.owner = :owner, c.leaseUntil = :leaseUntil " +
+           "WHERE c.jobName = :jobName AND (c.leaseUntil IS NULL OR c.leaseUntil <= :now)")
+    int claim(@Param("jobName") String jobName,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Writes progress and extends the lease while owner still holds the job; 0 once it lost it
+    @Modifying
+    @Query("UPDATE BatchJobCheckpoint c SET c.lastKey = :lastKey, c.processed = :processed, " +
+           "c.updatedAt = :updatedAt, c.completedAt = :completedAt, c.leaseUntil = :leaseUntil " +
+           "WHERE c.jobName = :jobName AND c.owner = :owner")
+    int saveProgress(@Param("jobName") String jobName,
+                     @Param("owner") String owner,
+                     @Param("lastKey") String lastKey,
+                     @Param("processed") long processed,
+                     @Param("updatedAt") LocalDateTime updatedAt,
+                     @Param("completedAt") LocalDateTime completedAt,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE BatchJobCheckpoint c SET c.owner = NULL, c.leaseUntil = NULL " +
+           "WHERE c.jobName = :jobName AND c.owner = :owner")
+    int release(@Param("jobName") String jobName, @Param("owner") String owner);
+}
@@ -0,0 +1,74 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.ClosureId> {
+
+    // Subquery selecting a category and all its descendants (alias cc), for use in IN (...)
+    String SUBTREE_IDS = "SELECT cc.id.descendantId FROM CategoryClosure cc WHERE cc.id.ancestorId = :categoryId";
+
+    @Query("SELECT COUNT(c) > 0 FROM CategoryClosure c " +
+           "WHERE c.id.ancestorId = :ancestorId AND c.id.descendantId = :descendantId")
+    boolean isInSubtree(@Param("ancestorId") UUID ancestorId, @Param("descendantId") UUID descendantId);
+
+    @Query(SUBTREE_IDS)
+    List<UUID> findSubtreeIds(@Param("categoryId") UUID categoryId);
+
+    // Inactive categories on the path from the root down to (excluding) the category
+    @Query("SELECT COUNT(c) FROM CategoryClosure c, Category a WHERE a.categoryId = c.id.ancestorId " +
+           "AND c.id.descendantId = :categoryId AND c.depth > 0 AND a.isActive = false")
+    long countInactiveAncestors(@Param("categoryId") UUID categoryId);
+
+    @Query("SELECT COUNT(c) FROM CategoryClosure c WHERE c.depth = 0")
+    long countSelfLinks();
+
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) VALUES (:categoryId, :categoryId, 0)",
+           nativeQuery = true)
+    int insertSelfLink(@Param("categoryId") UUID categoryId);
+
+    // Links a subtree root, and everything below it, to the new parent and all of its ancestors
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+                   "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 " +
+                   "FROM category_closure a CROSS JOIN category_closure d " +
+                   "WHERE a.descendant_id = :parentId AND d.ancestor_id = :categoryId",
+           nativeQuery = true)
+    int linkSubtree(@Param("categoryId") UUID categoryId, @Param("parentId") UUID parentId);
+
+    // Drops the links between a subtree and its current ancestors, keeping the links inside it
+    @Modifying
+    @Query(value = "DELETE FROM category_closure WHERE " +
+                   "descendant_id IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId) AND " +
+                   "ancestor_id NOT IN (SELECT descendant_id FROM category_closure WHERE ancestor_id = :categoryId)",
+           nativeQuery = true)
+    int unlinkSubtree(@Param("categoryId") UUID categoryId);
+
+    @Modifying
+    @Query("DELETE FROM CategoryClosure c WHERE c.id.ancestorId = :categoryId OR c.id.descendantId = :categoryId")
+    int deleteLinks(@Param("categoryId") UUID categoryId);
+
+    @Modifying
+    @Query(value = "DELETE FROM category_closure", nativeQuery = true)
+    int deleteAllLinks();
+
+    // Full rebuild from categories.parent_category_id
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+                   "WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS (" +
+                   "SELECT category_id, category_id, 0 FROM categories " +
+                   "UNION ALL SELECT t.ancestor_id, c.category_id, t.depth + 1 " +
+                   "FROM tree t JOIN categories c ON c.parent_category_id = t.descendant_id WHERE t.depth < 64) " +
+                   "SELECT ancestor_id, descendant_id, depth FROM tree",
+           nativeQuery = true)
+    int rebuildLinks();
+}
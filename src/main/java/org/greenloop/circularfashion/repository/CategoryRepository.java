@@ -4,6 +4,7 @@ import org.greenloop.circularfashion.entity.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -42,6 +43,18 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
            "LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Category> searchCategories(@Param("keyword") String keyword, Pageable pageable);
     
+    // Activates or deactivates a category and every category under it in one statement
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Category c SET c.isActive = :active, c.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE c.categoryId IN (" + CategoryClosureRepository.SUBTREE_IDS + ")")
+    int updateSubtreeActive(@Param("categoryId") UUID categoryId, @Param("active") boolean active);
+    
+    // Flat rows for the in-memory category tree: (categoryId, parentCategoryId, name, slug, description,
+    // displayOrder, isActive, createdAt, updatedAt)
+    @Query("SELECT c.categoryId, p.categoryId, c.name, c.slug, c.description, c.displayOrder, c.isActive, " +
+           "c.createdAt, c.updatedAt FROM Category c LEFT JOIN c.parentCategory p")
+    List<Object[]> findTreeRows();
+    
     // Count queries
     Long countByParentCategoryIsNull();
 } 
\ No newline at end of file
@@ -0,0 +1,26 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.ItemLifecycleHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ItemLifecycleHistoryRepository extends JpaRepository<ItemLifecycleHistory, Long> {
+
+    // Keyset timeline, newest first, backed by idx_lifecycle_item_timeline.
+    // Callers pass PageRequest.of(0, size + 1) to detect a next page without a count query.
+    @Query("SELECT h FROM ItemLifecycleHistory h WHERE h.item.itemId = :itemId AND " +
+           "h.eventDate <= :eventDate AND (h.eventDate < :eventDate OR h.historyId < :historyId) " +
+           "ORDER BY h.eventDate DESC, h.historyId DESC")
+    List<ItemLifecycleHistory> findTimelineAfter(@Param("itemId") UUID itemId,
+                                                 @Param("eventDate") LocalDateTime eventDate,
+                                                 @Param("historyId") long historyId,
+                                                 Pageable pageable);
+}
@@ -0,0 +1,11 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.ItemLifecycle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ItemLifecycleRepository extends JpaRepository<ItemLifecycle, UUID> {
+}
@@ -1,25 +1,58 @@
 package org.greenloop.circularfashion.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.greenloop.circularfashion.entity.Item;
 import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.entity.response.ItemCodeSnapshot;
+import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, UUID> {
 
+    // Summary columns only, for list views; select from SUMMARY_FROM (aliases i, c, b)
+    String SUMMARY_PROJECTION = "new org.greenloop.circularfashion.entity.response.ItemSummaryResponse(" +
+            "i.itemId, i.itemCode, i.name, c.categoryId, c.name, b.brandId, b.name, " +
+            "i.size, i.color, i.conditionScore, i.currentEstimatedValue, i.itemStatus, i.isVerified, " +
+            "i.images, i.createdAt, i.updatedAt)";
+    String SUMMARY_FROM = " FROM Item i LEFT JOIN i.category c LEFT JOIN i.brand b";
+    String EXPORT_FETCH = "LEFT JOIN FETCH i.category LEFT JOIN FETCH i.brand LEFT JOIN FETCH i.originalOwner " +
+            "LEFT JOIN FETCH i.currentOwner LEFT JOIN FETCH i.verifiedBy ";
+
+    String KEYWORD_MATCH = "(LOWER(i.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(i.description) LIKE LOWER(CONCAT('%', :keyword, '%')))";
+    // Items filed under :categoryId or any of its subcategories, via the category closure
+    String IN_CATEGORY_SUBTREE = "i.category.categoryId IN (" + CategoryClosureRepository.SUBTREE_IDS + ")";
+    // Null category / minCondition mean "any"; the cast types a null category id, which Postgres cannot infer
+    String FILTERS_MATCH = "(CAST(:categoryId AS java.util.UUID) IS NULL OR " + IN_CATEGORY_SUBTREE + ") AND " +
+            "i.itemStatus IN :statuses AND " +
+            "(:minCondition IS NULL OR i.conditionScore >= :minCondition)";
+
     // Basic finding methods
     Optional<Item> findByItemCode(String itemCode);
+
+    @Query("SELECT new org.greenloop.circularfashion.entity.response.ItemCodeSnapshot(" +
+           "i.itemId, i.itemCode, i.itemStatus, o.userId, c.categoryId, i.conditionScore, i.isVerified) " +
+           "FROM Item i LEFT JOIN i.currentOwner o LEFT JOIN i.category c WHERE i.itemCode = :itemCode")
+    Optional<ItemCodeSnapshot> findSnapshotByItemCode(@Param("itemCode") String itemCode);
     
     // Owner queries
     List<Item> findByCurrentOwner(User currentOwner);
@@ -37,6 +70,9 @@ public interface ItemRepository extends JpaRepository<Item, UUID> {
     @Query("SELECT i FROM Item i WHERE i.category.categoryId = :categoryId")
     List<Item> findByCategoryId(@Param("categoryId") UUID categoryId);
 
+    // Stops at the first matching row (category_id index)
+    boolean existsByCategoryCategoryId(UUID categoryId);
+
     @Query("SELECT i FROM Item i WHERE i.category.categoryId = :categoryId AND i.itemStatus = :status")
     Page<Item> findByCategoryAndStatus(@Param("categoryId") UUID categoryId, 
                                        @Param("status") Item.ItemStatus status, 
@@ -46,6 +82,12 @@ public interface ItemRepository extends JpaRepository<Item, UUID> {
     @Query("SELECT i FROM Item i WHERE i.brand.brandId = :brandId")
     List<Item> findByBrandId(@Param("brandId") UUID brandId);
 
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE b.brandId = :brandId AND i.itemStatus = :status",
+           countQuery = "SELECT COUNT(i) FROM Item i WHERE i.brand.brandId = :brandId AND i.itemStatus = :status")
+    Page<ItemSummaryResponse> findSummariesByBrandAndStatus(@Param("brandId") UUID brandId,
+                                                            @Param("status") Item.ItemStatus status,
+                                                            Pageable pageable);
+
     // Condition queries
     @Query("SELECT i FROM Item i WHERE i.conditionScore >= :minScore")
     List<Item> findByMinConditionScore(@Param("minScore") BigDecimal minScore);
@@ -119,4 +161,236 @@ public interface ItemRepository extends JpaRepository<Item, UUID> {
     
     @Query("SELECT i FROM Item i WHERE i.isVerified = false AND i.itemStatus = 'COLLECTED'")
     List<Item> findUnverifiedCollectedItems();
+
+    // Exports: keyset batches over the same sets in item id order, with every to-one the mapper reads
+    // fetched in the row. Pass the last item id of the previous batch (the nil UUID for the first)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT i FROM Item i " + EXPORT_FETCH +
+           "WHERE i.itemStatus IN ('READY_FOR_SALE', 'VALUED') AND i.isVerified = true AND i.itemId > :afterId " +
+           "ORDER BY i.itemId")
+    List<Item> findMarketplaceReadyItemsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT i FROM Item i " + EXPORT_FETCH +
+           "WHERE i.isVerified = false AND i.itemStatus = 'COLLECTED' AND i.itemId > :afterId ORDER BY i.itemId")
+    List<Item> findUnverifiedCollectedItemsAfter(@Param("afterId") UUID afterId, Pageable pageable);
+
+    // Full item detail in one statement: every to-one the mapper reads is fetched in the row
+    @Query("SELECT i FROM Item i " + EXPORT_FETCH + "WHERE i.itemId = :itemId")
+    Optional<Item> findDetailById(@Param("itemId") UUID itemId);
+
+    // Bulk operations: (itemId, itemCode, itemStatus) rows, locked until the surrounding transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.itemId, i.itemCode, i.itemStatus FROM Item i WHERE i.itemId IN :itemIds")
+    List<Object[]> findStatusRowsByIdsForUpdate(@Param("itemIds") Collection<UUID> itemIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.itemId, i.itemCode, i.itemStatus FROM Item i WHERE i.itemCode IN :itemCodes")
+    List<Object[]> findStatusRowsByCodesForUpdate(@Param("itemCodes") Collection<String> itemCodes);
+
+    @Query("SELECT i.itemId FROM Item i WHERE i.itemId IN :itemIds")
+    List<UUID> findExistingIds(@Param("itemIds") Collection<UUID> itemIds);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.itemStatus = :newStatus, i.updatedAt = CURRENT_TIMESTAMP WHERE i.itemId IN :itemIds")
+    int updateStatusByIds(@Param("itemIds") Collection<UUID> itemIds, @Param("newStatus") Item.ItemStatus newStatus);
+
+    // Stat counter contributions of a set of items: (itemStatus, ownerId, categoryId, count, conditionSum)
+    @Query("SELECT i.itemStatus, o.userId, i.category.categoryId, COUNT(i), SUM(i.conditionScore) " +
+           "FROM Item i LEFT JOIN i.currentOwner o WHERE i.itemId IN :itemIds " +
+           "GROUP BY i.itemStatus, o.userId, i.category.categoryId")
+    List<Object[]> findStatsContributions(@Param("itemIds") Collection<UUID> itemIds);
+
+    // Impact of a set of items: (originalOwnerId, currentOwnerId, categoryId, count, carbonKg, waterLiters, energyKwh)
+    @Query("SELECT oo.userId, co.userId, i.category.categoryId, COUNT(i), SUM(i.carbonFootprintKg), " +
+           "SUM(i.waterSavedLiters), SUM(i.energySavedKwh) " +
+           "FROM Item i LEFT JOIN i.originalOwner oo LEFT JOIN i.currentOwner co WHERE i.itemId IN :itemIds " +
+           "GROUP BY oo.userId, co.userId, i.category.categoryId")
+    List<Object[]> findImpactContributions(@Param("itemIds") Collection<UUID> itemIds);
+
+    // Set-wise delete; the children Item cascades to must go first
+    @Modifying
+    @Query("DELETE FROM ItemLifecycle l WHERE l.item.itemId IN :itemIds")
+    int deleteLifecycleByItemIds(@Param("itemIds") Collection<UUID> itemIds);
+
+    @Modifying
+    @Query("DELETE FROM Review r WHERE r.item.itemId IN :itemIds")
+    int deleteReviewsByItemIds(@Param("itemIds") Collection<UUID> itemIds);
+
+    @Modifying
+    @Query("DELETE FROM MarketplaceListing m WHERE m.item.itemId IN :itemIds")
+    int deleteListingsByItemIds(@Param("itemIds") Collection<UUID> itemIds);
+
+    @Modifying
+    @Query("DELETE FROM Item i WHERE i.itemId IN :itemIds")
+    int deleteByItemIds(@Param("itemIds") Collection<UUID> itemIds);
+
+    // Summary listings: one query per page, category and brand joined, no lazy loads
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM,
+           countQuery = "SELECT COUNT(i) FROM Item i")
+    Page<ItemSummaryResponse> findAllSummaries(Pageable pageable);
+
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE i.currentOwner.userId = :ownerId",
+           countQuery = "SELECT COUNT(i) FROM Item i WHERE i.currentOwner.userId = :ownerId")
+    Page<ItemSummaryResponse> findSummariesByOwner(@Param("ownerId") UUID ownerId, Pageable pageable);
+
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE i.itemStatus = :status AND i.isVerified = true",
+           countQuery = "SELECT COUNT(i) FROM Item i WHERE i.itemStatus = :status AND i.isVerified = true")
+    Page<ItemSummaryResponse> findSummariesByStatusAndVerified(@Param("status") Item.ItemStatus status, Pageable pageable);
+
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE " + IN_CATEGORY_SUBTREE + " AND i.itemStatus = :status",
+           countQuery = "SELECT COUNT(i) FROM Item i WHERE " + IN_CATEGORY_SUBTREE + " AND i.itemStatus = :status")
+    Page<ItemSummaryResponse> findSummariesInCategorySubtreeAndStatus(@Param("categoryId") UUID categoryId,
+                                                               @Param("status") Item.ItemStatus status,
+                                                               Pageable pageable);
+
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE " + KEYWORD_MATCH,
+           countQuery = "SELECT COUNT(i) FROM Item i WHERE " + KEYWORD_MATCH)
+    Page<ItemSummaryResponse> searchSummaries(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(value = "SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE " + FILTERS_MATCH,
+           countQuery = "SELECT COUNT(i) FROM Item i WHERE " + FILTERS_MATCH)
+    Page<ItemSummaryResponse> findSummariesWithFilters(@Param("categoryId") UUID categoryId,
+                                                       @Param("statuses") List<Item.ItemStatus> statuses,
+                                                       @Param("minCondition") BigDecimal minCondition,
+                                                       Pageable pageable);
+
+    // Facet index rebuild: only the facet columns, streamed (call inside a transaction and close the stream)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT i.itemId, i.category.categoryId, b.brandId, i.size, i.color, i.conditionScore, i.createdAt " +
+           "FROM Item i LEFT JOIN i.brand b WHERE i.itemStatus IN :statuses")
+    Stream<Object[]> streamFacetRows(@Param("statuses") Collection<Item.ItemStatus> statuses);
+
+    @Query("SELECT i.itemId, i.category.categoryId, b.brandId, i.size, i.color, i.conditionScore, i.createdAt, i.itemStatus " +
+           "FROM Item i LEFT JOIN i.brand b WHERE i.itemId IN :itemIds")
+    List<Object[]> findFacetRowsByIds(@Param("itemIds") Collection<UUID> itemIds);
+
+    @Query("SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE i.itemId IN :itemIds")
+    List<ItemSummaryResponse> findSummariesByIds(@Param("itemIds") Collection<UUID> itemIds);
+
+    // In-place jsonb edits of images / videos / tags: a single UPDATE ... RETURNING the new array
+    // length, without loading the entity. No row is returned (and nothing is written) when the
+    // edit would not change the array, so an empty result means "unchanged or no such item".
+    // :values is a JSON array of strings; values already present are skipped, order is kept.
+    String JSONB_EMPTY = "CAST('[]' AS jsonb)";
+    String JSONB_VALUES = "CAST(:values AS jsonb)";
+    String JSONB_VALUE_ROWS = " FROM jsonb_array_elements(" + JSONB_VALUES + ") WITH ORDINALITY AS v(elem, ord)";
+
+    @Query(value = "UPDATE items i SET images = COALESCE(i.images, " + JSONB_EMPTY + ") || " +
+                   "(SELECT COALESCE(jsonb_agg(v.elem ORDER BY v.ord), " + JSONB_EMPTY + ")" + JSONB_VALUE_ROWS +
+                   " WHERE NOT COALESCE(i.images, " + JSONB_EMPTY + ") @> jsonb_build_array(v.elem)), " +
+                   "updated_at = LOCALTIMESTAMP " +
+                   "WHERE i.item_id = :itemId AND NOT COALESCE(i.images, " + JSONB_EMPTY + ") @> " + JSONB_VALUES +
+                   " RETURNING jsonb_array_length(i.images)",
+           nativeQuery = true)
+    Optional<Integer> appendImages(@Param("itemId") UUID itemId, @Param("values") String valuesJson);
+
+    @Query(value = "UPDATE items i SET images = i.images - CAST(:value AS text), updated_at = LOCALTIMESTAMP " +
+                   "WHERE i.item_id = :itemId AND i.images @> jsonb_build_array(CAST(:value AS text)) " +
+                   "RETURNING jsonb_array_length(i.images)",
+           nativeQuery = true)
+    Optional<Integer> removeImage(@Param("itemId") UUID itemId, @Param("value") String value);
+
+    @Query(value = "UPDATE items i SET videos = COALESCE(i.videos, " + JSONB_EMPTY + ") || " +
+                   "(SELECT COALESCE(jsonb_agg(v.elem ORDER BY v.ord), " + JSONB_EMPTY + ")" + JSONB_VALUE_ROWS +
+                   " WHERE NOT COALESCE(i.videos, " + JSONB_EMPTY + ") @> jsonb_build_array(v.elem)), " +
+                   "updated_at = LOCALTIMESTAMP " +
+                   "WHERE i.item_id = :itemId AND NOT COALESCE(i.videos, " + JSONB_EMPTY + ") @> " + JSONB_VALUES +
+                   " RETURNING jsonb_array_length(i.videos)",
+           nativeQuery = true)
+    Optional<Integer> appendVideos(@Param("itemId") UUID itemId, @Param("values") String valuesJson);
+
+    @Query(value = "UPDATE items i SET videos = i.videos - CAST(:value AS text), updated_at = LOCALTIMESTAMP " +
+                   "WHERE i.item_id = :itemId AND i.videos @> jsonb_build_array(CAST(:value AS text)) " +
+                   "RETURNING jsonb_array_length(i.videos)",
+           nativeQuery = true)
+    Optional<Integer> removeVideo(@Param("itemId") UUID itemId, @Param("value") String value);
+
+    @Query(value = "UPDATE items i SET tags = COALESCE(i.tags, " + JSONB_EMPTY + ") || " +
+                   "(SELECT COALESCE(jsonb_agg(v.elem ORDER BY v.ord), " + JSONB_EMPTY + ")" + JSONB_VALUE_ROWS +
+                   " WHERE NOT COALESCE(i.tags, " + JSONB_EMPTY + ") @> jsonb_build_array(v.elem)), " +
+                   "updated_at = LOCALTIMESTAMP " +
+                   "WHERE i.item_id = :itemId AND NOT COALESCE(i.tags, " + JSONB_EMPTY + ") @> " + JSONB_VALUES +
+                   " RETURNING jsonb_array_length(i.tags)",
+           nativeQuery = true)
+    Optional<Integer> appendTags(@Param("itemId") UUID itemId, @Param("values") String valuesJson);
+
+    @Query(value = "UPDATE items i SET tags = i.tags - CAST(:value AS text), updated_at = LOCALTIMESTAMP " +
+                   "WHERE i.item_id = :itemId AND i.tags @> jsonb_build_array(CAST(:value AS text)) " +
+                   "RETURNING jsonb_array_length(i.tags)",
+           nativeQuery = true)
+    Optional<Integer> removeTag(@Param("itemId") UUID itemId, @Param("value") String value);
+
+    @Query(value = "SELECT jsonb_array_length(COALESCE(i.images, " + JSONB_EMPTY + ")), " +
+                   "jsonb_array_length(COALESCE(i.videos, " + JSONB_EMPTY + ")), " +
+                   "jsonb_array_length(COALESCE(i.tags, " + JSONB_EMPTY + ")) " +
+                   "FROM items i WHERE i.item_id = :itemId",
+           nativeQuery = true)
+    List<Object[]> findMediaCounts(@Param("itemId") UUID itemId);
+
+    // Full-text search: matches the idx_items_search expression exactly so the GIN index is used,
+    // exact tags go through idx_items_tags_gin. Returns ids ranked by relevance.
+    String FULLTEXT_VECTOR = "to_tsvector('english', i.name || ' ' || COALESCE(i.description, ''))";
+    String FULLTEXT_MATCH = FULLTEXT_VECTOR + " @@ to_tsquery('english', :query) " +
+            "OR i.tags @> jsonb_build_array(CAST(:tag AS text))";
+
+    @Query(value = "SELECT i.item_id FROM items i WHERE " + FULLTEXT_MATCH +
+                   " ORDER BY ts_rank(" + FULLTEXT_VECTOR + ", to_tsquery('english', :query)) " +
+                   "+ CASE WHEN i.tags @> jsonb_build_array(CAST(:tag AS text)) THEN 1 ELSE 0 END DESC, " +
+                   "i.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM items i WHERE " + FULLTEXT_MATCH,
+           nativeQuery = true)
+    Page<UUID> searchFullTextIds(@Param("query") String query, @Param("tag") String tag, Pageable pageable);
+
+    // Typo fallback via pg_trgm (V6): similarity on the lower-cased name, backed by idx_items_name_trgm.
+    // Only valid when the extension is installed (TrigramSupport)
+    @Query(value = "SELECT i.item_id FROM items i WHERE LOWER(i.name) % LOWER(:keyword) " +
+                   "ORDER BY similarity(LOWER(i.name), LOWER(:keyword)) DESC, i.created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM items i WHERE LOWER(i.name) % LOWER(:keyword)",
+           nativeQuery = true)
+    Page<UUID> searchSimilarNameIds(@Param("keyword") String keyword, Pageable pageable);
+
+    // Keyset (cursor) pagination, newest first over (createdAt, itemId). The redundant
+    // createdAt bound lets Postgres start an index range scan there instead of filtering every newer row.
+    // Callers pass PageRequest.of(0, size + 1) to detect a next page without a count query.
+    String KEYSET_AFTER = "i.createdAt <= :createdAt AND (i.createdAt < :createdAt OR i.itemId < :itemId)";
+    String KEYSET_ORDER = " ORDER BY i.createdAt DESC, i.itemId DESC";
+
+    @Query("SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE " + KEYSET_AFTER + KEYSET_ORDER)
+    List<ItemSummaryResponse> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("itemId") UUID itemId,
+                                                 Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE i.currentOwner.userId = :ownerId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<ItemSummaryResponse> findSummariesByOwnerAfter(@Param("ownerId") UUID ownerId,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("itemId") UUID itemId,
+                                                        Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE i.itemStatus = :status AND i.isVerified = true AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<ItemSummaryResponse> findSummariesByStatusAndVerifiedAfter(@Param("status") Item.ItemStatus status,
+                                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                                    @Param("itemId") UUID itemId,
+                                                                    Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE " + IN_CATEGORY_SUBTREE + " AND i.itemStatus = :status AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<ItemSummaryResponse> findSummariesInCategorySubtreeAndStatusAfter(@Param("categoryId") UUID categoryId,
+                                                                    @Param("status") Item.ItemStatus status,
+                                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                                    @Param("itemId") UUID itemId,
+                                                                    Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE " + KEYWORD_MATCH + " AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<ItemSummaryResponse> searchSummariesAfter(@Param("keyword") String keyword,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("itemId") UUID itemId,
+                                                   Pageable pageable);
+
+    @Query("SELECT " + SUMMARY_PROJECTION + SUMMARY_FROM + " WHERE " + FILTERS_MATCH + " AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<ItemSummaryResponse> findSummariesWithFiltersAfter(@Param("categoryId") UUID categoryId,
+                                                            @Param("statuses") List<Item.ItemStatus> statuses,
+                                                            @Param("minCondition") BigDecimal minCondition,
+                                                            @Param("createdAt") LocalDateTime createdAt,
+                                                            @Param("itemId") UUID itemId,
+                                                            Pageable pageable);
 } 
\ No newline at end of file
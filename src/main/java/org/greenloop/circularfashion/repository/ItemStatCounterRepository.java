@@ -0,0 +1,52 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.ItemStatCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ItemStatCounterRepository extends JpaRepository<ItemStatCounter, ItemStatCounter.CounterId> {
+
+    // Reads add up the slots of one counter (primary key prefix, at most app.items.stats.slots rows)
+    @Query("SELECT COALESCE(SUM(c.itemCount), 0) FROM ItemStatCounter c " +
+           "WHERE c.id.dimension = :dimension AND c.id.dimensionKey = :dimensionKey")
+    long sumItemCount(@Param("dimension") ItemStatCounter.Dimension dimension,
+                      @Param("dimensionKey") String dimensionKey);
+
+    @Query("SELECT COALESCE(SUM(c.conditionSum), 0) FROM ItemStatCounter c " +
+           "WHERE c.id.dimension = :dimension AND c.id.dimensionKey = :dimensionKey")
+    BigDecimal sumConditionSum(@Param("dimension") ItemStatCounter.Dimension dimension,
+                               @Param("dimensionKey") String dimensionKey);
+
+    // Direct counters of a category and all of its subcategories, via the category closure
+    @Query("SELECT COALESCE(SUM(c.itemCount), 0) FROM ItemStatCounter c WHERE c.id.dimension = :dimension AND " +
+           "c.id.dimensionKey IN (SELECT CAST(cc.id.descendantId AS String) FROM CategoryClosure cc " +
+           "WHERE cc.id.ancestorId = :categoryId)")
+    long sumItemCountInCategorySubtree(@Param("dimension") ItemStatCounter.Dimension dimension,
+                                       @Param("categoryId") UUID categoryId);
+
+    // (dimensionKey, itemCount) for the counters whose key starts with the prefix (primary key range)
+    @Query("SELECT c.id.dimensionKey, SUM(c.itemCount) FROM ItemStatCounter c " +
+           "WHERE c.id.dimension = :dimension AND c.id.dimensionKey LIKE CONCAT(:keyPrefix, '%') " +
+           "GROUP BY c.id.dimensionKey")
+    List<Object[]> sumItemCountsByKeyPrefix(@Param("dimension") ItemStatCounter.Dimension dimension,
+                                            @Param("keyPrefix") String keyPrefix);
+
+    // (dimensionKey, itemCount) for every counter of a dimension
+    @Query("SELECT c.id.dimensionKey, SUM(c.itemCount) FROM ItemStatCounter c " +
+           "WHERE c.id.dimension = :dimension GROUP BY c.id.dimensionKey")
+    List<Object[]> sumItemCountsByKey(@Param("dimension") ItemStatCounter.Dimension dimension);
+
+    // (dimensionKey, itemCount) for the given counters of a dimension
+    @Query("SELECT c.id.dimensionKey, SUM(c.itemCount) FROM ItemStatCounter c " +
+           "WHERE c.id.dimension = :dimension AND c.id.dimensionKey IN :dimensionKeys GROUP BY c.id.dimensionKey")
+    List<Object[]> sumItemCountsByKeys(@Param("dimension") ItemStatCounter.Dimension dimension,
+                                       @Param("dimensionKeys") Collection<String> dimensionKeys);
+}
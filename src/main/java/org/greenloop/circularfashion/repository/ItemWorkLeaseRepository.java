@@ -0,0 +1,94 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.ItemWorkLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ItemWorkLeaseRepository extends JpaRepository<ItemWorkLease, Long> {
+
+    // Work definitions (native, alias i = items), backed by the V8 partial indexes
+    String VERIFICATION_WORK = "i.item_status = 'COLLECTED' AND i.is_verified = false";
+    String VALUATION_WORK = "(i.item_status = 'VALUING' OR " +
+            "(i.item_status = 'COLLECTED' AND i.verified_by IS NULL AND i.current_estimated_value IS NULL))";
+
+    String NOT_LEASED = " AND NOT EXISTS (SELECT 1 FROM item_work_leases l " +
+            "WHERE l.item_id = i.item_id AND l.queue = :queue AND l.expires_at > :now)";
+
+    // Oldest and most valuable first: hours waited plus estimated value / valuePerHour
+    String PRIORITY = " ORDER BY EXTRACT(EPOCH FROM (CAST(:now AS timestamp) - i.created_at)) / 3600 + " +
+            "COALESCE(i.current_estimated_value, i.original_price, 0) / :valuePerHour DESC, i.created_at, i.item_id";
+
+    // Candidates locked by a concurrent claim are skipped rather than waited on; the conflict guard
+    // only takes over a lease that has expired, so two claimers can never both get the same item
+    String CLAIM_INTO_LEASES = " LIMIT :size FOR UPDATE OF i SKIP LOCKED) " +
+            "INSERT INTO item_work_leases (lease_id, item_id, queue, staff_id, leased_at, expires_at) " +
+            "SELECT nextval('item_work_lease_seq'), c.item_id, :queue, :staffId, :now, :expiresAt FROM candidates c " +
+            "ON CONFLICT (item_id, queue) DO UPDATE SET staff_id = EXCLUDED.staff_id, " +
+            "leased_at = EXCLUDED.leased_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE item_work_leases.expires_at <= EXCLUDED.leased_at " +
+            "RETURNING item_id";
+
+    @Query(value = "WITH candidates AS (SELECT i.item_id FROM items i WHERE " + VERIFICATION_WORK + NOT_LEASED +
+                   PRIORITY + CLAIM_INTO_LEASES,
+           nativeQuery = true)
+    List<UUID> claimVerificationWork(@Param("queue") String queue,
+                                     @Param("staffId") UUID staffId,
+                                     @Param("size") int size,
+                                     @Param("valuePerHour") BigDecimal valuePerHour,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query(value = "WITH candidates AS (SELECT i.item_id FROM items i WHERE " + VALUATION_WORK + NOT_LEASED +
+                   PRIORITY + CLAIM_INTO_LEASES,
+           nativeQuery = true)
+    List<UUID> claimValuationWork(@Param("queue") String queue,
+                                  @Param("staffId") UUID staffId,
+                                  @Param("size") int size,
+                                  @Param("valuePerHour") BigDecimal valuePerHour,
+                                  @Param("now") LocalDateTime now,
+                                  @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query(value = "SELECT COUNT(*) FROM items i WHERE " + VERIFICATION_WORK, nativeQuery = true)
+    long countVerificationWork();
+
+    @Query(value = "SELECT COUNT(*) FROM items i WHERE " + VALUATION_WORK, nativeQuery = true)
+    long countValuationWork();
+
+    Optional<ItemWorkLease> findByItemIdAndQueue(UUID itemId, ItemWorkLease.Queue queue);
+
+    @Query("SELECT COUNT(l) FROM ItemWorkLease l WHERE l.queue = :queue AND l.expiresAt > :now")
+    long countActive(@Param("queue") ItemWorkLease.Queue queue, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ItemWorkLease l SET l.expiresAt = :expiresAt " +
+           "WHERE l.staffId = :staffId AND l.queue = :queue AND l.expiresAt > :now")
+    int renew(@Param("staffId") UUID staffId,
+              @Param("queue") ItemWorkLease.Queue queue,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM ItemWorkLease l WHERE l.staffId = :staffId AND l.queue = :queue")
+    int releaseAll(@Param("staffId") UUID staffId, @Param("queue") ItemWorkLease.Queue queue);
+
+    @Modifying
+    @Query("DELETE FROM ItemWorkLease l WHERE l.staffId = :staffId AND l.queue = :queue AND l.itemId IN :itemIds")
+    int release(@Param("staffId") UUID staffId,
+                @Param("queue") ItemWorkLease.Queue queue,
+                @Param("itemIds") Collection<UUID> itemIds);
+
+    @Modifying
+    @Query("DELETE FROM ItemWorkLease l WHERE l.queue = :queue AND l.expiresAt <= :now")
+    int deleteExpired(@Param("queue") ItemWorkLease.Queue queue, @Param("now") LocalDateTime now);
+}
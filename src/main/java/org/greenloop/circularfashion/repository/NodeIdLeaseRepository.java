@@ -0,0 +1,41 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.NodeIdLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface NodeIdLeaseRepository extends JpaRepository<NodeIdLease, Integer> {
+
+    // Lowest node id that is free or expired. Two instances racing for the same id both reach the
+    // conflict; the loser's guard sees the winner's fresh lease and returns no row, so it retries
+    @Query(value = "INSERT INTO node_id_leases (node_id, instance_id, leased_until) " +
+                   "SELECT n, :instanceId, :leasedUntil FROM generate_series(0, :maxNodeId) n " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM node_id_leases l WHERE l.node_id = n AND l.leased_until > :now) " +
+                   "ORDER BY n LIMIT 1 " +
+                   "ON CONFLICT (node_id) DO UPDATE SET instance_id = EXCLUDED.instance_id, " +
+                   "leased_until = EXCLUDED.leased_until WHERE node_id_leases.leased_until <= :now " +
+                   "RETURNING node_id",
+           nativeQuery = true)
+    Optional<Integer> claim(@Param("instanceId") String instanceId,
+                            @Param("maxNodeId") int maxNodeId,
+                            @Param("now") LocalDateTime now,
+                            @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    @Modifying
+    @Query("UPDATE NodeIdLease l SET l.leasedUntil = :leasedUntil " +
+           "WHERE l.nodeId = :nodeId AND l.instanceId = :instanceId")
+    int renew(@Param("nodeId") int nodeId,
+              @Param("instanceId") String instanceId,
+              @Param("leasedUntil") LocalDateTime leasedUntil);
+
+    @Modifying
+    @Query("DELETE FROM NodeIdLease l WHERE l.nodeId = :nodeId AND l.instanceId = :instanceId")
+    int release(@Param("nodeId") int nodeId, @Param("instanceId") String instanceId);
+}
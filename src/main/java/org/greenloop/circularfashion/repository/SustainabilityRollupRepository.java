@@ -0,0 +1,29 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.SustainabilityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SustainabilityRollupRepository extends JpaRepository<SustainabilityRollup, SustainabilityRollup.RollupId> {
+
+    String RANGE_MATCH = "r.id.scope = :scope AND r.id.scopeKey = :scopeKey AND r.id.period = :period AND " +
+            "r.id.periodStart BETWEEN :from AND :to AND (:impactEvent IS NULL OR r.id.impactEvent = :impactEvent)";
+
+    // (periodStart, itemCount, carbonKg, waterLiters, energyKwh) per period, oldest first
+    @Query("SELECT r.id.periodStart, SUM(r.itemCount), SUM(r.carbonFootprintKg), SUM(r.waterSavedLiters), " +
+           "SUM(r.energySavedKwh) FROM SustainabilityRollup r WHERE " + RANGE_MATCH +
+           " GROUP BY r.id.periodStart ORDER BY r.id.periodStart")
+    List<Object[]> sumByPeriod(@Param("scope") SustainabilityRollup.Scope scope,
+                               @Param("scopeKey") String scopeKey,
+                               @Param("period") SustainabilityRollup.Period period,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to,
+                               @Param("impactEvent") Item.ItemStatus impactEvent);
+}
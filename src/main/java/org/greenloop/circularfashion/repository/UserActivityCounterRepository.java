@@ -0,0 +1,20 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.UserActivityCounter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserActivityCounterRepository extends JpaRepository<UserActivityCounter, UUID> {
+
+    // Accounts with the most followers, at least minFollowers, backed by idx_user_activity_followers (V14)
+    @Query("SELECT c.userId FROM UserActivityCounter c WHERE c.followersCount >= :minFollowers " +
+           "ORDER BY c.followersCount DESC, c.userId")
+    List<UUID> findMostFollowed(@Param("minFollowers") long minFollowers, Pageable pageable);
+}
@@ -0,0 +1,62 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.entity.UserFollow;
+import org.greenloop.circularfashion.entity.response.FollowUserResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserFollowRepository extends JpaRepository<UserFollow, UUID> {
+
+    // Single edge operations, all served by the unique (follower_id, followed_id) index
+    @Query("SELECT COUNT(f) > 0 FROM UserFollow f WHERE f.follower.userId = :followerId AND f.followed.userId = :followedId")
+    boolean existsEdge(@Param("followerId") UUID followerId, @Param("followedId") UUID followedId);
+
+    // Returns 0 when the edge already exists, so concurrent follows of the same pair are harmless
+    @Modifying
+    @Query(value = "INSERT INTO user_follows (follow_id, follower_id, followed_id, created_at) " +
+                   "VALUES (:followId, :followerId, :followedId, :createdAt) " +
+                   "ON CONFLICT (follower_id, followed_id) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("followId") UUID followId,
+                       @Param("followerId") UUID followerId,
+                       @Param("followedId") UUID followedId,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM UserFollow f WHERE f.follower.userId = :followerId AND f.followed.userId = :followedId")
+    int deleteEdge(@Param("followerId") UUID followerId, @Param("followedId") UUID followedId);
+
+    // Everyone following one account, for the adjacency cache
+    @Query("SELECT f.follower.userId FROM UserFollow f WHERE f.followed.userId = :followedId")
+    List<UUID> findFollowerIds(@Param("followedId") UUID followedId);
+
+    // Keyset (cursor) lists, newest follow first over (createdAt, followId), backed by the V14 indexes.
+    // Callers pass PageRequest.of(0, size + 1) to detect a next page without a count query.
+    String KEYSET_AFTER = "f.createdAt <= :createdAt AND (f.createdAt < :createdAt OR f.followId < :followId)";
+    String KEYSET_ORDER = " ORDER BY f.createdAt DESC, f.followId DESC";
+    String FOLLOW_PROJECTION = "new org.greenloop.circularfashion.entity.response.FollowUserResponse(" +
+            "f.followId, f.createdAt, u.userId, u.username, u.firstName, u.lastName, u.avatarUrl)";
+
+    @Query("SELECT " + FOLLOW_PROJECTION + " FROM UserFollow f JOIN f.follower u " +
+           "WHERE f.followed.userId = :userId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<FollowUserResponse> findFollowersAfter(@Param("userId") UUID userId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("followId") UUID followId,
+                                                Pageable pageable);
+
+    @Query("SELECT " + FOLLOW_PROJECTION + " FROM UserFollow f JOIN f.followed u " +
+           "WHERE f.follower.userId = :userId AND " + KEYSET_AFTER + KEYSET_ORDER)
+    List<FollowUserResponse> findFollowingAfter(@Param("userId") UUID userId,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("followId") UUID followId,
+                                                Pageable pageable);
+}
@@ -1,11 +1,16 @@
 package org.greenloop.circularfashion.repository;
 
 import org.greenloop.circularfashion.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +28,67 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query("SELECT u FROM User u WHERE u.email = :emailOrUsername OR u.username = :emailOrUsername")
     Optional<User> findByEmailOrUsername(@Param("emailOrUsername") String emailOrUsername);
 
-    @Query("SELECT COUNT(uf) FROM UserFollow uf WHERE uf.follower.userId = :userId")
-    Long countFollowing(@Param("userId") UUID userId);
+    // Listing filters, backed by the V12 keyset and partial indexes
+    Page<User> findByUserType(User.UserType userType, Pageable pageable);
+
+    Page<User> findByRole(User.Role role, Pageable pageable);
+
+    Page<User> findByIsActiveTrue(Pageable pageable);
+
+    Page<User> findByIsBannedTrue(Pageable pageable);
+
+    // Fuzzy search via pg_trgm (V12): trigram similarity or substring match on username, email and full name,
+    // each backed by its own GIN trigram index. Callers pass the keyword lower-cased and :pattern as %keyword%.
+    String FULL_NAME = "LOWER(COALESCE(u.first_name, '') || ' ' || COALESCE(u.last_name, ''))";
+    String TRIGRAM_MATCH = "LOWER(u.username) % :keyword OR LOWER(u.email) % :keyword OR " + FULL_NAME + " % :keyword";
+    String PATTERN_MATCH = "LOWER(u.username) LIKE :pattern OR LOWER(u.email) LIKE :pattern OR " + FULL_NAME + " LIKE :pattern";
+    String EXACT_MATCH_FIRST = "CASE WHEN LOWER(u.username) = :keyword OR LOWER(u.email) = :keyword THEN 1 ELSE 0 END";
+
+    // Best field similarity first, exact username or email matches above everything else
+    @Query(value = "SELECT u.user_id FROM users u WHERE (" + TRIGRAM_MATCH + " OR " + PATTERN_MATCH + ")" +
+                   " ORDER BY " + EXACT_MATCH_FIRST +
+                   " + GREATEST(similarity(LOWER(u.username), :keyword), similarity(LOWER(u.email), :keyword), " +
+                   "similarity(" + FULL_NAME + ", :keyword)) DESC, u.created_at DESC, u.user_id DESC",
+           countQuery = "SELECT COUNT(*) FROM users u WHERE (" + TRIGRAM_MATCH + " OR " + PATTERN_MATCH + ")",
+           nativeQuery = true)
+    Page<UUID> searchIds(@Param("keyword") String keyword, @Param("pattern") String pattern, Pageable pageable);
+
+    // Substring matches only, for databases without pg_trgm: exact username or email matches first, then newest
+    @Query(value = "SELECT u.user_id FROM users u WHERE (" + PATTERN_MATCH + ")" +
+                   " ORDER BY " + EXACT_MATCH_FIRST + " DESC, u.created_at DESC, u.user_id DESC",
+           countQuery = "SELECT COUNT(*) FROM users u WHERE (" + PATTERN_MATCH + ")",
+           nativeQuery = true)
+    Page<UUID> searchIdsByPattern(@Param("keyword") String keyword, @Param("pattern") String pattern, Pageable pageable);
+
+    // Keyset (cursor) pagination for moderation tools, newest first over (createdAt, userId).
+    // Null filters mean "any". Callers pass PageRequest.of(0, size + 1) to detect a next page.
+    String MODERATION_FILTERS = "(:userType IS NULL OR u.userType = :userType) AND (:role IS NULL OR u.role = :role) " +
+            "AND (:active IS NULL OR u.isActive = :active) AND (:banned IS NULL OR u.isBanned = :banned)";
+    String KEYSET_AFTER = "u.createdAt <= :createdAt AND (u.createdAt < :createdAt OR u.userId < :userId)";
+
+    @Query("SELECT u FROM User u WHERE " + MODERATION_FILTERS + " AND " + KEYSET_AFTER +
+           " ORDER BY u.createdAt DESC, u.userId DESC")
+    List<User> findForModerationAfter(@Param("userType") User.UserType userType,
+                                      @Param("role") User.Role role,
+                                      @Param("active") Boolean active,
+                                      @Param("banned") Boolean banned,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("userId") UUID userId,
+                                      Pageable pageable);
+
+    // Admin dashboard: one row per (userType, role, isActive, isBanned, isVerified) combination with its user count
+    @Query("SELECT u.userType, u.role, u.isActive, u.isBanned, u.isVerified, COUNT(u) FROM User u " +
+           "GROUP BY u.userType, u.role, u.isActive, u.isBanned, u.isVerified")
+    List<Object[]> countByAccountState();
+
+    // Token revocation
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.userId = :userId")
+    Optional<Integer> findTokenVersionById(@Param("userId") UUID userId);
+
+    @Query("SELECT u.userId, u.tokenVersion FROM User u WHERE u.updatedAt > :since")
+    List<Object[]> findTokenVersionsUpdatedAfter(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1, u.updatedAt = CURRENT_TIMESTAMP WHERE u.userId = :userId")
+    int incrementTokenVersion(@Param("userId") UUID userId);
 } 
@@ -0,0 +1,149 @@
+package org.greenloop.circularfashion.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by a SHA-256 digest
+ * of the bearer token, so that repeat requests with the same JWT do not hit the users table.
+ * Entries are also indexed by token subject so account changes can evict them.
+ */
+@Component
+@Slf4j
+public class AuthenticatedPrincipalCache {
+
+    @Value("${app.security.principal-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${app.security.principal-cache.max-size:10000}")
+    private int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> digestsBySubject = new ConcurrentHashMap<>();
+
+    private record Entry(String subject, UserDetails principal, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    public String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public UserDetails get(String digest) {
+        Entry entry = entries.get(digest);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            remove(digest, entry);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    /**
+     * Cache a principal until the configured TTL or the token expiry, whichever comes first.
+     */
+    public void put(String digest, String subject, UserDetails principal, long tokenExpiresAt) {
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(now + ttlMs, tokenExpiresAt);
+        if (expiresAt <= now) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evictExpired();
+            if (entries.size() >= maxSize) {
+                evictAny();
+            }
+        }
+
+        entries.put(digest, new Entry(subject, principal, expiresAt));
+        digestsBySubject.computeIfAbsent(subject, key -> ConcurrentHashMap.newKeySet()).add(digest);
+    }
+
+    /**
+     * Drop every cached principal issued for the given subject (email or username).
+     */
+    public void evictSubject(String subject) {
+        if (subject == null) {
+            return;
+        }
+        Set<String> digests = digestsBySubject.remove(subject);
+        if (digests != null) {
+            digests.forEach(entries::remove);
+            log.debug("Evicted {} cached principal(s) for {}", digests.size(), subject);
+        }
+    }
+
+    /**
+     * Evict now and again once the surrounding transaction commits, so a request racing
+     * the update cannot re-cache the pre-commit state of the user.
+     */
+    public void evictSubjectsAfterCommit(String... subjects) {
+        TransactionCallbacks.nowAndAfterCommit(() -> {
+            for (String subject : subjects) {
+                evictSubject(subject);
+            }
+        });
+    }
+
+    public void evictAll() {
+        entries.clear();
+        digestsBySubject.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.principal-cache.sweep-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.forEach((digest, entry) -> {
+            if (entry.isExpired(now)) {
+                remove(digest, entry);
+            }
+        });
+    }
+
+    private void evictAny() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        if (iterator.hasNext()) {
+            Map.Entry<String, Entry> victim = iterator.next();
+            remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private void remove(String digest, Entry entry) {
+        entries.remove(digest, entry);
+        Set<String> digests = digestsBySubject.get(entry.subject());
+        if (digests != null) {
+            digests.remove(digest);
+            if (digests.isEmpty()) {
+                digestsBySubject.remove(entry.subject(), digests);
+            }
+        }
+    }
+}
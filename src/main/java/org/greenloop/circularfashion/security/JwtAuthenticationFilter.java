@@ -1,5 +1,8 @@
 package org.greenloop.circularfashion.security;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,18 +28,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
+
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
+            UserDetails userDetails = claims != null ? resolvePrincipal(jwt, claims) : null;
 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication = 
+            if (userDetails != null) {
+                UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
@@ -49,6 +61,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Tokens with user claims are authenticated from the claims plus the token version check.
+     * Older subject-only tokens fall back to the cached user lookup.
+     * Returns null for revoked tokens.
+     */
+    private UserDetails resolvePrincipal(String jwt, Claims claims) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String source;
+        UserDetails userDetails;
+
+        if (tokenProvider.hasUserClaims(claims)) {
+            boolean current = tokenVersionRegistry.isCurrent(
+                    tokenProvider.getUserId(claims), tokenProvider.getTokenVersion(claims));
+            userDetails = current ? tokenProvider.toPrincipal(claims) : null;
+            source = current ? "claims" : "revoked";
+        } else {
+            String digest = principalCache.digest(jwt);
+            userDetails = principalCache.get(digest);
+            source = "cache";
+            if (userDetails == null) {
+                String username = claims.getSubject();
+                userDetails = userDetailsService.loadUserByUsername(username);
+                long tokenExpiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+                principalCache.put(digest, username, userDetails, tokenExpiresAt);
+                source = "database";
+            }
+        }
+
+        sample.stop(meterRegistry.timer("auth.jwt.resolve", "source", source));
+        return userDetails;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -56,4 +100,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-}
\ No newline at end of file
+}
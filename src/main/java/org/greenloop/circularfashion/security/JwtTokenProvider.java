@@ -2,6 +2,8 @@ package org.greenloop.circularfashion.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.greenloop.circularfashion.entity.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,25 +11,62 @@ import org.springframework.stereotype.Component;
 
 import java.security.Key;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USER_TYPE = "utype";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
     @Value("${app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${app.jwtExpirationInMs}")
     private int jwtExpirationInMs;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Built once: the secret never changes at runtime
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        if (userPrincipal instanceof User user) {
+            return generateToken(user);
+        }
         return generateTokenFromUsername(userPrincipal.getUsername());
     }
 
+    /**
+     * Self-contained token: carries everything the filter needs to authenticate
+     * the request without loading the user.
+     */
+    public String generateToken(User user) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
+
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getUserId().toString())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_USER_TYPE, user.getUserType().name())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion() != null ? user.getTokenVersion() : 0)
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
+                .compact();
+    }
+
     public String generateTokenFromUsername(String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
@@ -36,28 +75,55 @@ public class JwtTokenProvider {
                 .setSubject(username)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return jwtParser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    /**
+     * Whether the token was issued with the self-contained claims (older tokens only carry the subject).
+     */
+    public boolean hasUserClaims(Claims claims) {
+        return claims.get(CLAIM_USER_ID) != null
+                && claims.get(CLAIM_ROLE) != null
+                && claims.get(CLAIM_USER_TYPE) != null
+                && claims.get(CLAIM_TOKEN_VERSION) != null;
+    }
+
+    public UUID getUserId(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        return userId != null ? UUID.fromString(userId) : null;
+    }
+
+    public int getTokenVersion(Claims claims) {
+        Number version = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        return version != null ? version.intValue() : 0;
+    }
+
+    public JwtUserPrincipal toPrincipal(Claims claims) {
+        return new JwtUserPrincipal(
+                getUserId(claims),
+                claims.getSubject(),
+                User.Role.valueOf(claims.get(CLAIM_ROLE, String.class)),
+                User.UserType.valueOf(claims.get(CLAIM_USER_TYPE, String.class)));
+    }
+
+    /**
+     * Verify the signature and expiry and return the claims in a single parse.
+     * Returns null when the token is invalid.
+     */
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
 }
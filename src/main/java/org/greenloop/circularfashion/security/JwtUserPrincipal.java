@@ -0,0 +1,60 @@
+package org.greenloop.circularfashion.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.greenloop.circularfashion.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal built straight from JWT claims. Account state (ban, deactivation, password
+ * change) is enforced through the token version, so no User entity is needed per request.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtUserPrincipal implements UserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final UUID userId;
+    private final String username;
+    private final User.Role role;
+    private final User.UserType userType;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(
+                new SimpleGrantedAuthority("ROLE_" + role.name()),
+                new SimpleGrantedAuthority("USER_TYPE_" + userType.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
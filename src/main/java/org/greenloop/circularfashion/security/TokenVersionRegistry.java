@@ -0,0 +1,124 @@
+package org.greenloop.circularfashion.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.repository.UserRepository;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory map of userId -> current token version, used to reject revoked JWTs
+ * without loading the User entity. Unknown users are resolved with a single scalar
+ * query; changes made on other nodes are picked up by a periodic poll on users.updated_at.
+ * When full, a tenth of the entries is dropped to be reloaded on demand; revoked users are kept.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionRegistry {
+
+    // Marks users that no longer exist, so their tokens are rejected without a lookup
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+
+    @Value("${app.security.token-version.max-size:100000}")
+    private int maxSize;
+
+    @Value("${app.security.token-version.sync-overlap-ms:5000}")
+    private long syncOverlapMs;
+
+    private final Map<UUID, Integer> versions = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    public boolean isCurrent(UUID userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        if (current == null) {
+            current = load(userId);
+        }
+        return tokenVersion >= current;
+    }
+
+    /**
+     * Record a new version for a user once the surrounding transaction commits
+     * (immediately when there is none).
+     */
+    public void publishAfterCommit(UUID userId, int newVersion) {
+        TransactionCallbacks.afterCommit(() -> publish(userId, newVersion));
+    }
+
+    public void publishDeletedAfterCommit(UUID userId) {
+        publishAfterCommit(userId, REVOKED);
+    }
+
+    /**
+     * Pull versions changed by other nodes since the last sync.
+     * Only users already known locally are refreshed; the rest load on demand.
+     */
+    @Scheduled(fixedDelayString = "${app.security.token-version.sync-ms:10000}")
+    public void syncChangedVersions() {
+        if (versions.isEmpty()) {
+            lastSync = LocalDateTime.now();
+            return;
+        }
+        LocalDateTime since = lastSync.minusNanos(syncOverlapMs * 1_000_000);
+        lastSync = LocalDateTime.now();
+
+        List<Object[]> changed = userRepository.findTokenVersionsUpdatedAfter(since);
+        for (Object[] row : changed) {
+            UUID userId = (UUID) row[0];
+            Integer version = (Integer) row[1];
+            if (version != null) {
+                versions.computeIfPresent(userId, (id, current) -> Math.max(current, version));
+            }
+        }
+        log.debug("Token version sync checked {} changed user(s)", changed.size());
+    }
+
+    private int load(UUID userId) {
+        if (versions.size() >= maxSize) {
+            evictLoaded();
+        }
+        long generation = evictions.get();
+        int version = userRepository.findTokenVersionById(userId).orElse(REVOKED);
+        if (generation == evictions.get()) {
+            return versions.merge(userId, version, Math::max);
+        }
+        // The read overlapped an eviction, which may have dropped a version published after it;
+        // answer from it without caching, the next lookup reads again
+        Integer current = versions.get(userId);
+        return current != null ? Math.max(current, version) : version;
+    }
+
+    // Drops a tenth of the entries at a time. Revoked users stay, so their tokens keep failing
+    // without a lookup; any other version is still in the users table and reloads on demand.
+    private synchronized void evictLoaded() {
+        if (versions.size() < maxSize) {
+            return;
+        }
+        evictions.incrementAndGet();
+        int remaining = Math.max(1, maxSize / 10);
+        Iterator<Map.Entry<UUID, Integer>> iterator = versions.entrySet().iterator();
+        while (remaining > 0 && iterator.hasNext()) {
+            if (iterator.next().getValue() != REVOKED) {
+                iterator.remove();
+                remaining--;
+            }
+        }
+    }
+
+    private void publish(UUID userId, int newVersion) {
+        versions.merge(userId, newVersion, Math::max);
+    }
+}
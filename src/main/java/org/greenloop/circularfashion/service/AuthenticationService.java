@@ -26,6 +26,8 @@ public interface AuthenticationService {
     // Add these missing methods
     String changePassword(String token, String currentPassword, String newPassword);
     
+    String logout(String token);
+    
     String resendVerificationEmail(String email);
     
     String forgotPassword(String email);
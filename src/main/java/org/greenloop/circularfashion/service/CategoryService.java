@@ -35,6 +35,7 @@ public interface CategoryService {
     // Tree structure
     List<CategoryResponse> getCategoryTree();
     CategoryResponse getCategoryWithSubCategories(UUID id);
+    String getCategoryTreeETag(); // Changes whenever the tree, root or subcategory listings would
     
     // Search
     Page<CategoryResponse> searchCategories(String keyword, Pageable pageable);
@@ -0,0 +1,19 @@
+package org.greenloop.circularfashion.service;
+
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
+import org.greenloop.circularfashion.entity.response.FollowUserResponse;
+
+import java.util.UUID;
+
+public interface FollowService {
+
+    // Idempotent: false when the follow already existed / did not exist
+    boolean follow(UUID followerId, UUID followedId);
+    boolean unfollow(UUID followerId, UUID followedId);
+
+    boolean isFollowing(UUID followerId, UUID followedId);
+
+    // Keyset (cursor) pagination, newest follow first: "after" is the nextCursor of the previous page
+    CursorPageResponse<FollowUserResponse> getFollowers(UUID userId, String after, int size);
+    CursorPageResponse<FollowUserResponse> getFollowing(UUID userId, String after, int size);
+}
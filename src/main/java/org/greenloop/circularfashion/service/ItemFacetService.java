@@ -0,0 +1,30 @@
+package org.greenloop.circularfashion.service;
+
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.response.FacetSearchResponse;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public interface ItemFacetService {
+    
+    // Facet names
+    String CATEGORY = "category";
+    String BRAND = "brand";
+    String SIZE = "size";
+    String COLOR = "color";
+    String CONDITION = "condition";
+    
+    // Search: values within a facet are OR-ed, facets are AND-ed
+    FacetSearchResponse search(Map<String, Set<String>> filters, int page, int pageSize);
+    
+    // Incremental maintenance, applied once the surrounding transaction commits
+    void indexAfterCommit(Item item);
+    void removeAfterCommit(UUID itemId);
+    void refreshAfterCommit(Collection<UUID> itemIds); // Re-reads the items, for set-wise updates
+    
+    // Full rebuild from the items table
+    void rebuild();
+}
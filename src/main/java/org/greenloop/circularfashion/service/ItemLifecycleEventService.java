@@ -0,0 +1,31 @@
+package org.greenloop.circularfashion.service;
+
+import org.greenloop.circularfashion.entity.request.ItemLifecycleEventRequest;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
+import org.greenloop.circularfashion.entity.response.ItemLifecycleEventResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ItemLifecycleEventService {
+
+    // Event types written by the item services
+    String CREATED = "CREATED";
+    String STATUS_CHANGED = "STATUS_CHANGED";
+    String TRANSFERRED = "TRANSFERRED";
+    String VERIFIED = "VERIFIED";
+    String EVALUATED = "EVALUATED";
+
+    // Buffered append once the surrounding transaction commits (dropped on rollback)
+    void recordAfterCommit(ItemLifecycleEventRequest event);
+    void recordAllAfterCommit(List<ItemLifecycleEventRequest> events);
+
+    // External writers (scanners, traceability clients): validated, then buffered
+    int appendEvents(List<ItemLifecycleEventRequest> events);
+
+    // Keyset-paged timeline of one item, newest first
+    CursorPageResponse<ItemLifecycleEventResponse> getTimeline(UUID itemId, String after, int size);
+
+    // Write out everything buffered so far
+    void flush();
+}
@@ -4,6 +4,10 @@ import org.greenloop.circularfashion.entity.Item;
 import org.greenloop.circularfashion.entity.User;
 import org.greenloop.circularfashion.entity.request.ItemCreateRequest;
 import org.greenloop.circularfashion.entity.request.ItemUpdateRequest;
+import org.greenloop.circularfashion.entity.response.BulkItemReport;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
+import org.greenloop.circularfashion.entity.response.ItemCodeSnapshot;
+import org.greenloop.circularfashion.entity.response.ItemMediaAckResponse;
 import org.greenloop.circularfashion.entity.response.ItemResponse;
 import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
 import org.springframework.data.domain.Page;
@@ -12,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ItemService {
     
@@ -25,6 +30,9 @@ public interface ItemService {
     Item getEntityById(UUID id);
     Item getEntityByItemCode(String itemCode);
     
+    // Scanner lookup by QR / item code, served from a near-cache
+    ItemCodeSnapshot getItemSnapshotByCode(String itemCode);
+    
     // Pagination and listing
     Page<ItemSummaryResponse> getAllItems(Pageable pageable);
     Page<ItemSummaryResponse> getItemsByOwner(UUID ownerId, Pageable pageable);
@@ -32,8 +40,23 @@ public interface ItemService {
     Page<ItemSummaryResponse> getItemsByCategory(UUID categoryId, Pageable pageable);
     Page<ItemSummaryResponse> getItemsByBrand(UUID brandId, Pageable pageable);
     
+    // Keyset (cursor) pagination: "after" is the nextCursor of the previous page, null for the first page
+    CursorPageResponse<ItemSummaryResponse> getAllItems(String after, int size);
+    CursorPageResponse<ItemSummaryResponse> getItemsByOwner(UUID ownerId, String after, int size);
+    CursorPageResponse<ItemSummaryResponse> getItemsByStatus(Item.ItemStatus status, String after, int size);
+    CursorPageResponse<ItemSummaryResponse> getItemsByCategory(UUID categoryId, String after, int size);
+    CursorPageResponse<ItemSummaryResponse> searchItems(String keyword, String after, int size);
+    CursorPageResponse<ItemSummaryResponse> findItemsWithFilters(
+            UUID categoryId,
+            List<Item.ItemStatus> statuses,
+            BigDecimal minCondition,
+            String after,
+            int size
+    );
+    
     // Search and filtering
     Page<ItemSummaryResponse> searchItems(String keyword, Pageable pageable);
+    Page<ItemSummaryResponse> searchItemsFullText(String keyword, Pageable pageable);
     Page<ItemSummaryResponse> findItemsWithFilters(
             UUID categoryId,
             List<Item.ItemStatus> statuses,
@@ -46,19 +69,27 @@ public interface ItemService {
     ItemResponse verifyItem(UUID itemId, UUID verifierId);
     List<Item> getItemsAwaitingVerification();
     List<Item> getMarketplaceReadyItems();
+
+    // Streaming exports of the same sets: mapped rows are handed to the sink in keyset batches
+    long exportItemsAwaitingVerification(Consumer<ItemResponse> sink);
+    long exportMarketplaceReadyItems(Consumer<ItemResponse> sink);
     
     // Ownership management
     ItemResponse transferOwnership(UUID itemId, UUID newOwnerId, UUID currentUserId);
     
     // Condition and valuation
     ItemResponse updateCondition(UUID itemId, BigDecimal conditionScore, String description);
-    ItemResponse updateValuation(UUID itemId, BigDecimal estimatedValue);
+    ItemResponse updateValuation(UUID itemId, BigDecimal estimatedValue, UUID valuerId);
     
     // Media management
     ItemResponse addImage(UUID itemId, String imageUrl);
     ItemResponse removeImage(UUID itemId, String imageUrl);
     ItemResponse addVideo(UUID itemId, String videoUrl);
     ItemResponse removeVideo(UUID itemId, String videoUrl);
+
+    // In-place media / tag edits without loading the item; field-level acknowledgement only
+    ItemMediaAckResponse addMedia(UUID itemId, ItemMediaAckResponse.Field field, List<String> values);
+    ItemMediaAckResponse removeMedia(UUID itemId, ItemMediaAckResponse.Field field, String value);
     
     // Tags management
     ItemResponse addTag(UUID itemId, String tag);
@@ -70,6 +101,8 @@ public interface ItemService {
     BigDecimal getAverageConditionScore();
     
     // Bulk operations
-    List<ItemResponse> createBulkItems(List<ItemCreateRequest> requests, UUID currentUserId);
-    void deleteBulkItems(List<UUID> itemIds);
+    BulkItemReport createBulkItems(List<ItemCreateRequest> requests, UUID currentUserId);
+    BulkItemReport deleteBulkItems(List<UUID> itemIds, List<String> itemCodes);
+    BulkItemReport updateBulkItemStatus(List<UUID> itemIds, List<String> itemCodes,
+                                        Item.ItemStatus newStatus, String reason, UUID userId);
 } 
\ No newline at end of file
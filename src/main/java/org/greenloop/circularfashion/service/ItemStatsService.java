@@ -0,0 +1,39 @@
+package org.greenloop.circularfashion.service;
+
+import org.greenloop.circularfashion.entity.Item;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ItemStatsService {
+
+    // What one item, or a group of items sharing status/owner/category, adds to the counters
+    record Contribution(Item.ItemStatus status, UUID ownerId, UUID categoryId, long count, BigDecimal conditionSum) {
+
+        public static Contribution of(Item item) {
+            return new Contribution(item.getItemStatus(),
+                    item.getCurrentOwner() != null ? item.getCurrentOwner().getUserId() : null,
+                    item.getCategory() != null ? item.getCategory().getCategoryId() : null,
+                    1,
+                    item.getConditionScore() != null ? item.getConditionScore() : BigDecimal.ZERO);
+        }
+    }
+
+    // Counter changes are collected per transaction and written just before it commits
+    void added(Contribution contribution);
+    void removed(Contribution contribution);
+    void changed(Contribution before, Contribution after);
+
+    long countAll();
+    long countByStatus(Item.ItemStatus status);
+    long countByOwner(UUID ownerId);
+    long countByCategory(UUID categoryId);
+    long countInCategorySubtree(UUID categoryId); // The category and all of its subcategories
+    Map<Item.ItemStatus, Long> countsByStatusInCategory(UUID categoryId);
+    Map<Item.ItemStatus, Long> countsByStatus();
+    BigDecimal getAverageConditionScore();
+
+    // Recomputes every counter from the items table
+    void reconcile();
+}
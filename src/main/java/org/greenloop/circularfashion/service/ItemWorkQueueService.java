@@ -0,0 +1,26 @@
+package org.greenloop.circularfashion.service;
+
+import org.greenloop.circularfashion.entity.ItemWorkLease;
+import org.greenloop.circularfashion.entity.response.ItemWorkBatchResponse;
+import org.greenloop.circularfashion.entity.response.ItemWorkQueueStatsResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ItemWorkQueueService {
+
+    // Leases up to size unleased items to one staff member, highest priority first
+    ItemWorkBatchResponse claim(ItemWorkLease.Queue queue, UUID staffId, int size);
+
+    // Extends every live lease the staff member holds on the queue
+    int renew(ItemWorkLease.Queue queue, UUID staffId);
+
+    // Hands leased items back to the queue (all of them when itemIds is empty)
+    int release(ItemWorkLease.Queue queue, UUID staffId, List<UUID> itemIds);
+
+    // Called by the item write that finishes the work: rejected while another staff member
+    // holds a live lease on the item, otherwise the lease (if any) is dropped
+    void complete(UUID itemId, ItemWorkLease.Queue queue, UUID staffId);
+
+    ItemWorkQueueStatsResponse getStats(ItemWorkLease.Queue queue);
+}
@@ -0,0 +1,46 @@
+package org.greenloop.circularfashion.service;
+
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.SustainabilityRollup;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.entity.response.SustainabilityImpactResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+public interface SustainabilityRollupService {
+
+    // Statuses at which an item's impact counts as realized
+    Set<Item.ItemStatus> IMPACT_STATUSES = Set.of(Item.ItemStatus.COLLECTED, Item.ItemStatus.SOLD, Item.ItemStatus.RECYCLED);
+
+    // Impact of one item, or of a group of items sharing user and category, reaching an impact status.
+    // Credited to the donor (original owner) on collection, otherwise to the current owner.
+    record Impact(Item.ItemStatus event, UUID userId, UUID categoryId, long count,
+                  BigDecimal carbonFootprintKg, BigDecimal waterSavedLiters, BigDecimal energySavedKwh) {
+
+        public static Impact of(Item item, Item.ItemStatus event) {
+            User owner = event == Item.ItemStatus.COLLECTED ? item.getOriginalOwner() : item.getCurrentOwner();
+            return new Impact(event,
+                    owner != null ? owner.getUserId() : null,
+                    item.getCategory() != null ? item.getCategory().getCategoryId() : null,
+                    1,
+                    item.getCarbonFootprintKg(),
+                    item.getWaterSavedLiters(),
+                    item.getEnergySavedKwh());
+        }
+    }
+
+    // Adds to today's rollups just before the surrounding transaction commits; ignored unless the
+    // event is an impact status
+    void credit(Impact impact);
+
+    SustainabilityImpactResponse getImpact(SustainabilityRollup.Scope scope, UUID scopeId,
+                                           SustainabilityRollup.Period period, LocalDate from, LocalDate to,
+                                           Item.ItemStatus impactEvent);
+
+    // Rebuilds the rollups of every month touching [from, to] from the item status history
+    // (item_lifecycle, which every status change writes); returns the number of months rebuilt
+    int backfill(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,24 @@
+package org.greenloop.circularfashion.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface UserCounterService {
+
+    record Counts(long followers, long following, long items, long listings, long orders) {
+        public static final Counts NONE = new Counts(0, 0, 0, 0, 0);
+    }
+
+    // Counter changes are collected per transaction and written just before it commits
+    void followAdded(UUID followerId, UUID followedId);
+    void followRemoved(UUID followerId, UUID followedId);
+    void listingAdded(UUID sellerId);
+    void listingRemoved(UUID sellerId);
+
+    Counts get(UUID userId);
+    Map<UUID, Counts> getAll(Collection<UUID> userIds); // Users without activity map to Counts.NONE
+
+    // Recomputes every counter from user_follows, marketplace_listings and orders
+    void reconcile();
+}
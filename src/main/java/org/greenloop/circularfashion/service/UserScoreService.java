@@ -0,0 +1,19 @@
+package org.greenloop.circularfashion.service;
+
+import org.greenloop.circularfashion.entity.response.ScoreRecomputeReport;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface UserScoreService {
+
+    record Scores(BigDecimal trustScore, BigDecimal sustainabilityScore) {
+    }
+
+    // Scores of one user from its reviews, completed sales, points and sustainability rollups
+    Scores score(UUID userId);
+
+    // Recomputes and stores the scores of every user. With resume, a run that did not complete
+    // continues after its checkpoint instead of starting over.
+    ScoreRecomputeReport recomputeAll(boolean resume);
+}
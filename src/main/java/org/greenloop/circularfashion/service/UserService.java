@@ -2,6 +2,7 @@ package org.greenloop.circularfashion.service;
 
 import org.greenloop.circularfashion.entity.User;
 import org.greenloop.circularfashion.entity.request.UserUpdateRequest;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
 import org.greenloop.circularfashion.entity.response.UserDetailResponse;
 import org.greenloop.circularfashion.entity.response.UserManagementResponse;
 import org.springframework.data.domain.Page;
@@ -46,6 +47,12 @@ public interface UserService {
     
     Page<UserDetailResponse> getBannedUsers(Pageable pageable);
     
+    // Keyset (cursor) pagination for moderation tools, newest first. Null filters mean "any";
+    // "after" is the nextCursor of the previous page, null for the first page
+    CursorPageResponse<UserDetailResponse> getUsersForModeration(User.UserType userType, User.Role role,
+                                                                 Boolean active, Boolean banned,
+                                                                 String after, int size);
+    
     UserManagementResponse getUserManagementSummary(Pageable pageable);
     
     // User statistics
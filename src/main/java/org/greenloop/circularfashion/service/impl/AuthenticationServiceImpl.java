@@ -1,12 +1,15 @@
 package org.greenloop.circularfashion.service.impl;
 
+import io.jsonwebtoken.Claims;
 import org.greenloop.circularfashion.entity.User;
 import org.greenloop.circularfashion.entity.request.LoginRequest;
 import org.greenloop.circularfashion.entity.request.RegisterRequest;
 import org.greenloop.circularfashion.entity.response.LoginResponse;
 import org.greenloop.circularfashion.entity.response.UserResponse;
 import org.greenloop.circularfashion.repository.UserRepository;
+import org.greenloop.circularfashion.security.AuthenticatedPrincipalCache;
 import org.greenloop.circularfashion.security.JwtTokenProvider;
+import org.greenloop.circularfashion.security.TokenVersionRegistry;
 import org.greenloop.circularfashion.service.AuthenticationService;
 import org.greenloop.circularfashion.service.EmailService;
 import org.greenloop.circularfashion.service.VerificationTokenService;
@@ -43,6 +46,12 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Autowired
     private VerificationTokenService verificationTokenService;
 
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
     @Override
     public LoginResponse login(LoginRequest loginRequest) {
         try {
@@ -77,7 +86,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             userRepository.save(user);
 
         // Generate JWT token
-            String token = jwtTokenProvider.generateToken(authentication);
+            String token = jwtTokenProvider.generateToken(user);
 
             // Create response
         return LoginResponse.builder()
@@ -181,13 +190,20 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             // Extract token from "Bearer <token>"
             String actualToken = token.startsWith("Bearer ") ? token.substring(7) : token;
             
-            if (jwtTokenProvider.validateToken(actualToken)) {
-                String username = jwtTokenProvider.getUsernameFromToken(actualToken);
+            Claims claims = jwtTokenProvider.parseClaims(actualToken);
+            if (claims != null) {
+                String username = claims.getSubject();
                 User user = userRepository.findByEmailOrUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
+                // A revoked token must not be able to mint a fresh one
+                if (jwtTokenProvider.hasUserClaims(claims)
+                        && jwtTokenProvider.getTokenVersion(claims) < user.getTokenVersion()) {
+                    throw new RuntimeException("Token has been revoked");
+                }
+
                 // Generate new token
-                String newToken = jwtTokenProvider.generateTokenFromUsername(username);
+                String newToken = jwtTokenProvider.generateToken(user);
 
                 return LoginResponse.builder()
                     .accessToken(newToken) // Changed from 'token' to 'accessToken'
@@ -297,6 +313,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             }
 
             User updatedUser = userRepository.save(user);
+            principalCache.evictSubjectsAfterCommit(username, updatedUser.getEmail(), updatedUser.getUsername());
 
             return UserResponse.builder()
                 .userId(updatedUser.getUserId().toString())
@@ -341,7 +358,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
             // Update password
             user.setPasswordHash(passwordEncoder.encode(newPassword));
+            int tokenVersion = user.revokeTokens();
             userRepository.save(user);
+            tokenVersionRegistry.publishAfterCommit(user.getUserId(), tokenVersion);
+            principalCache.evictSubjectsAfterCommit(user.getEmail(), user.getUsername());
 
             return "Password changed successfully";
         } catch (Exception e) {
@@ -349,6 +369,37 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         }
     }
 
+    @Override
+    @Transactional
+    public String logout(String token) {
+        try {
+            String actualToken = token.startsWith("Bearer ") ? token.substring(7) : token;
+            Claims claims = jwtTokenProvider.parseClaims(actualToken);
+            if (claims == null) {
+                throw new RuntimeException("Invalid token");
+            }
+
+            // Revokes every token of the user, not just this one
+            if (jwtTokenProvider.hasUserClaims(claims)) {
+                UUID userId = jwtTokenProvider.getUserId(claims);
+                userRepository.incrementTokenVersion(userId);
+                userRepository.findTokenVersionById(userId)
+                    .ifPresent(version -> tokenVersionRegistry.publishAfterCommit(userId, version));
+            } else {
+                User user = userRepository.findByEmailOrUsername(claims.getSubject())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+                int tokenVersion = user.revokeTokens();
+                userRepository.save(user);
+                tokenVersionRegistry.publishAfterCommit(user.getUserId(), tokenVersion);
+            }
+            principalCache.evictSubjectsAfterCommit(claims.getSubject());
+
+            return "Logged out successfully";
+        } catch (Exception e) {
+            throw new RuntimeException("Logout failed: " + e.getMessage());
+        }
+    }
+
     @Override
     public String resendVerificationEmail(String email) {
         try {
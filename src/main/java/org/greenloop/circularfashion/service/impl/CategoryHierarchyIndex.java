@@ -0,0 +1,90 @@
+package org.greenloop.circularfashion.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.repository.CategoryClosureRepository;
+import org.greenloop.circularfashion.repository.CategoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Keeps category_closure in step with categories.parent_category_id. Called inside the category
+ * write's transaction, so the hierarchy index commits or rolls back with it. Writes that change the
+ * shape of the tree take a table lock first: two concurrent moves could otherwise each pass the cycle
+ * check and together create a loop. Reads never wait on it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryHierarchyIndex {
+
+    private final CategoryClosureRepository closureRepository;
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public void added(UUID categoryId, UUID parentId) {
+        lockForWrite();
+        closureRepository.insertSelfLink(categoryId);
+        if (parentId != null) {
+            closureRepository.linkSubtree(categoryId, parentId);
+        }
+    }
+
+    // Moves the category and everything under it below newParentId (or to the root when null)
+    public void moved(UUID categoryId, UUID newParentId) {
+        lockForWrite();
+        if (newParentId != null && closureRepository.isInSubtree(categoryId, newParentId)) {
+            throw new IllegalArgumentException("Category " + newParentId + " is the category itself or one of its " +
+                    "subcategories and cannot become its parent");
+        }
+        closureRepository.unlinkSubtree(categoryId);
+        if (newParentId != null) {
+            closureRepository.linkSubtree(categoryId, newParentId);
+        }
+    }
+
+    // Only for categories without subcategories
+    public void removed(UUID categoryId) {
+        lockForWrite();
+        closureRepository.deleteLinks(categoryId);
+    }
+
+    public boolean isInSubtree(UUID ancestorId, UUID categoryId) {
+        return closureRepository.isInSubtree(ancestorId, categoryId);
+    }
+
+    public long countInactiveAncestors(UUID categoryId) {
+        return closureRepository.countInactiveAncestors(categoryId);
+    }
+
+    // Categories written before the closure table existed (or by hand) have no self link
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        long linked = closureRepository.countSelfLinks();
+        long categories = categoryRepository.count();
+        if (linked != categories) {
+            log.info("Category closure covers {} of {} categories, rebuilding", linked, categories);
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        Integer links = new TransactionTemplate(transactionManager).execute(status -> {
+            lockForWrite();
+            closureRepository.deleteAllLinks();
+            return closureRepository.rebuildLinks();
+        });
+        log.info("Category closure rebuilt with {} links", links);
+    }
+
+    private void lockForWrite() {
+        jdbcTemplate.execute("LOCK TABLE category_closure IN SHARE ROW EXCLUSIVE MODE");
+    }
+}
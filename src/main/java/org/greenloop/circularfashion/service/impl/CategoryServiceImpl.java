@@ -11,13 +11,16 @@ import org.greenloop.circularfashion.mapper.CategoryMapper;
 import org.greenloop.circularfashion.repository.CategoryRepository;
 import org.greenloop.circularfashion.repository.ItemRepository;
 import org.greenloop.circularfashion.service.CategoryService;
+import org.greenloop.circularfashion.service.ItemStatsService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -28,6 +31,9 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final ItemRepository itemRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryTreeCache categoryTreeCache;
+    private final CategoryHierarchyIndex categoryHierarchyIndex;
+    private final ItemStatsService itemStatsService;
 
     @Override
     public CategoryResponse createCategory(CategoryCreateRequest request) {
@@ -46,6 +52,9 @@ public class CategoryServiceImpl implements CategoryService {
         
         Category category = categoryMapper.toEntity(request, parentCategory);
         Category savedCategory = categoryRepository.save(category);
+        categoryHierarchyIndex.added(savedCategory.getCategoryId(),
+                parentCategory != null ? parentCategory.getCategoryId() : null);
+        categoryTreeCache.refreshAfterCommit();
         
         log.info("Category created successfully with id: {}", savedCategory.getCategoryId());
         return categoryMapper.toResponse(savedCategory);
@@ -55,18 +64,22 @@ public class CategoryServiceImpl implements CategoryService {
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(UUID id) {
         log.debug("Fetching category by id: {}", id);
-        Category category = getEntityById(id);
-        Long itemCount = (long) itemRepository.findByCategoryId(id).size();
-        return categoryMapper.toResponse(category, false, itemCount);
+        CategoryTree tree = treeContaining(id);
+        return withItemCounts(categoryMapper.toResponse(tree, node(tree, id), 0, false, null));
     }
 
     @Override
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryBySlug(String slug) {
         log.debug("Fetching category by slug: {}", slug);
-        Category category = getEntityBySlug(slug);
-        Long itemCount = (long) itemRepository.findByCategoryId(category.getCategoryId()).size();
-        return categoryMapper.toResponse(category, false, itemCount);
+        CategoryTree tree = categoryTreeCache.get();
+        if (tree.getBySlug(slug).isEmpty()) {
+            getEntityBySlug(slug);
+            tree = categoryTreeCache.reload();
+        }
+        CategoryTree.Node node = tree.getBySlug(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "slug", slug));
+        return withItemCounts(categoryMapper.toResponse(tree, node, 0, false, null));
     }
 
     @Override
@@ -87,14 +100,18 @@ public class CategoryServiceImpl implements CategoryService {
         if (request.getParentCategoryId() != null) {
             parentCategory = getEntityById(request.getParentCategoryId());
             
-            // Prevent circular references
-            if (parentCategory.getCategoryId().equals(id)) {
-                throw new IllegalArgumentException("Category cannot be its own parent");
+            // Reparenting moves the whole subtree; rejects moves below itself (circular references)
+            UUID currentParentId = category.getParentCategory() != null
+                    ? category.getParentCategory().getCategoryId()
+                    : null;
+            if (!parentCategory.getCategoryId().equals(currentParentId)) {
+                categoryHierarchyIndex.moved(id, parentCategory.getCategoryId());
             }
         }
         
         categoryMapper.updateEntity(category, request, parentCategory);
         Category updatedCategory = categoryRepository.save(category);
+        categoryTreeCache.refreshAfterCommit();
         
         log.info("Category updated successfully: {}", id);
         return categoryMapper.toResponse(updatedCategory);
@@ -104,21 +121,12 @@ public class CategoryServiceImpl implements CategoryService {
     public void deleteCategory(UUID id) {
         log.info("Soft deleting category: {}", id);
         
-        Category category = getEntityById(id);
+        getEntityById(id);
         
-        // Soft delete: Set isActive to false
-        category.setIsActive(false);
-        
-        // Also soft delete all subcategories recursively
-        if (category.hasSubCategories()) {
-            category.getSubCategories().forEach(subCategory -> {
-                subCategory.setIsActive(false);
-                categoryRepository.save(subCategory);
-            });
-        }
-        
-        categoryRepository.save(category);
-        log.info("Category soft deleted successfully (set to inactive): {}", id);
+        // Soft delete: set isActive to false on the category and its whole subtree in one statement
+        int deactivated = categoryRepository.updateSubtreeActive(id, false);
+        categoryTreeCache.refreshAfterCommit();
+        log.info("Category soft deleted successfully (set to inactive): {} ({} categories)", id, deactivated);
     }
 
     @Override
@@ -127,10 +135,9 @@ public class CategoryServiceImpl implements CategoryService {
         
         Category category = getEntityById(id);
         
-        // Check if category has items
-        List<?> items = itemRepository.findByCategoryId(id);
-        if (!items.isEmpty()) {
-            throw new IllegalStateException("Cannot permanently delete category with " + items.size() + " items. Please reassign or delete items first.");
+        // Check if category has items (exact check: the delete cascades to the category's items)
+        if (itemRepository.existsByCategoryCategoryId(id)) {
+            throw new IllegalStateException("Cannot permanently delete category with " + itemStatsService.countByCategory(id) + " items. Please reassign or delete items first.");
         }
         
         // Check if category has subcategories
@@ -138,7 +145,9 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalStateException("Cannot permanently delete category with subcategories. Please delete subcategories first.");
         }
         
+        categoryHierarchyIndex.removed(id);
         categoryRepository.delete(category);
+        categoryTreeCache.refreshAfterCommit();
         log.info("Category permanently deleted: {}", id);
     }
 
@@ -146,14 +155,17 @@ public class CategoryServiceImpl implements CategoryService {
     public CategoryResponse restoreCategory(UUID id) {
         log.info("Restoring soft-deleted category: {}", id);
         
-        Category category = categoryRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "id", id));
+        getEntityById(id);
+        if (categoryHierarchyIndex.countInactiveAncestors(id) > 0) {
+            throw new IllegalStateException("Cannot restore a category under an inactive parent. Please restore the parent category first.");
+        }
         
-        category.setIsActive(true);
-        Category restoredCategory = categoryRepository.save(category);
+        // Restores the category and its whole subtree in one statement
+        int restored = categoryRepository.updateSubtreeActive(id, true);
+        categoryTreeCache.refreshAfterCommit();
         
-        log.info("Category restored successfully: {}", id);
-        return categoryMapper.toResponse(restoredCategory);
+        log.info("Category restored successfully: {} ({} categories)", id, restored);
+        return categoryMapper.toResponse(getEntityById(id));
     }
 
     @Override
@@ -195,37 +207,50 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CategoryResponse> getRootCategories() {
         log.debug("Fetching root categories");
-        List<Category> categories = categoryRepository.findByParentCategoryIsNullAndIsActiveTrue();
-        return categoryMapper.toResponseList(categories);
+        CategoryTree tree = categoryTreeCache.get();
+        return tree.roots().stream()
+                .filter(CategoryTree.Node::active)
+                .map(node -> categoryMapper.toResponse(tree, node, 0, true, null))
+                .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CategoryResponse> getSubCategories(UUID parentCategoryId) {
         log.debug("Fetching subcategories for parent: {}", parentCategoryId);
-        Category parentCategory = getEntityById(parentCategoryId);
-        List<Category> subCategories = categoryRepository.findByParentCategoryAndIsActiveTrue(parentCategory);
-        return categoryMapper.toResponseList(subCategories);
+        CategoryTree tree = treeContaining(parentCategoryId);
+        return tree.children(node(tree, parentCategoryId)).stream()
+                .filter(CategoryTree.Node::active)
+                .map(node -> categoryMapper.toResponse(tree, node, 0, true, null))
+                .collect(Collectors.toList());
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<CategoryResponse> getCategoryTree() {
         log.debug("Fetching category tree");
-        List<Category> rootCategories = categoryRepository.findByParentCategoryIsNullAndIsActiveTrue();
-        return categoryMapper.toResponseList(rootCategories, true);
+        CategoryTree tree = categoryTreeCache.get();
+        return tree.roots().stream()
+                .filter(CategoryTree.Node::active)
+                .map(node -> categoryMapper.toResponse(tree, node, Integer.MAX_VALUE, true, null))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getCategoryTreeETag() {
+        return categoryTreeCache.get().getETag();
     }
 
     @Override
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryWithSubCategories(UUID id) {
         log.debug("Fetching category with subcategories: {}", id);
-        Category category = getEntityById(id);
-        Long itemCount = (long) itemRepository.findByCategoryId(id).size();
-        return categoryMapper.toResponse(category, true, itemCount);
+        CategoryTree tree = treeContaining(id);
+        return withItemCounts(categoryMapper.toResponse(tree, node(tree, id), 1, false, null));
     }
 
     @Override
@@ -247,5 +272,28 @@ public class CategoryServiceImpl implements CategoryService {
     public Long countRootCategories() {
         return categoryRepository.countByParentCategoryIsNull();
     }
-}
 
+    // A category missing from the snapshot either does not exist or was committed by another
+    // instance since the last refresh; only the latter is worth a reload
+    private CategoryTree treeContaining(UUID categoryId) {
+        CategoryTree tree = categoryTreeCache.get();
+        if (tree.get(categoryId).isEmpty()) {
+            getEntityById(categoryId);
+            tree = categoryTreeCache.reload();
+        }
+        return tree;
+    }
+
+    // Counts come from the maintained item counters, never from loading the category's items
+    private CategoryResponse withItemCounts(CategoryResponse response) {
+        UUID categoryId = response.getCategoryId();
+        response.setTotalItems(itemStatsService.countByCategory(categoryId));
+        response.setSubtreeItems(itemStatsService.countInCategorySubtree(categoryId));
+        response.setItemsByStatus(itemStatsService.countsByStatusInCategory(categoryId));
+        return response;
+    }
+
+    private CategoryTree.Node node(CategoryTree tree, UUID categoryId) {
+        return tree.get(categoryId).orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+    }
+}
@@ -0,0 +1,154 @@
+package org.greenloop.circularfashion.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the whole category hierarchy, built from one flat query. Every node carries
+ * its materialized path and level, so nothing walks lazy parent links at read time. The ETag is a
+ * hash of the content, identical on every instance that loaded the same categories.
+ */
+public final class CategoryTree {
+
+    private static final String PATH_SEPARATOR = " > ";
+
+    // Paths deeper than this are treated as a broken (cyclic) hierarchy and cut off
+    private static final int MAX_DEPTH = 64;
+
+    private static final Comparator<Row> DISPLAY_ORDER = Comparator
+            .comparing((Row row) -> row.displayOrder() != null ? row.displayOrder() : 0)
+            .thenComparing(Row::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Row::categoryId);
+
+    public record Node(UUID categoryId, UUID parentCategoryId, String name, String slug, String description,
+                       Integer displayOrder, boolean active, LocalDateTime createdAt, LocalDateTime updatedAt,
+                       String fullPath, int level, List<UUID> childIds) {
+    }
+
+    // One categories row: (categoryId, parentCategoryId, name, slug, description, displayOrder,
+    // isActive, createdAt, updatedAt)
+    public record Row(UUID categoryId, UUID parentCategoryId, String name, String slug, String description,
+                      Integer displayOrder, Boolean isActive, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+    private final Map<UUID, Node> nodes;
+    private final Map<String, UUID> idsBySlug;
+    private final List<UUID> rootIds;
+    private final String eTag;
+    private final LocalDateTime builtAt;
+
+    private CategoryTree(Map<UUID, Node> nodes, Map<String, UUID> idsBySlug, List<UUID> rootIds, String eTag) {
+        this.nodes = Map.copyOf(nodes);
+        this.idsBySlug = Map.copyOf(idsBySlug);
+        this.rootIds = List.copyOf(rootIds);
+        this.eTag = eTag;
+        this.builtAt = LocalDateTime.now();
+    }
+
+    public static CategoryTree build(List<Row> rows) {
+        Map<UUID, Row> rowsById = new HashMap<>();
+        Map<UUID, List<Row>> childRows = new HashMap<>();
+        for (Row row : rows) {
+            rowsById.put(row.categoryId(), row);
+        }
+        for (Row row : rows) {
+            if (row.parentCategoryId() != null && rowsById.containsKey(row.parentCategoryId())) {
+                childRows.computeIfAbsent(row.parentCategoryId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<UUID, Node> nodes = new HashMap<>();
+        Map<String, UUID> idsBySlug = new HashMap<>();
+        for (Row row : rows) {
+            Node node = toNode(row, rowsById, childRows.getOrDefault(row.categoryId(), List.of()));
+            nodes.put(node.categoryId(), node);
+            if (node.slug() != null) {
+                idsBySlug.put(node.slug(), node.categoryId());
+            }
+        }
+        List<UUID> rootIds = rows.stream()
+                .filter(row -> nodes.get(row.categoryId()).level() == 0)
+                .sorted(DISPLAY_ORDER)
+                .map(Row::categoryId)
+                .toList();
+
+        return new CategoryTree(nodes, idsBySlug, rootIds, hash(rows));
+    }
+
+    public Optional<Node> get(UUID categoryId) {
+        return Optional.ofNullable(nodes.get(categoryId));
+    }
+
+    public Optional<Node> getBySlug(String slug) {
+        UUID categoryId = idsBySlug.get(slug);
+        return categoryId != null ? get(categoryId) : Optional.empty();
+    }
+
+    public List<Node> roots() {
+        return rootIds.stream().map(nodes::get).toList();
+    }
+
+    public List<Node> children(Node node) {
+        return node.childIds().stream().map(nodes::get).toList();
+    }
+
+    public Optional<Node> parent(Node node) {
+        return node.parentCategoryId() != null ? get(node.parentCategoryId()) : Optional.empty();
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    private static Node toNode(Row row, Map<UUID, Row> rowsById, List<Row> children) {
+        // Walk up to the root through the already loaded rows
+        List<String> names = new ArrayList<>();
+        names.add(row.name());
+        Row current = row;
+        while (current.parentCategoryId() != null && rowsById.containsKey(current.parentCategoryId())
+                && names.size() <= MAX_DEPTH) {
+            current = rowsById.get(current.parentCategoryId());
+            names.add(0, current.name());
+        }
+        List<UUID> childIds = children.stream()
+                .sorted(DISPLAY_ORDER)
+                .map(Row::categoryId)
+                .toList();
+
+        return new Node(row.categoryId(), row.parentCategoryId(), row.name(), row.slug(), row.description(),
+                row.displayOrder(), !Boolean.FALSE.equals(row.isActive()), row.createdAt(), row.updatedAt(),
+                String.join(PATH_SEPARATOR, names), names.size() - 1, childIds);
+    }
+
+    private static String hash(List<Row> rows) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            rows.stream()
+                    .sorted(Comparator.comparing(Row::categoryId))
+                    .forEach(row -> digest.update((row.categoryId() + "|" + row.parentCategoryId() + "|" + row.name() +
+                            "|" + row.slug() + "|" + row.description() + "|" + row.displayOrder() + "|" + row.isActive() +
+                            "|" + row.updatedAt() + "\n").getBytes(StandardCharsets.UTF_8)));
+            return "\"categories-" + HexFormat.of().formatHex(digest.digest(), 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.repository.CategoryRepository;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link CategoryTree}. Readers get the published snapshot without touching the
+ * database; category writes rebuild it after they commit and publish the new one with a single
+ * reference swap, so a reader always sees one complete tree. A periodic refresh picks up changes
+ * committed by other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CategoryTreeCache {
+
+    private final CategoryRepository categoryRepository;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile CategoryTree tree;
+    private final AtomicLong loads = new AtomicLong();
+    private long publishedLoad;
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge("categories.tree.size", this, cache -> {
+            CategoryTree current = cache.tree;
+            return current != null ? current.size() : 0;
+        });
+    }
+
+    public CategoryTree get() {
+        CategoryTree current = tree;
+        return current != null ? current : reload();
+    }
+
+    public void refreshAfterCommit() {
+        TransactionCallbacks.afterCommit(this::refresh);
+    }
+
+    @Scheduled(fixedDelayString = "${app.categories.tree.refresh-ms:300000}",
+               initialDelayString = "${app.categories.tree.refresh-ms:300000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            // Readers reload on their next request rather than keep serving a tree known to be stale
+            tree = null;
+            log.warn("Category tree rebuild failed, snapshot dropped: {}", e.getMessage());
+        }
+    }
+
+    // Loads in the caller's transaction when there is one (a reader's read-only transaction, or the
+    // committed write's during refreshAfterCommit), so a reload never holds one pooled connection while
+    // waiting for a second. Loads run concurrently; only the publish is serialized, and a load that
+    // started before the published one is discarded so the newest load always wins.
+    public CategoryTree reload() {
+        long start = System.nanoTime();
+        long load = loads.incrementAndGet();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        List<CategoryTree.Row> rows = transaction.execute(status -> categoryRepository.findTreeRows().stream()
+                .map(row -> new CategoryTree.Row((UUID) row[0], (UUID) row[1], (String) row[2], (String) row[3],
+                        (String) row[4], (Integer) row[5], (Boolean) row[6], (LocalDateTime) row[7],
+                        (LocalDateTime) row[8]))
+                .toList());
+
+        CategoryTree rebuilt = CategoryTree.build(rows);
+        CategoryTree previous;
+        synchronized (this) {
+            if (load < publishedLoad && tree != null) {
+                return tree;
+            }
+            previous = tree;
+            tree = rebuilt;
+            publishedLoad = load;
+        }
+        meterRegistry.timer("categories.tree.rebuild").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (previous == null || !previous.getETag().equals(rebuilt.getETag())) {
+            log.debug("Category tree rebuilt: {} categories, etag {}", rebuilt.size(), rebuilt.getETag());
+        }
+        return rebuilt;
+    }
+}
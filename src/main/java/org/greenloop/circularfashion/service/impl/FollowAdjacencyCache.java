@@ -0,0 +1,152 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.repository.UserActivityCounterRepository;
+import org.greenloop.circularfashion.repository.UserFollowRepository;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follower sets of the most followed accounts, so "does A follow B" for a popular B is a hash
+ * lookup instead of a query. Other accounts are not held and callers fall back to the edge index.
+ * Follows and unfollows committed on this instance are applied after commit; a periodic refresh
+ * reloads the sets to pick up changes committed by other instances and to follow popularity.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FollowAdjacencyCache {
+
+    private final UserFollowRepository followRepository;
+    private final UserActivityCounterRepository counterRepository;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.users.follows.cache.min-followers:1000}")
+    private long minFollowers;
+
+    @Value("${app.users.follows.cache.max-accounts:200}")
+    private int maxAccounts;
+
+    private final Map<UUID, Set<UUID>> followersByAccount = new ConcurrentHashMap<>();
+
+    // Edge changes seen while an account is loading, replayed in order over the loaded set
+    private final Map<UUID, List<Edge>> pendingByAccount = new ConcurrentHashMap<>();
+
+    private record Edge(UUID followerId, boolean following) {
+    }
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gaugeMapSize("users.follows.cache.accounts", List.of(), followersByAccount);
+    }
+
+    // Empty when the followed account is not cached
+    public Optional<Boolean> follows(UUID followerId, UUID followedId) {
+        Set<UUID> followers = followersByAccount.get(followedId);
+        return followers != null ? Optional.of(followers.contains(followerId)) : Optional.empty();
+    }
+
+    public void followedAfterCommit(UUID followerId, UUID followedId) {
+        TransactionCallbacks.afterCommit(() -> apply(followedId, new Edge(followerId, true)));
+    }
+
+    public void unfollowedAfterCommit(UUID followerId, UUID followedId) {
+        TransactionCallbacks.afterCommit(() -> apply(followedId, new Edge(followerId, false)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.follows.cache.refresh-ms:300000}",
+               initialDelayString = "${app.users.follows.cache.refresh-initial-delay-ms:60000}")
+    public void refresh() {
+        if (maxAccounts <= 0) {
+            followersByAccount.clear();
+            return;
+        }
+        long start = System.nanoTime();
+        List<UUID> accounts = readOnly().execute(status ->
+                counterRepository.findMostFollowed(minFollowers, PageRequest.of(0, maxAccounts)));
+        Set<UUID> hot = new HashSet<>(accounts);
+        followersByAccount.keySet().retainAll(hot);
+        long edges = 0;
+        for (UUID accountId : hot) {
+            try {
+                edges += load(accountId);
+            } catch (RuntimeException e) {
+                followersByAccount.remove(accountId);
+                log.warn("Follower set of {} could not be loaded: {}", accountId, e.getMessage());
+            }
+        }
+        meterRegistry.timer("users.follows.cache.refresh").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Follow adjacency cache refreshed: {} accounts, {} edges", hot.size(), edges);
+    }
+
+    private int load(UUID accountId) {
+        synchronized (this) {
+            pendingByAccount.put(accountId, new ArrayList<>());
+        }
+        List<UUID> followerIds;
+        try {
+            followerIds = readOnly().execute(status -> followRepository.findFollowerIds(accountId));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingByAccount.remove(accountId);
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            Set<UUID> followers = ConcurrentHashMap.newKeySet(followerIds.size());
+            followers.addAll(followerIds);
+            for (Edge edge : pendingByAccount.remove(accountId)) {
+                applyTo(followers, edge);
+            }
+            followersByAccount.put(accountId, followers);
+            return followers.size();
+        }
+    }
+
+    private synchronized void apply(UUID followedId, Edge edge) {
+        List<Edge> pending = pendingByAccount.get(followedId);
+        if (pending != null) {
+            pending.add(edge);
+        }
+        Set<UUID> followers = followersByAccount.get(followedId);
+        if (followers != null) {
+            applyTo(followers, edge);
+        }
+    }
+
+    private static void applyTo(Set<UUID> followers, Edge edge) {
+        if (edge.following()) {
+            followers.add(edge.followerId());
+        } else {
+            followers.remove(edge.followerId());
+        }
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+}
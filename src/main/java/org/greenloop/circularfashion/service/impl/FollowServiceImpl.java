@@ -0,0 +1,131 @@
+package org.greenloop.circularfashion.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
+import org.greenloop.circularfashion.entity.response.FollowUserResponse;
+import org.greenloop.circularfashion.exception.ResourceNotFoundException;
+import org.greenloop.circularfashion.repository.UserFollowRepository;
+import org.greenloop.circularfashion.repository.UserRepository;
+import org.greenloop.circularfashion.service.FollowService;
+import org.greenloop.circularfashion.service.UserCounterService;
+import org.greenloop.circularfashion.util.KeysetCursor;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Follow graph kept as single user_follows edges: follow is an insert that ignores an existing
+ * edge, unfollow a direct delete, and lists are keyset-paged over the follow time. Neither ever
+ * loads a user's follow collections.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class FollowServiceImpl implements FollowService {
+
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 20;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private final UserFollowRepository followRepository;
+    private final UserRepository userRepository;
+    private final UserCounterService userCounterService;
+    private final FollowAdjacencyCache adjacencyCache;
+
+    @Override
+    @Transactional
+    public boolean follow(UUID followerId, UUID followedId) {
+        if (followerId.equals(followedId)) {
+            throw new IllegalArgumentException("Cannot follow yourself");
+        }
+        requireUser(followerId, "Follower");
+        requireUser(followedId, "User");
+
+        if (followRepository.insertIfAbsent(TimeOrderedIds.uuid(), followerId, followedId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        userCounterService.followAdded(followerId, followedId);
+        adjacencyCache.followedAfterCommit(followerId, followedId);
+        log.info("User {} followed user {}", followerId, followedId);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public boolean unfollow(UUID followerId, UUID followedId) {
+        requireUser(followerId, "Follower");
+
+        if (followRepository.deleteEdge(followerId, followedId) == 0) {
+            return false;
+        }
+        userCounterService.followRemoved(followerId, followedId);
+        adjacencyCache.unfollowedAfterCommit(followerId, followedId);
+        log.info("User {} unfollowed user {}", followerId, followedId);
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isFollowing(UUID followerId, UUID followedId) {
+        return adjacencyCache.follows(followerId, followedId)
+                .orElseGet(() -> followRepository.existsEdge(followerId, followedId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FollowUserResponse> getFollowers(UUID userId, String after, int size) {
+        requireUser(userId, "User");
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = clampPageSize(size);
+        return toCursorPage(followRepository.findFollowersAfter(
+                userId, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FollowUserResponse> getFollowing(UUID userId, String after, int size) {
+        requireUser(userId, "User");
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = clampPageSize(size);
+        return toCursorPage(followRepository.findFollowingAfter(
+                userId, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    private void requireUser(UUID userId, String role) {
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException(role + " not found with id: " + userId);
+        }
+    }
+
+    private int clampPageSize(int size) {
+        if (size < 1) {
+            return DEFAULT_CURSOR_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_CURSOR_PAGE_SIZE);
+    }
+
+    // Built from a size + 1 fetch: the extra row only signals that another page exists
+    private CursorPageResponse<FollowUserResponse> toCursorPage(List<FollowUserResponse> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<FollowUserResponse> page = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            FollowUserResponse last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor<>(last.getFollowedAt(), last.getFollowId()).encode();
+        }
+
+        return CursorPageResponse.<FollowUserResponse>builder()
+                .content(page)
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+}
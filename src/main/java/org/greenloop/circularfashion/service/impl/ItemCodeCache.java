@@ -0,0 +1,205 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.greenloop.circularfashion.entity.response.ItemCodeSnapshot;
+import org.greenloop.circularfashion.repository.ItemRepository;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded (least recently used out), TTL-evicting near-cache of itemCode -> {@link ItemCodeSnapshot}
+ * for scanner lookups.
+ * Unknown codes are cached briefly as well, concurrent misses on one code share a single query,
+ * and item writes evict by item id (now and again after commit). A load that overlaps an
+ * eviction is returned but not cached, so a racing read cannot re-cache pre-commit state.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemCodeCache {
+
+    private final ItemRepository itemRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.items.code-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${app.items.code-cache.missing-ttl-ms:10000}")
+    private long missingTtlMs;
+
+    @Value("${app.items.code-cache.max-size:50000}")
+    private int maxSize;
+
+    // Access-ordered, so the eldest entry is the least recently used and goes first when full.
+    // Both maps are guarded by lock: a hit reorders the entries, so reads take it as well.
+    private final Object lock = new Object();
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() <= maxSize) {
+                return false;
+            }
+            unindex(eldest.getKey(), eldest.getValue());
+            return true;
+        }
+    };
+    private final Map<UUID, String> codesByItemId = new HashMap<>();
+    private final Map<String, CompletableFuture<Optional<ItemCodeSnapshot>>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private Counter hits;
+    private Counter misses;
+    private Timer cacheTimer;
+    private Timer databaseTimer;
+
+    // snapshot is null for a code that does not exist
+    private record Entry(ItemCodeSnapshot snapshot, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        hits = meterRegistry.counter("items.code_cache.requests", "result", "hit");
+        misses = meterRegistry.counter("items.code_cache.requests", "result", "miss");
+        cacheTimer = meterRegistry.timer("items.code_lookup", "source", "cache");
+        databaseTimer = meterRegistry.timer("items.code_lookup", "source", "database");
+        meterRegistry.gauge("items.code_cache.size", List.of(), this, ItemCodeCache::size);
+    }
+
+    public Optional<ItemCodeSnapshot> get(String itemCode) {
+        long start = System.nanoTime();
+        Entry entry;
+        synchronized (lock) {
+            entry = entries.get(itemCode);
+        }
+        if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+            hits.increment();
+            cacheTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.ofNullable(entry.snapshot());
+        }
+
+        misses.increment();
+        return databaseTimer.record(() -> load(itemCode));
+    }
+
+    public void evict(UUID itemId) {
+        evictions.incrementAndGet();
+        synchronized (lock) {
+            String itemCode = codesByItemId.remove(itemId);
+            if (itemCode != null) {
+                entries.remove(itemCode);
+            }
+        }
+    }
+
+    // Drops a cached "not found", e.g. once an item with this code is created
+    public void evictCode(String itemCode) {
+        evictions.incrementAndGet();
+        synchronized (lock) {
+            Entry entry = entries.remove(itemCode);
+            if (entry != null) {
+                unindex(itemCode, entry);
+            }
+        }
+    }
+
+    public void evictAfterCommit(UUID itemId) {
+        evictAllAfterCommit(List.of(itemId));
+    }
+
+    public void evictAllAfterCommit(Collection<UUID> itemIds) {
+        List<UUID> ids = List.copyOf(itemIds);
+        TransactionCallbacks.nowAndAfterCommit(() -> ids.forEach(this::evict));
+    }
+
+    public void evictCodeAfterCommit(String itemCode) {
+        TransactionCallbacks.nowAndAfterCommit(() -> evictCode(itemCode));
+    }
+
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    // Frees memory held by expired entries of a cache that is not full; a full one drops its
+    // least recently used entry on every put instead
+    @Scheduled(fixedDelayString = "${app.items.code-cache.sweep-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, Entry> entry = iterator.next();
+                if (entry.getValue().isExpired(now)) {
+                    unindex(entry.getKey(), entry.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    // Concurrent misses on the same code wait for one query instead of each taking a connection
+    private Optional<ItemCodeSnapshot> load(String itemCode) {
+        CompletableFuture<Optional<ItemCodeSnapshot>> pending = new CompletableFuture<>();
+        CompletableFuture<Optional<ItemCodeSnapshot>> existing = loading.putIfAbsent(itemCode, pending);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            long generation = evictions.get();
+            Optional<ItemCodeSnapshot> snapshot = itemRepository.findSnapshotByItemCode(itemCode);
+            if (generation == evictions.get()) {
+                put(itemCode, snapshot.orElse(null));
+            }
+            pending.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(itemCode, pending);
+        }
+    }
+
+    private void put(String itemCode, ItemCodeSnapshot snapshot) {
+        long expiresAt = System.currentTimeMillis() + (snapshot != null ? ttlMs : missingTtlMs);
+        synchronized (lock) {
+            Entry replaced = entries.put(itemCode, new Entry(snapshot, expiresAt));
+            if (replaced != null) {
+                unindex(itemCode, replaced);
+            }
+            if (snapshot != null) {
+                codesByItemId.put(snapshot.getItemId(), itemCode);
+            }
+        }
+    }
+
+    // Call with lock held, when the entry leaves the cache
+    private void unindex(String itemCode, Entry entry) {
+        if (entry.snapshot() != null) {
+            codesByItemId.remove(entry.snapshot().getItemId(), itemCode);
+        }
+    }
+}
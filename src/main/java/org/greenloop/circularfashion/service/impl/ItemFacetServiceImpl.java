@@ -0,0 +1,411 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.response.FacetSearchResponse;
+import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
+import org.greenloop.circularfashion.repository.ItemRepository;
+import org.greenloop.circularfashion.service.ItemFacetService;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory faceted index over marketplace items (LISTED / READY_FOR_SALE).
+ * Every indexed item gets a dense ordinal; each facet value keeps a bitmap of ordinals,
+ * so filters and facet counts are bitmap intersections instead of GROUP BY queries.
+ * Result pages are newest first, like the item listings.
+ * Built on first use, kept current from item writes and periodically rebuilt to heal drift.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ItemFacetServiceImpl implements ItemFacetService {
+
+    static final Set<Item.ItemStatus> INDEXED_STATUSES = EnumSet.of(Item.ItemStatus.LISTED, Item.ItemStatus.READY_FOR_SALE);
+
+    private static final List<String> FACETS = List.of(CATEGORY, BRAND, SIZE, COLOR, CONDITION);
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ItemRepository itemRepository;
+    private final MeterRegistry meterRegistry;
+
+    private volatile FacetIndex index;
+
+    // Updates committed while a rebuild is streaming, replayed onto the new index before the swap
+    private final List<Consumer<FacetIndex>> pendingUpdates = new ArrayList<>();
+    private boolean rebuilding;
+    private final Object rebuildLock = new Object();
+
+    @Override
+    public FacetSearchResponse search(Map<String, Set<String>> filters, int page, int pageSize) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int limit = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+        int offset = (int) Math.min((long) Math.max(page, 0) * limit, Integer.MAX_VALUE);
+
+        FacetIndex.Result result = currentIndex().query(sanitize(filters), offset, limit);
+        sample.stop(meterRegistry.timer("items.facets.search"));
+
+        return FacetSearchResponse.builder()
+                .totalMatches(result.total())
+                .items(findSummariesInOrder(result.itemIds()))
+                .facets(result.counts())
+                .build();
+    }
+
+    @Override
+    public void indexAfterCommit(Item item) {
+        UUID itemId = item.getItemId();
+        if (!INDEXED_STATUSES.contains(item.getItemStatus())) {
+            removeAfterCommit(itemId);
+            return;
+        }
+        // Capture the values now; the entity may change before the transaction commits
+        LocalDateTime createdAt = item.getCreatedAt();
+        String[] values = facetValues(
+                item.getCategory() != null ? item.getCategory().getCategoryId() : null,
+                item.getBrand() != null ? item.getBrand().getBrandId() : null,
+                item.getSize(), item.getColor(), item.getConditionScore());
+        afterCommit(index -> index.put(itemId, createdAt, values));
+    }
+
+    @Override
+    public void removeAfterCommit(UUID itemId) {
+        afterCommit(index -> index.remove(itemId));
+    }
+
+    @Override
+    public void refreshAfterCommit(Collection<UUID> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = new ArrayList<>(itemIds);
+        TransactionCallbacks.afterCommit(() -> {
+            if (index == null) {
+                return; // Not built yet, the first build reads current data
+            }
+            Map<UUID, Object[]> rows = itemRepository.findFacetRowsByIds(ids).stream()
+                    .collect(Collectors.toMap(row -> (UUID) row[0], row -> row));
+            for (UUID itemId : ids) {
+                Object[] row = rows.get(itemId);
+                if (row != null && INDEXED_STATUSES.contains((Item.ItemStatus) row[7])) {
+                    LocalDateTime createdAt = (LocalDateTime) row[6];
+                    String[] values = facetValues((UUID) row[1], (UUID) row[2], (String) row[3], (String) row[4], (BigDecimal) row[5]);
+                    apply(index -> index.put(itemId, createdAt, values));
+                } else {
+                    apply(index -> index.remove(itemId));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (pendingUpdates) {
+                rebuilding = true;
+                pendingUpdates.clear();
+            }
+
+            long start = System.currentTimeMillis();
+            FacetIndex fresh = new FacetIndex();
+            try (Stream<Object[]> rows = itemRepository.streamFacetRows(INDEXED_STATUSES)) {
+                rows.forEach(row -> fresh.put((UUID) row[0], (LocalDateTime) row[6], facetValues(
+                        (UUID) row[1], (UUID) row[2], (String) row[3], (String) row[4], (BigDecimal) row[5])));
+            } catch (RuntimeException e) {
+                synchronized (pendingUpdates) {
+                    rebuilding = false;
+                    pendingUpdates.clear();
+                }
+                throw e;
+            }
+
+            synchronized (pendingUpdates) {
+                pendingUpdates.forEach(update -> update.accept(fresh));
+                pendingUpdates.clear();
+                rebuilding = false;
+                index = fresh;
+            }
+            log.info("Item facet index rebuilt with {} items in {} ms", fresh.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.items.facets.rebuild-ms:3600000}",
+               initialDelayString = "${app.items.facets.rebuild-ms:3600000}")
+    public void refresh() {
+        // Only refresh an index that is in use
+        if (index != null) {
+            rebuild();
+        }
+    }
+
+    private FacetIndex currentIndex() {
+        FacetIndex current = index;
+        if (current == null) {
+            synchronized (rebuildLock) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private void afterCommit(Consumer<FacetIndex> update) {
+        TransactionCallbacks.afterCommit(() -> apply(update));
+    }
+
+    private void apply(Consumer<FacetIndex> update) {
+        synchronized (pendingUpdates) {
+            FacetIndex current = index;
+            if (current != null) {
+                update.accept(current);
+            }
+            if (rebuilding) {
+                pendingUpdates.add(update);
+            }
+        }
+    }
+
+    private String[] facetValues(UUID categoryId, UUID brandId, String size, String color, BigDecimal conditionScore) {
+        return new String[] {
+                categoryId != null ? categoryId.toString() : null,
+                brandId != null ? brandId.toString() : null,
+                size,
+                color,
+                Item.conditionTextOf(conditionScore)
+        };
+    }
+
+    private Map<String, Set<String>> sanitize(Map<String, Set<String>> filters) {
+        Map<String, Set<String>> sanitized = new HashMap<>();
+        if (filters != null) {
+            filters.forEach((facet, values) -> {
+                if (!FACETS.contains(facet)) {
+                    throw new IllegalArgumentException("Unknown facet: " + facet);
+                }
+                if (values != null && !values.isEmpty()) {
+                    sanitized.put(facet, values);
+                }
+            });
+        }
+        return sanitized;
+    }
+
+    private List<ItemSummaryResponse> findSummariesInOrder(List<UUID> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, ItemSummaryResponse> byId = itemRepository.findSummariesByIds(itemIds).stream()
+                .collect(Collectors.toMap(ItemSummaryResponse::getItemId, summary -> summary));
+        return itemIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Bitmaps over dense item ordinals. Ordinals of removed items are recycled
+     * so the bitmaps stay as small as the live item count. Ordinals therefore say nothing about
+     * order: pages are cut from the matches sorted by (createdAt, itemId) descending, the order of
+     * the SQL listings, so offsets stay stable across updates and rebuilds.
+     */
+    static class FacetIndex {
+
+        record Result(long total, List<UUID> itemIds, Map<String, Map<String, Long>> counts) {
+        }
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final List<UUID> itemIds = new ArrayList<>();
+        // Creation time in epoch microseconds (the precision of the column), Long.MIN_VALUE when unknown
+        private long[] createdAtByOrdinal = new long[1024];
+        private final List<String[]> valuesByOrdinal = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final BitSet live = new BitSet();
+        private final Map<String, Map<String, BitSet>> bitmaps = new HashMap<>();
+
+        FacetIndex() {
+            FACETS.forEach(facet -> bitmaps.put(facet, new HashMap<>()));
+        }
+
+        void put(UUID itemId, LocalDateTime createdAt, String[] values) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.get(itemId);
+                if (ordinal != null) {
+                    clearValues(ordinal);
+                } else {
+                    ordinal = freeOrdinals.isEmpty() ? itemIds.size() : freeOrdinals.pop();
+                    ordinals.put(itemId, ordinal);
+                    if (ordinal == itemIds.size()) {
+                        itemIds.add(itemId);
+                        valuesByOrdinal.add(values);
+                        if (ordinal == createdAtByOrdinal.length) {
+                            createdAtByOrdinal = Arrays.copyOf(createdAtByOrdinal, ordinal * 2);
+                        }
+                    } else {
+                        itemIds.set(ordinal, itemId);
+                    }
+                }
+                createdAtByOrdinal[ordinal] = createdAt != null
+                        ? createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + createdAt.getNano() / 1_000
+                        : Long.MIN_VALUE;
+                valuesByOrdinal.set(ordinal, values);
+                for (int f = 0; f < FACETS.size(); f++) {
+                    if (values[f] != null) {
+                        bitmaps.get(FACETS.get(f)).computeIfAbsent(values[f], value -> new BitSet()).set(ordinal);
+                    }
+                }
+                live.set(ordinal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(UUID itemId) {
+            lock.writeLock().lock();
+            try {
+                Integer ordinal = ordinals.remove(itemId);
+                if (ordinal != null) {
+                    clearValues(ordinal);
+                    live.clear(ordinal);
+                    itemIds.set(ordinal, null);
+                    valuesByOrdinal.set(ordinal, null);
+                    freeOrdinals.push(ordinal);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return ordinals.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Result query(Map<String, Set<String>> filters, int offset, int limit) {
+            lock.readLock().lock();
+            try {
+                BitSet matches = match(filters, null);
+                List<UUID> page = page(matches, offset, limit);
+
+                // Counts for a facet ignore that facet's own filter, so the UI can offer alternatives
+                Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+                for (String facet : FACETS) {
+                    BitSet base = filters.containsKey(facet) ? match(filters, facet) : matches;
+                    Map<String, Long> valueCounts = new TreeMap<>();
+                    bitmaps.get(facet).forEach((value, bitmap) -> {
+                        BitSet intersection = (BitSet) bitmap.clone();
+                        intersection.and(base);
+                        int count = intersection.cardinality();
+                        if (count > 0) {
+                            valueCounts.put(value, (long) count);
+                        }
+                    });
+                    counts.put(facet, valueCounts);
+                }
+
+                return new Result(matches.cardinality(), page, counts);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Keeps the newest offset + limit matches in a heap whose head is the oldest of them
+        private List<UUID> page(BitSet matches, int offset, int limit) {
+            if (offset >= matches.cardinality()) {
+                return new ArrayList<>();
+            }
+            int wanted = (int) Math.min((long) offset + limit, matches.cardinality());
+            Comparator<Integer> newestFirst = this::compareNewestFirst;
+            PriorityQueue<Integer> newest = new PriorityQueue<>(wanted, newestFirst.reversed());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                if (newest.size() < wanted) {
+                    newest.add(ordinal);
+                } else if (compareNewestFirst(ordinal, newest.peek()) < 0) {
+                    newest.poll();
+                    newest.add(ordinal);
+                }
+            }
+
+            List<Integer> sorted = new ArrayList<>(newest);
+            sorted.sort(newestFirst);
+            List<UUID> page = new ArrayList<>(sorted.size() - offset);
+            for (int i = offset; i < sorted.size(); i++) {
+                page.add(itemIds.get(sorted.get(i)));
+            }
+            return page;
+        }
+
+        // createdAt DESC, itemId DESC; ids compare unsigned like Postgres uuids, items without a date last
+        private int compareNewestFirst(int left, int right) {
+            int order = Long.compare(createdAtByOrdinal[right], createdAtByOrdinal[left]);
+            if (order != 0) {
+                return order;
+            }
+            UUID leftId = itemIds.get(left);
+            UUID rightId = itemIds.get(right);
+            order = Long.compareUnsigned(rightId.getMostSignificantBits(), leftId.getMostSignificantBits());
+            return order != 0 ? order : Long.compareUnsigned(rightId.getLeastSignificantBits(), leftId.getLeastSignificantBits());
+        }
+
+        private BitSet match(Map<String, Set<String>> filters, String excludedFacet) {
+            BitSet result = (BitSet) live.clone();
+            filters.forEach((facet, values) -> {
+                if (facet.equals(excludedFacet)) {
+                    return;
+                }
+                BitSet union = new BitSet();
+                for (String value : values) {
+                    BitSet bitmap = bitmaps.get(facet).get(value);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                result.and(union);
+            });
+            return result;
+        }
+
+        private void clearValues(int ordinal) {
+            String[] values = valuesByOrdinal.get(ordinal);
+            if (values == null) {
+                return;
+            }
+            for (int f = 0; f < FACETS.size(); f++) {
+                if (values[f] == null) {
+                    continue;
+                }
+                Map<String, BitSet> facetBitmaps = bitmaps.get(FACETS.get(f));
+                BitSet bitmap = facetBitmaps.get(values[f]);
+                if (bitmap != null) {
+                    bitmap.clear(ordinal);
+                    if (bitmap.isEmpty()) {
+                        facetBitmaps.remove(values[f]);
+                    }
+                }
+            }
+        }
+    }
+}
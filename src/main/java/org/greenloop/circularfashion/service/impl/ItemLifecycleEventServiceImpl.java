@@ -0,0 +1,339 @@
+package org.greenloop.circularfashion.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.ItemLifecycleHistory;
+import org.greenloop.circularfashion.entity.request.ItemLifecycleEventRequest;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
+import org.greenloop.circularfashion.entity.response.ItemLifecycleEventResponse;
+import org.greenloop.circularfashion.exception.ItemNotFoundException;
+import org.greenloop.circularfashion.repository.ItemLifecycleHistoryRepository;
+import org.greenloop.circularfashion.repository.ItemRepository;
+import org.greenloop.circularfashion.service.ItemLifecycleEventService;
+import org.greenloop.circularfashion.util.KeysetCursor;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only item event log. Events are queued in memory and written by whoever drains the
+ * buffer first: the periodic flush, a producer that fills a batch, or shutdown. Each batch is a
+ * single JDBC batch insert (rewritten to multi-row inserts by the driver) into the monthly
+ * partition of item_lifecycle_history; items rows and their collections are never touched.
+ * Partitions for the coming months are created ahead of time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemLifecycleEventServiceImpl implements ItemLifecycleEventService {
+
+    private static final String TABLE = "item_lifecycle_history";
+    private static final String INSERT_SQL = "INSERT INTO " + TABLE + " (history_id, item_id, user_id, location_id, " +
+            "event_type, event_date, description, previous_status, new_status, previous_location, new_location, " +
+            "previous_owner_id, new_owner_id, financial_value, points_involved, environmental_impact, event_metadata, " +
+            "condition_before, condition_after, automated_event, device_id, ip_address, user_agent, " +
+            "created_at, updated_at, is_deleted, version) " +
+            "VALUES (nextval('item_lifecycle_history_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, " +
+            "CAST(? AS jsonb), CAST(? AS jsonb), ?, ?, ?, ?, ?, ?, ?, ?, false, 0)";
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_APPEND_EVENTS = 1000;
+    private static final int MAX_EVENT_TYPE_LENGTH = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemRepository itemRepository;
+    private final ItemLifecycleHistoryRepository historyRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.items.lifecycle-events.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.items.lifecycle-events.buffer-capacity:50000}")
+    private int bufferCapacity;
+
+    @Value("${app.items.lifecycle-events.partitions-ahead:2}")
+    private int partitionsAhead;
+
+    private BlockingQueue<ItemLifecycleEventRequest> buffer;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        buffer = new LinkedBlockingQueue<>(bufferCapacity);
+        meterRegistry.gauge("items.lifecycle.events.buffered", buffer, BlockingQueue::size);
+    }
+
+    @Override
+    public void recordAfterCommit(ItemLifecycleEventRequest event) {
+        recordAllAfterCommit(List.of(event));
+    }
+
+    @Override
+    public void recordAllAfterCommit(List<ItemLifecycleEventRequest> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<ItemLifecycleEventRequest> pending = List.copyOf(events);
+        TransactionCallbacks.afterCommit(() -> enqueue(pending));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int appendEvents(List<ItemLifecycleEventRequest> events) {
+        if (events == null || events.isEmpty()) {
+            throw new IllegalArgumentException("At least one event is required");
+        }
+        if (events.size() > MAX_APPEND_EVENTS) {
+            throw new IllegalArgumentException("At most " + MAX_APPEND_EVENTS + " events can be appended at once");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<UUID> itemIds = new HashSet<>();
+        for (ItemLifecycleEventRequest event : events) {
+            if (event.getItemId() == null) {
+                throw new IllegalArgumentException("Item id is required for every event");
+            }
+            if (event.getEventType() == null || event.getEventType().isBlank()) {
+                throw new IllegalArgumentException("Event type is required for every event");
+            }
+            event.setEventType(event.getEventType().trim().toUpperCase());
+            if (event.getEventType().length() > MAX_EVENT_TYPE_LENGTH) {
+                throw new IllegalArgumentException("Event type must not exceed " + MAX_EVENT_TYPE_LENGTH + " characters");
+            }
+            if (event.getEventDate() == null) {
+                event.setEventDate(now);
+            }
+            itemIds.add(event.getItemId());
+        }
+
+        // No foreign keys on the log, so unknown items are rejected here with one IN query
+        itemIds.removeAll(itemRepository.findExistingIds(itemIds));
+        if (!itemIds.isEmpty()) {
+            if (events.size() == 1) {
+                throw new ItemNotFoundException(events.get(0).getItemId());
+            }
+            throw new IllegalArgumentException("Unknown item id(s): " + itemIds);
+        }
+
+        enqueue(events);
+        return events.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemLifecycleEventResponse> getTimeline(UUID itemId, String after, int size) {
+        KeysetCursor<Long> cursor = KeysetCursor.decodeLong(after);
+        int pageSize = size < 1 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+
+        List<ItemLifecycleHistory> rows = historyRepository.findTimelineAfter(
+                itemId, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<ItemLifecycleHistory> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            ItemLifecycleHistory last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor<>(last.getEventDate(), last.getHistoryId()).encode();
+        }
+
+        return CursorPageResponse.<ItemLifecycleEventResponse>builder()
+                .content(page.stream().map(this::toResponse).collect(Collectors.toList()))
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.items.lifecycle-events.flush-ms:1000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            drain();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Create the monthly partitions for the current and the next few months. Runs at startup and
+     * daily; a no-op when the partitions exist. The table itself is partitioned by V7, which
+     * FlywayConfig applies at startup.
+     */
+    @Scheduled(fixedDelayString = "${app.items.lifecycle-events.partition-check-ms:86400000}")
+    public void ensurePartitions() {
+        YearMonth month = YearMonth.now();
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth partitionMonth = month.plusMonths(i);
+            String sql = String.format("CREATE TABLE IF NOT EXISTS %s_y%04dm%02d PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    TABLE, partitionMonth.getYear(), partitionMonth.getMonthValue(), TABLE,
+                    partitionMonth.atDay(1), partitionMonth.plusMonths(1).atDay(1));
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (DataAccessException e) {
+                log.warn("Could not create lifecycle event partition for {}: {}", partitionMonth, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // A full buffer makes the producer write (backpressure) instead of dropping events
+    private void enqueue(List<ItemLifecycleEventRequest> events) {
+        for (ItemLifecycleEventRequest event : events) {
+            while (!buffer.offer(event)) {
+                flush();
+            }
+        }
+        if (buffer.size() >= batchSize && flushLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                flushLock.unlock();
+            }
+        }
+    }
+
+    private void drain() {
+        List<ItemLifecycleEventRequest> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Write one batch in its own transaction. If the batch fails, retry it row by row
+     * so a single bad event only loses itself.
+     */
+    private void write(List<ItemLifecycleEventRequest> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int written = 0;
+
+        try {
+            transaction.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), this::bind));
+            written = batch.size();
+        } catch (RuntimeException batchError) {
+            log.warn("Writing {} lifecycle events failed, retrying row by row: {}", batch.size(), batchError.getMessage());
+            for (ItemLifecycleEventRequest event : batch) {
+                try {
+                    transaction.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, event)));
+                    written++;
+                } catch (RuntimeException rowError) {
+                    log.error("Dropping lifecycle event {} for item {}: {}",
+                            event.getEventType(), event.getItemId(), rowError.getMessage());
+                }
+            }
+        }
+
+        meterRegistry.counter("items.lifecycle.events.written").increment(written);
+        meterRegistry.counter("items.lifecycle.events.dropped").increment(batch.size() - written);
+        sample.stop(meterRegistry.timer("items.lifecycle.events.flush"));
+    }
+
+    private void bind(PreparedStatement ps, ItemLifecycleEventRequest event) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        int i = 1;
+        ps.setObject(i++, event.getItemId());
+        ps.setObject(i++, event.getUserId());
+        ps.setObject(i++, event.getLocationId());
+        ps.setString(i++, event.getEventType());
+        ps.setObject(i++, event.getEventDate() != null ? event.getEventDate() : now);
+        ps.setString(i++, event.getDescription());
+        ps.setString(i++, event.getPreviousStatus());
+        ps.setString(i++, event.getNewStatus());
+        ps.setString(i++, event.getPreviousLocation());
+        ps.setString(i++, event.getNewLocation());
+        ps.setObject(i++, event.getPreviousOwnerId());
+        ps.setObject(i++, event.getNewOwnerId());
+        ps.setBigDecimal(i++, event.getFinancialValue());
+        ps.setBigDecimal(i++, event.getPointsInvolved());
+        ps.setString(i++, toJson(event.getEnvironmentalImpact()));
+        ps.setString(i++, toJson(event.getEventMetadata()));
+        ps.setBigDecimal(i++, event.getConditionBefore());
+        ps.setBigDecimal(i++, event.getConditionAfter());
+        ps.setBoolean(i++, Boolean.TRUE.equals(event.getAutomatedEvent()));
+        ps.setString(i++, event.getDeviceId());
+        ps.setString(i++, event.getIpAddress());
+        ps.setString(i++, event.getUserAgent());
+        ps.setObject(i++, now);
+        ps.setObject(i, now);
+    }
+
+    private String toJson(Map<String, Object> value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid event data", e);
+        }
+    }
+
+    // Only ids are read from the lazy references, so none of them is loaded
+    private ItemLifecycleEventResponse toResponse(ItemLifecycleHistory history) {
+        return ItemLifecycleEventResponse.builder()
+                .historyId(history.getHistoryId())
+                .itemId(history.getItem().getItemId())
+                .eventType(history.getEventType())
+                .eventDate(history.getEventDate())
+                .description(history.getDescription())
+                .previousStatus(history.getPreviousStatus())
+                .newStatus(history.getNewStatus())
+                .previousLocation(history.getPreviousLocation())
+                .newLocation(history.getNewLocation())
+                .userId(history.getUser() != null ? history.getUser().getUserId() : null)
+                .locationId(history.getLocation() != null ? history.getLocation().getPointId() : null)
+                .previousOwnerId(history.getPreviousOwner() != null ? history.getPreviousOwner().getUserId() : null)
+                .newOwnerId(history.getNewOwner() != null ? history.getNewOwner().getUserId() : null)
+                .financialValue(history.getFinancialValue())
+                .pointsInvolved(history.getPointsInvolved())
+                .environmentalImpact(history.getEnvironmentalImpact())
+                .eventMetadata(history.getEventMetadata())
+                .conditionBefore(history.getConditionBefore())
+                .conditionAfter(history.getConditionAfter())
+                .automatedEvent(history.getAutomatedEvent())
+                .deviceId(history.getDeviceId())
+                .build();
+    }
+}
@@ -1,10 +1,18 @@
 package org.greenloop.circularfashion.service.impl;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.greenloop.circularfashion.entity.*;
 import org.greenloop.circularfashion.entity.request.ItemCreateRequest;
+import org.greenloop.circularfashion.entity.request.ItemLifecycleEventRequest;
 import org.greenloop.circularfashion.entity.request.ItemUpdateRequest;
+import org.greenloop.circularfashion.entity.response.BulkItemReport;
+import org.greenloop.circularfashion.entity.response.BulkItemResult;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
+import org.greenloop.circularfashion.entity.response.ItemCodeSnapshot;
+import org.greenloop.circularfashion.entity.response.ItemMediaAckResponse;
 import org.greenloop.circularfashion.entity.response.ItemResponse;
 import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
 import org.greenloop.circularfashion.exception.InvalidStatusTransitionException;
@@ -14,19 +22,47 @@ import org.greenloop.circularfashion.exception.UnauthorizedItemAccessException;
 import org.greenloop.circularfashion.mapper.ItemMapper;
 import org.greenloop.circularfashion.repository.BrandRepository;
 import org.greenloop.circularfashion.repository.CategoryRepository;
+import org.greenloop.circularfashion.repository.ItemLifecycleRepository;
 import org.greenloop.circularfashion.repository.ItemRepository;
 import org.greenloop.circularfashion.repository.UserRepository;
+import org.greenloop.circularfashion.service.ItemFacetService;
+import org.greenloop.circularfashion.service.ItemLifecycleEventService;
 import org.greenloop.circularfashion.service.ItemService;
+import org.greenloop.circularfashion.service.ItemStatsService;
+import org.greenloop.circularfashion.service.SustainabilityRollupService;
+import org.greenloop.circularfashion.service.ItemWorkQueueService;
+import org.greenloop.circularfashion.util.KeysetCursor;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +76,28 @@ public class ItemServiceImpl implements ItemService {
     private final CategoryRepository categoryRepository;
     private final BrandRepository brandRepository;
     private final ItemMapper itemMapper;
+    private final ItemLifecycleRepository itemLifecycleRepository;
+    private final ItemFacetService itemFacetService;
+    private final ItemLifecycleEventService itemLifecycleEventService;
+    private final ItemCodeCache itemCodeCache;
+    private final ItemWorkQueueService itemWorkQueueService;
+    private final ItemStatsService itemStatsService;
+    private final SustainabilityRollupService sustainabilityRollupService;
+    private final PlatformTransactionManager transactionManager;
+    private final TrigramSupport trigramSupport;
+
+    @Value("${app.items.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${app.items.export.batch-size:500}")
+    private int exportBatchSize;
+
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 20;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_TERMS = 8;
+    private static final int MAX_BULK_ITEMS = 10000;
+    private static final int BULK_QUERY_CHUNK_SIZE = 1000;
+    private static final ObjectMapper JSON = new ObjectMapper();
 
     @Override
     public ItemResponse createItem(ItemCreateRequest request, UUID currentUserId) {
@@ -63,6 +121,10 @@ public class ItemServiceImpl implements ItemService {
         
         // Save and return response
         Item savedItem = itemRepository.save(item);
+        itemStatsService.added(ItemStatsService.Contribution.of(savedItem));
+        itemFacetService.indexAfterCommit(savedItem);
+        itemCodeCache.evictCodeAfterCommit(savedItem.getItemCode());
+        itemLifecycleEventService.recordAfterCommit(createdEvent(savedItem));
         log.info("Item created successfully with id: {}", savedItem.getItemId());
         
         return itemMapper.toResponse(savedItem);
@@ -72,7 +134,8 @@ public class ItemServiceImpl implements ItemService {
     @Transactional(readOnly = true)
     public ItemResponse getItemById(UUID id) {
         log.debug("Fetching item by id: {}", id);
-        Item item = getEntityById(id);
+        Item item = itemRepository.findDetailById(id)
+                .orElseThrow(() -> new ItemNotFoundException(id));
         return itemMapper.toResponse(item);
     }
 
@@ -81,6 +144,7 @@ public class ItemServiceImpl implements ItemService {
         log.info("Updating item: {}", id);
         
         Item item = getEntityById(id);
+        ItemStatsService.Contribution before = ItemStatsService.Contribution.of(item);
         
         // Fetch optional entities if provided
         Category category = null;
@@ -98,15 +162,26 @@ public class ItemServiceImpl implements ItemService {
         // Update entity
         itemMapper.updateEntity(item, request, category, brand);
         
-        // Handle status update if provided
+        // Handle status update if provided; recorded in item_lifecycle like updateItemStatus, which
+        // is also what the sustainability rollup backfill rebuilds from
         if (request.getItemStatus() != null) {
             Item.ItemStatus newStatus = Item.ItemStatus.valueOf(request.getItemStatus().toUpperCase());
             if (newStatus != item.getItemStatus()) {
-                item.setItemStatus(newStatus);
+                itemLifecycleRepository.save(item.updateStatus(newStatus, null, "Updated with item details"));
             }
         }
         
         Item updatedItem = itemRepository.save(item);
+        itemStatsService.changed(before, ItemStatsService.Contribution.of(updatedItem));
+        if (updatedItem.getItemStatus() != before.status()) {
+            sustainabilityRollupService.credit(SustainabilityRollupService.Impact.of(updatedItem, updatedItem.getItemStatus()));
+            itemLifecycleEventService.recordAfterCommit(lifecycleEvent(id, ItemLifecycleEventService.STATUS_CHANGED)
+                    .previousStatus(before.status() != null ? before.status().name() : null)
+                    .newStatus(updatedItem.getItemStatus().name())
+                    .build());
+        }
+        itemFacetService.indexAfterCommit(updatedItem);
+        itemCodeCache.evictAfterCommit(updatedItem.getItemId());
         log.info("Item updated successfully: {}", id);
         
         return itemMapper.toResponse(updatedItem);
@@ -116,11 +191,11 @@ public class ItemServiceImpl implements ItemService {
     public void deleteItem(UUID id) {
         log.info("Deleting item: {}", id);
         
-        if (!itemRepository.existsById(id)) {
-            throw new ItemNotFoundException(id);
-        }
-        
-        itemRepository.deleteById(id);
+        Item item = getEntityById(id);
+        itemRepository.delete(item);
+        itemStatsService.removed(ItemStatsService.Contribution.of(item));
+        itemFacetService.removeAfterCommit(id);
+        itemCodeCache.evictAfterCommit(id);
         log.info("Item deleted successfully: {}", id);
     }
 
@@ -138,12 +213,23 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new ItemNotFoundException(itemCode));
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true) // Cache hits must not take a pooled connection
+    public ItemCodeSnapshot getItemSnapshotByCode(String itemCode) {
+        String code = itemCode != null ? itemCode.trim() : "";
+        // Misread labels in the current code format fail the check character without a lookup
+        if (code.length() == TimeOrderedIds.ITEM_CODE_LENGTH && !TimeOrderedIds.isValidItemCode(code)) {
+            throw new IllegalArgumentException("Invalid item code: " + itemCode);
+        }
+        return itemCodeCache.get(code)
+                .orElseThrow(() -> new ItemNotFoundException(code));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ItemSummaryResponse> getAllItems(Pageable pageable) {
         log.debug("Fetching all items with pagination");
-        Page<Item> items = itemRepository.findAll(pageable);
-        return items.map(itemMapper::toSummaryResponse);
+        return itemRepository.findAllSummaries(pageable);
     }
 
     @Override
@@ -151,19 +237,18 @@ public class ItemServiceImpl implements ItemService {
     public Page<ItemSummaryResponse> getItemsByOwner(UUID ownerId, Pageable pageable) {
         log.debug("Fetching items for owner: {}", ownerId);
         
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", ownerId));
+        if (!userRepository.existsById(ownerId)) {
+            throw new ResourceNotFoundException("User", "id", ownerId);
+        }
         
-        Page<Item> items = itemRepository.findByCurrentOwnerOrderByCreatedAtDesc(owner, pageable);
-        return items.map(itemMapper::toSummaryResponse);
+        return itemRepository.findSummariesByOwner(ownerId, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ItemSummaryResponse> getItemsByStatus(Item.ItemStatus status, Pageable pageable) {
         log.debug("Fetching items with status: {}", status);
-        Page<Item> items = itemRepository.findByStatusAndVerified(status, pageable);
-        return items.map(itemMapper::toSummaryResponse);
+        return itemRepository.findSummariesByStatusAndVerified(status, pageable);
     }
 
     @Override
@@ -175,12 +260,7 @@ public class ItemServiceImpl implements ItemService {
             throw new ResourceNotFoundException("Category", "id", categoryId);
         }
         
-        Page<Item> items = itemRepository.findByCategoryAndStatus(
-                categoryId, 
-                Item.ItemStatus.LISTED, 
-                pageable
-        );
-        return items.map(itemMapper::toSummaryResponse);
+        return itemRepository.findSummariesInCategorySubtreeAndStatus(categoryId, Item.ItemStatus.LISTED, pageable);
     }
 
     @Override
@@ -192,24 +272,36 @@ public class ItemServiceImpl implements ItemService {
             throw new ResourceNotFoundException("Brand", "id", brandId);
         }
         
-        List<Item> items = itemRepository.findByBrandId(brandId);
-        
-        // Manual pagination (could be optimized with custom query)
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), items.size());
-        List<ItemSummaryResponse> pageContent = items.subList(start, end).stream()
-                .map(itemMapper::toSummaryResponse)
-                .collect(Collectors.toList());
-        
-        return new org.springframework.data.domain.PageImpl<>(pageContent, pageable, items.size());
+        // Only listed items
+        return itemRepository.findSummariesByBrandAndStatus(brandId, Item.ItemStatus.LISTED, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ItemSummaryResponse> searchItems(String keyword, Pageable pageable) {
         log.debug("Searching items with keyword: {}", keyword);
-        Page<Item> items = itemRepository.searchItems(keyword, pageable);
-        return items.map(itemMapper::toSummaryResponse);
+        return itemRepository.searchSummaries(keyword, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ItemSummaryResponse> searchItemsFullText(String keyword, Pageable pageable) {
+        log.debug("Full-text searching items with keyword: {}", keyword);
+        
+        String query = toPrefixTsQuery(keyword);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+        
+        // Ranking decides the order, so any client sort is dropped
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<UUID> ids = itemRepository.searchFullTextIds(query, keyword.trim().toLowerCase(), page);
+        if (ids.getTotalElements() == 0 && trigramSupport.isAvailable()) {
+            // Nothing matched: likely a typo, fall back to trigram similarity on the name
+            ids = itemRepository.searchSimilarNameIds(keyword.trim(), page);
+        }
+        
+        return new PageImpl<>(findSummariesInOrder(ids.getContent()), page, ids.getTotalElements());
     }
 
     @Override
@@ -223,8 +315,79 @@ public class ItemServiceImpl implements ItemService {
         log.debug("Finding items with filters - category: {}, statuses: {}, minCondition: {}", 
                 categoryId, statuses, minCondition);
         
-        Page<Item> items = itemRepository.findWithFilters(categoryId, statuses, minCondition, pageable);
-        return items.map(itemMapper::toSummaryResponse);
+        return itemRepository.findSummariesWithFilters(categoryId, statusFilter(statuses), minCondition, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemSummaryResponse> getAllItems(String after, int size) {
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = clampPageSize(size);
+        return toCursorPage(itemRepository.findSummariesAfter(
+                cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemSummaryResponse> getItemsByOwner(UUID ownerId, String after, int size) {
+        log.debug("Fetching items for owner: {} after cursor", ownerId);
+        
+        if (!userRepository.existsById(ownerId)) {
+            throw new ResourceNotFoundException("User", "id", ownerId);
+        }
+        
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = clampPageSize(size);
+        return toCursorPage(itemRepository.findSummariesByOwnerAfter(
+                ownerId, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemSummaryResponse> getItemsByStatus(Item.ItemStatus status, String after, int size) {
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = clampPageSize(size);
+        return toCursorPage(itemRepository.findSummariesByStatusAndVerifiedAfter(
+                status, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemSummaryResponse> getItemsByCategory(UUID categoryId, String after, int size) {
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("Category", "id", categoryId);
+        }
+        
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = clampPageSize(size);
+        return toCursorPage(itemRepository.findSummariesInCategorySubtreeAndStatusAfter(
+                categoryId, Item.ItemStatus.LISTED, cursor.timestamp(), cursor.id(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemSummaryResponse> searchItems(String keyword, String after, int size) {
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = clampPageSize(size);
+        return toCursorPage(itemRepository.searchSummariesAfter(
+                keyword, cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ItemSummaryResponse> findItemsWithFilters(
+            UUID categoryId,
+            List<Item.ItemStatus> statuses,
+            BigDecimal minCondition,
+            String after,
+            int size) {
+        
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = clampPageSize(size);
+        return toCursorPage(itemRepository.findSummariesWithFiltersAfter(
+                categoryId, statusFilter(statuses), minCondition, cursor.timestamp(), cursor.id(),
+                PageRequest.of(0, pageSize + 1)), pageSize);
     }
 
     @Override
@@ -239,9 +402,21 @@ public class ItemServiceImpl implements ItemService {
         validateStatusTransition(item.getItemStatus(), newStatus);
         
         // Update status with lifecycle tracking
-        item.updateStatus(newStatus, user, reason);
+        Item.ItemStatus previousStatus = item.getItemStatus();
+        ItemStatsService.Contribution before = ItemStatsService.Contribution.of(item);
+        itemLifecycleRepository.save(item.updateStatus(newStatus, user, reason));
         
         Item updatedItem = itemRepository.save(item);
+        itemStatsService.changed(before, ItemStatsService.Contribution.of(updatedItem));
+        sustainabilityRollupService.credit(SustainabilityRollupService.Impact.of(updatedItem, newStatus));
+        itemFacetService.indexAfterCommit(updatedItem);
+        itemCodeCache.evictAfterCommit(updatedItem.getItemId());
+        itemLifecycleEventService.recordAfterCommit(lifecycleEvent(itemId, ItemLifecycleEventService.STATUS_CHANGED)
+                .previousStatus(previousStatus != null ? previousStatus.name() : null)
+                .newStatus(newStatus.name())
+                .description(reason)
+                .userId(userId)
+                .build());
         log.info("Item status updated successfully");
         
         return itemMapper.toResponse(updatedItem);
@@ -254,17 +429,28 @@ public class ItemServiceImpl implements ItemService {
         Item item = getEntityById(itemId);
         User verifier = userRepository.findById(verifierId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", verifierId));
+        itemWorkQueueService.complete(itemId, ItemWorkLease.Queue.VERIFICATION, verifierId);
         
         item.setIsVerified(true);
         item.setVerificationDate(LocalDateTime.now());
         item.setVerifiedBy(verifier);
         
         // Auto-update status if appropriate
+        Item.ItemStatus previousStatus = item.getItemStatus();
+        ItemStatsService.Contribution before = ItemStatsService.Contribution.of(item);
         if (item.getItemStatus() == Item.ItemStatus.COLLECTED) {
             item.setItemStatus(Item.ItemStatus.VALUED);
         }
         
         Item verifiedItem = itemRepository.save(item);
+        itemStatsService.changed(before, ItemStatsService.Contribution.of(verifiedItem));
+        itemFacetService.indexAfterCommit(verifiedItem);
+        itemCodeCache.evictAfterCommit(itemId);
+        itemLifecycleEventService.recordAfterCommit(lifecycleEvent(itemId, ItemLifecycleEventService.VERIFIED)
+                .previousStatus(previousStatus != null ? previousStatus.name() : null)
+                .newStatus(verifiedItem.getItemStatus() != null ? verifiedItem.getItemStatus().name() : null)
+                .userId(verifierId)
+                .build());
         log.info("Item verified successfully");
         
         return itemMapper.toResponse(verifiedItem);
@@ -282,6 +468,42 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.findMarketplaceReadyItems(Pageable.unpaged()).getContent();
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long exportItemsAwaitingVerification(Consumer<ItemResponse> sink) {
+        return exportItems(itemRepository::findUnverifiedCollectedItemsAfter, sink);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long exportMarketplaceReadyItems(Consumer<ItemResponse> sink) {
+        return exportItems(itemRepository::findMarketplaceReadyItemsAfter, sink);
+    }
+
+    // Reads keyset batches of exportBatchSize items, each in its own short read-only transaction, and
+    // hands them to the sink after it ends: a slow client never holds a pooled connection
+    private long exportItems(BiFunction<UUID, Pageable, List<Item>> batchAfter, Consumer<ItemResponse> sink) {
+        TransactionTemplate batchTransaction = new TransactionTemplate(transactionManager);
+        batchTransaction.setReadOnly(true);
+        Pageable batch = PageRequest.of(0, Math.max(1, exportBatchSize));
+        UUID after = new UUID(0L, 0L);
+        long count = 0;
+        while (true) {
+            UUID from = after;
+            List<ItemResponse> rows = batchTransaction.execute(status -> batchAfter.apply(from, batch).stream()
+                    .map(itemMapper::toResponse)
+                    .collect(Collectors.toList()));
+            rows.forEach(sink);
+            count += rows.size();
+            if (rows.size() < batch.getPageSize()) {
+                break;
+            }
+            after = rows.get(rows.size() - 1).getItemId();
+        }
+        log.debug("Exported {} items", count);
+        return count;
+    }
+
     @Override
     public ItemResponse transferOwnership(UUID itemId, UUID newOwnerId, UUID currentUserId) {
         log.info("Transferring ownership of item: {} from user: {} to user: {}", 
@@ -297,9 +519,17 @@ public class ItemServiceImpl implements ItemService {
         User newOwner = userRepository.findById(newOwnerId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", newOwnerId));
         
+        ItemStatsService.Contribution before = ItemStatsService.Contribution.of(item);
         item.setCurrentOwner(newOwner);
         
         Item updatedItem = itemRepository.save(item);
+        itemStatsService.changed(before, ItemStatsService.Contribution.of(updatedItem));
+        itemCodeCache.evictAfterCommit(itemId);
+        itemLifecycleEventService.recordAfterCommit(lifecycleEvent(itemId, ItemLifecycleEventService.TRANSFERRED)
+                .previousOwnerId(currentUserId)
+                .newOwnerId(newOwnerId)
+                .userId(currentUserId)
+                .build());
         log.info("Ownership transferred successfully");
         
         return itemMapper.toResponse(updatedItem);
@@ -310,18 +540,30 @@ public class ItemServiceImpl implements ItemService {
         log.info("Updating condition for item: {}", itemId);
         
         Item item = getEntityById(itemId);
+        BigDecimal previousScore = item.getConditionScore();
+        ItemStatsService.Contribution before = ItemStatsService.Contribution.of(item);
         item.setConditionScore(conditionScore);
         item.setConditionDescription(description);
         
         Item updatedItem = itemRepository.save(item);
+        itemStatsService.changed(before, ItemStatsService.Contribution.of(updatedItem));
+        itemFacetService.indexAfterCommit(updatedItem);
+        itemCodeCache.evictAfterCommit(updatedItem.getItemId());
+        itemLifecycleEventService.recordAfterCommit(lifecycleEvent(itemId, ItemLifecycleEventService.EVALUATED)
+                .conditionBefore(previousScore)
+                .conditionAfter(conditionScore)
+                .description(description)
+                .build());
         return itemMapper.toResponse(updatedItem);
     }
 
     @Override
-    public ItemResponse updateValuation(UUID itemId, BigDecimal estimatedValue) {
+    public ItemResponse updateValuation(UUID itemId, BigDecimal estimatedValue, UUID valuerId) {
         log.info("Updating valuation for item: {}", itemId);
         
         Item item = getEntityById(itemId);
+        itemWorkQueueService.complete(itemId, ItemWorkLease.Queue.VALUATION, valuerId);
+        ItemStatsService.Contribution before = ItemStatsService.Contribution.of(item);
         item.setCurrentEstimatedValue(estimatedValue);
         
         // Auto-update status if needed
@@ -330,150 +572,515 @@ public class ItemServiceImpl implements ItemService {
         }
         
         Item updatedItem = itemRepository.save(item);
+        itemStatsService.changed(before, ItemStatsService.Contribution.of(updatedItem));
+        itemFacetService.indexAfterCommit(updatedItem);
+        itemCodeCache.evictAfterCommit(updatedItem.getItemId());
         return itemMapper.toResponse(updatedItem);
     }
 
+    // The single-value edits keep answering with the full item for existing clients: the jsonb
+    // UPDATE, then one fetch-join read (getItemById). The /media endpoints answer with counts only.
     @Override
     public ItemResponse addImage(UUID itemId, String imageUrl) {
         log.info("Adding image to item: {}", itemId);
-        
-        Item item = getEntityById(itemId);
-        
-        if (item.getImages() == null) {
-            item.setImages(new ArrayList<>());
-        }
-        
-        if (!item.getImages().contains(imageUrl)) {
-            item.getImages().add(imageUrl);
-        }
-        
-        Item updatedItem = itemRepository.save(item);
-        return itemMapper.toResponse(updatedItem);
+        addMedia(itemId, ItemMediaAckResponse.Field.IMAGES, List.of(imageUrl));
+        return getItemById(itemId);
     }
 
     @Override
     public ItemResponse removeImage(UUID itemId, String imageUrl) {
         log.info("Removing image from item: {}", itemId);
-        
-        Item item = getEntityById(itemId);
-        
-        if (item.getImages() != null) {
-            item.getImages().remove(imageUrl);
-        }
-        
-        Item updatedItem = itemRepository.save(item);
-        return itemMapper.toResponse(updatedItem);
+        removeMedia(itemId, ItemMediaAckResponse.Field.IMAGES, imageUrl);
+        return getItemById(itemId);
     }
 
     @Override
     public ItemResponse addVideo(UUID itemId, String videoUrl) {
         log.info("Adding video to item: {}", itemId);
-        
-        Item item = getEntityById(itemId);
-        
-        if (item.getVideos() == null) {
-            item.setVideos(new ArrayList<>());
-        }
-        
-        if (!item.getVideos().contains(videoUrl)) {
-            item.getVideos().add(videoUrl);
-        }
-        
-        Item updatedItem = itemRepository.save(item);
-        return itemMapper.toResponse(updatedItem);
+        addMedia(itemId, ItemMediaAckResponse.Field.VIDEOS, List.of(videoUrl));
+        return getItemById(itemId);
     }
 
     @Override
     public ItemResponse removeVideo(UUID itemId, String videoUrl) {
         log.info("Removing video from item: {}", itemId);
-        
-        Item item = getEntityById(itemId);
-        
-        if (item.getVideos() != null) {
-            item.getVideos().remove(videoUrl);
-        }
-        
-        Item updatedItem = itemRepository.save(item);
-        return itemMapper.toResponse(updatedItem);
+        removeMedia(itemId, ItemMediaAckResponse.Field.VIDEOS, videoUrl);
+        return getItemById(itemId);
     }
 
     @Override
     public ItemResponse addTag(UUID itemId, String tag) {
         log.info("Adding tag '{}' to item: {}", tag, itemId);
-        
-        Item item = getEntityById(itemId);
-        item.addTag(tag);
-        
-        Item updatedItem = itemRepository.save(item);
-        return itemMapper.toResponse(updatedItem);
+        addMedia(itemId, ItemMediaAckResponse.Field.TAGS, List.of(tag));
+        return getItemById(itemId);
     }
 
     @Override
     public ItemResponse removeTag(UUID itemId, String tag) {
         log.info("Removing tag '{}' from item: {}", tag, itemId);
-        
-        Item item = getEntityById(itemId);
-        item.removeTag(tag);
-        
-        Item updatedItem = itemRepository.save(item);
-        return itemMapper.toResponse(updatedItem);
+        removeMedia(itemId, ItemMediaAckResponse.Field.TAGS, tag);
+        return getItemById(itemId);
+    }
+
+    @Override
+    public ItemMediaAckResponse addMedia(UUID itemId, ItemMediaAckResponse.Field field, List<String> values) {
+        List<String> normalized = normalizeMediaValues(field, values);
+        if (normalized.isEmpty()) {
+            return currentMediaAck(itemId, field);
+        }
+
+        String valuesJson = toJsonArray(normalized);
+        Optional<Integer> count = switch (field) {
+            case IMAGES -> itemRepository.appendImages(itemId, valuesJson);
+            case VIDEOS -> itemRepository.appendVideos(itemId, valuesJson);
+            case TAGS -> itemRepository.appendTags(itemId, valuesJson);
+        };
+        return count.map(c -> new ItemMediaAckResponse(itemId, field, true, c))
+                .orElseGet(() -> currentMediaAck(itemId, field));
+    }
+
+    @Override
+    public ItemMediaAckResponse removeMedia(UUID itemId, ItemMediaAckResponse.Field field, String value) {
+        List<String> normalized = normalizeMediaValues(field, value != null ? List.of(value) : List.of());
+        if (normalized.isEmpty()) {
+            return currentMediaAck(itemId, field);
+        }
+
+        String target = normalized.get(0);
+        Optional<Integer> count = switch (field) {
+            case IMAGES -> itemRepository.removeImage(itemId, target);
+            case VIDEOS -> itemRepository.removeVideo(itemId, target);
+            case TAGS -> itemRepository.removeTag(itemId, target);
+        };
+        return count.map(c -> new ItemMediaAckResponse(itemId, field, true, c))
+                .orElseGet(() -> currentMediaAck(itemId, field));
+    }
+
+    // Trimmed, blank-free, de-duplicated in request order; tags are lower-cased like Item.addTag
+    private List<String> normalizeMediaValues(ItemMediaAckResponse.Field field, List<String> values) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            String trimmed = value.trim();
+            normalized.add(field == ItemMediaAckResponse.Field.TAGS ? trimmed.toLowerCase() : trimmed);
+        }
+        return new ArrayList<>(normalized);
+    }
+
+    // Nothing was written: report the current count, or 404 when the item does not exist
+    private ItemMediaAckResponse currentMediaAck(UUID itemId, ItemMediaAckResponse.Field field) {
+        Object[] counts = itemRepository.findMediaCounts(itemId).stream()
+                .findFirst()
+                .orElseThrow(() -> new ItemNotFoundException(itemId));
+        int count = ((Number) counts[field.ordinal()]).intValue();
+        return new ItemMediaAckResponse(itemId, field, false, count);
+    }
+
+    private String toJsonArray(List<String> values) {
+        try {
+            return JSON.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid media values", e);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long countItemsByStatus(Item.ItemStatus status) {
-        return (long) itemRepository.findByItemStatus(status).size();
+        return itemStatsService.countByStatus(status);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Long countItemsByOwner(UUID ownerId) {
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", ownerId));
-        return (long) itemRepository.findByCurrentOwner(owner).size();
+        if (!userRepository.existsById(ownerId)) {
+            throw new ResourceNotFoundException("User", "id", ownerId);
+        }
+        return itemStatsService.countByOwner(ownerId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public BigDecimal getAverageConditionScore() {
-        BigDecimal avg = itemRepository.getAverageConditionScore();
-        return avg != null ? avg : BigDecimal.ZERO;
+        return itemStatsService.getAverageConditionScore();
     }
 
     @Override
-    public List<ItemResponse> createBulkItems(List<ItemCreateRequest> requests, UUID currentUserId) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkItemReport createBulkItems(List<ItemCreateRequest> requests, UUID currentUserId) {
         log.info("Creating {} items in bulk for user: {}", requests.size(), currentUserId);
         
-        List<ItemResponse> responses = new ArrayList<>();
+        User currentOwner = userRepository.findById(currentUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUserId));
         
-        for (ItemCreateRequest request : requests) {
+        // Resolve every referenced category and brand once for the whole batch
+        Map<UUID, Category> categories = categoryRepository.findAllById(requests.stream()
+                        .map(ItemCreateRequest::getCategoryId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Category::getCategoryId, category -> category));
+        Map<UUID, Brand> brands = brandRepository.findAllById(requests.stream()
+                        .map(ItemCreateRequest::getBrandId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Brand::getBrandId, brand -> brand));
+        
+        BulkItemResult[] results = new BulkItemResult[requests.size()];
+        // Each row is built once; the batch insert and the row-by-row retry both use it
+        Item[] items = new Item[requests.size()];
+        List<Integer> chunk = new ArrayList<>();
+        
+        for (int index = 0; index < requests.size(); index++) {
+            ItemCreateRequest request = requests.get(index);
+            if (!categories.containsKey(request.getCategoryId())) {
+                results[index] = failedResult(index, "Category not found with id : '" + request.getCategoryId() + "'");
+                continue;
+            }
+            if (request.getBrandId() != null && !brands.containsKey(request.getBrandId())) {
+                results[index] = failedResult(index, "Brand not found with id : '" + request.getBrandId() + "'");
+                continue;
+            }
             try {
-                ItemResponse response = createItem(request, currentUserId);
-                responses.add(response);
-            } catch (Exception e) {
-                log.error("Error creating item '{}': {}", request.getName(), e.getMessage());
-                // Continue with next item
+                items[index] = itemMapper.toEntity(request,
+                        categories.get(request.getCategoryId()),
+                        request.getBrandId() != null ? brands.get(request.getBrandId()) : null,
+                        currentOwner);
+            } catch (IllegalArgumentException e) {
+                results[index] = failedResult(index, e.getMessage());
+                continue;
+            }
+            
+            chunk.add(index);
+            if (chunk.size() >= bulkChunkSize) {
+                insertChunk(chunk, items, results);
+                chunk.clear();
             }
         }
+        if (!chunk.isEmpty()) {
+            insertChunk(chunk, items, results);
+        }
         
-        log.info("Successfully created {} out of {} items", responses.size(), requests.size());
-        return responses;
+        BulkItemReport report = BulkItemReport.of(Arrays.asList(results));
+        log.info("Successfully created {} out of {} items", report.getSucceeded(), report.getRequested());
+        return report;
+    }
+
+    /**
+     * Insert one chunk in its own transaction as JDBC batches. If the chunk fails,
+     * retry it row by row so a single bad row only fails itself.
+     */
+    private void insertChunk(List<Integer> chunk, Item[] items, BulkItemResult[] results) {
+        TransactionTemplate chunkTransaction = requiresNewTransaction();
+        
+        try {
+            List<Item> inserted = chunkTransaction.execute(status -> {
+                List<Item> saved = itemRepository.saveAll(chunk.stream().map(index -> items[index]).collect(Collectors.toList()));
+                itemRepository.flush();
+                saved.forEach(item -> {
+                    itemStatsService.added(ItemStatsService.Contribution.of(item));
+                    itemFacetService.indexAfterCommit(item);
+                    itemCodeCache.evictCodeAfterCommit(item.getItemCode());
+                });
+                return saved;
+            });
+            for (int i = 0; i < chunk.size(); i++) {
+                results[chunk.get(i)] = createdResult(chunk.get(i), inserted.get(i));
+            }
+            itemLifecycleEventService.recordAllAfterCommit(inserted.stream().map(this::createdEvent).collect(Collectors.toList()));
+        } catch (RuntimeException chunkError) {
+            log.warn("Bulk insert of {} items failed, retrying row by row: {}", chunk.size(), chunkError.getMessage());
+            for (Integer index : chunk) {
+                // The rolled-back insert left its generated id on the row; clear it so the row is inserted again
+                Item row = items[index];
+                row.setItemId(null);
+                try {
+                    Item item = chunkTransaction.execute(status -> {
+                        Item saved = itemRepository.saveAndFlush(row);
+                        itemStatsService.added(ItemStatsService.Contribution.of(saved));
+                        itemFacetService.indexAfterCommit(saved);
+                        itemCodeCache.evictCodeAfterCommit(saved.getItemCode());
+                        return saved;
+                    });
+                    results[index] = createdResult(index, item);
+                    itemLifecycleEventService.recordAfterCommit(createdEvent(item));
+                } catch (RuntimeException rowError) {
+                    log.error("Error creating item at index {}: {}", index, rowError.getMessage());
+                    results[index] = failedResult(index, NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    private ItemLifecycleEventRequest.ItemLifecycleEventRequestBuilder lifecycleEvent(UUID itemId, String eventType) {
+        return ItemLifecycleEventRequest.builder()
+                .itemId(itemId)
+                .eventType(eventType)
+                .eventDate(LocalDateTime.now());
+    }
+
+    private ItemLifecycleEventRequest createdEvent(Item item) {
+        return lifecycleEvent(item.getItemId(), ItemLifecycleEventService.CREATED)
+                .newStatus(item.getItemStatus() != null ? item.getItemStatus().name() : null)
+                .userId(item.getCurrentOwner() != null ? item.getCurrentOwner().getUserId() : null)
+                .build();
+    }
+
+    private List<ItemStatsService.Contribution> statsContributions(List<UUID> itemIds) {
+        return itemRepository.findStatsContributions(itemIds).stream()
+                .map(row -> new ItemStatsService.Contribution((Item.ItemStatus) row[0], (UUID) row[1], (UUID) row[2],
+                        ((Number) row[3]).longValue(), row[4] != null ? (BigDecimal) row[4] : BigDecimal.ZERO))
+                .collect(Collectors.toList());
+    }
+
+    private List<SustainabilityRollupService.Impact> impactContributions(List<UUID> itemIds, Item.ItemStatus event) {
+        return itemRepository.findImpactContributions(itemIds).stream()
+                .map(row -> new SustainabilityRollupService.Impact(event,
+                        (UUID) (event == Item.ItemStatus.COLLECTED ? row[0] : row[1]), (UUID) row[2],
+                        ((Number) row[3]).longValue(), (BigDecimal) row[4], (BigDecimal) row[5], (BigDecimal) row[6]))
+                .collect(Collectors.toList());
+    }
+
+    private BulkItemResult createdResult(int index, Item item) {
+        return BulkItemResult.builder()
+                .index(index)
+                .itemId(item.getItemId())
+                .itemCode(item.getItemCode())
+                .outcome(BulkItemResult.Outcome.CREATED)
+                .build();
+    }
+
+    private BulkItemResult failedResult(int index, String message) {
+        return BulkItemResult.builder()
+                .index(index)
+                .outcome(BulkItemResult.Outcome.FAILED)
+                .message(message)
+                .build();
     }
 
     @Override
-    public void deleteBulkItems(List<UUID> itemIds) {
-        log.info("Deleting {} items in bulk", itemIds.size());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkItemReport deleteBulkItems(List<UUID> itemIds, List<String> itemCodes) {
+        List<BulkTarget> targets = bulkTargets(itemIds, itemCodes);
+        log.info("Deleting {} items in bulk", targets.size());
+        TransactionTemplate transaction = requiresNewTransaction();
+        
+        List<BulkItemResult> results;
+        try {
+            results = transaction.execute(status -> {
+                List<BulkItemResult> outcome = resolveTargets(targets, new HashMap<>());
+                List<UUID> found = foundItemIds(outcome);
+                for (List<UUID> chunk : chunks(found)) {
+                    statsContributions(chunk).forEach(itemStatsService::removed);
+                    itemRepository.deleteLifecycleByItemIds(chunk);
+                    itemRepository.deleteReviewsByItemIds(chunk);
+                    itemRepository.deleteListingsByItemIds(chunk);
+                    itemRepository.deleteByItemIds(chunk);
+                }
+                found.forEach(itemFacetService::removeAfterCommit);
+                itemCodeCache.evictAllAfterCommit(found);
+                markSucceeded(outcome, BulkItemResult.Outcome.DELETED);
+                return outcome;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Some items are still referenced (orders, sales...): delete one by one to find them
+            log.warn("Set-wise delete failed, retrying item by item: {}", e.getMessage());
+            results = transaction.execute(status -> resolveTargets(targets, new HashMap<>()));
+            for (BulkItemResult result : results) {
+                if (result.getOutcome() == BulkItemResult.Outcome.FAILED) {
+                    continue;
+                }
+                try {
+                    transaction.executeWithoutResult(status -> {
+                        statsContributions(List.of(result.getItemId())).forEach(itemStatsService::removed);
+                        itemRepository.deleteById(result.getItemId());
+                        itemRepository.flush();
+                        itemFacetService.removeAfterCommit(result.getItemId());
+                        itemCodeCache.evictAfterCommit(result.getItemId());
+                    });
+                    result.setOutcome(BulkItemResult.Outcome.DELETED);
+                } catch (RuntimeException rowError) {
+                    log.error("Error deleting item {}: {}", result.getItemId(), rowError.getMessage());
+                    result.setOutcome(BulkItemResult.Outcome.FAILED);
+                    result.setMessage(NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
         
-        for (UUID itemId : itemIds) {
-            try {
-                deleteItem(itemId);
-            } catch (Exception e) {
-                log.error("Error deleting item {}: {}", itemId, e.getMessage());
-                // Continue with next item
+        BulkItemReport report = BulkItemReport.of(results);
+        log.info("Bulk delete completed: {} deleted, {} failed", report.getSucceeded(), report.getFailed());
+        return report;
+    }
+
+    @Override
+    public BulkItemReport updateBulkItemStatus(List<UUID> itemIds, List<String> itemCodes,
+                                               Item.ItemStatus newStatus, String reason, UUID userId) {
+        List<BulkTarget> targets = bulkTargets(itemIds, itemCodes);
+        log.info("Updating status of {} items to: {} by user: {}", targets.size(), newStatus, userId);
+        
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        User changedBy = userRepository.getReferenceById(userId);
+        
+        // Rows stay locked until commit, so the statuses checked here are the ones updated
+        Map<UUID, Item.ItemStatus> currentStatuses = new HashMap<>();
+        List<BulkItemResult> results = resolveTargets(targets, currentStatuses);
+        Map<Item.ItemStatus, String> rejections = new EnumMap<>(Item.ItemStatus.class);
+        List<ItemLifecycle> lifecycles = new ArrayList<>();
+        List<ItemLifecycleEventRequest> events = new ArrayList<>();
+        List<UUID> changed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        
+        for (BulkItemResult result : results) {
+            if (result.getOutcome() == BulkItemResult.Outcome.FAILED) {
+                continue;
+            }
+            Item.ItemStatus currentStatus = currentStatuses.get(result.getItemId());
+            if (currentStatus == newStatus) {
+                result.setOutcome(BulkItemResult.Outcome.UNCHANGED);
+                continue;
+            }
+            // Transition rules depend only on the two statuses, so check each current status once
+            String rejection = rejections.computeIfAbsent(currentStatus, status -> {
+                try {
+                    validateStatusTransition(status, newStatus);
+                    return "";
+                } catch (InvalidStatusTransitionException e) {
+                    return e.getMessage();
+                }
+            });
+            if (!rejection.isEmpty()) {
+                result.setOutcome(BulkItemResult.Outcome.FAILED);
+                result.setMessage(rejection);
+                continue;
             }
+            
+            result.setOutcome(BulkItemResult.Outcome.UPDATED);
+            changed.add(result.getItemId());
+            lifecycles.add(ItemLifecycle.builder()
+                    .item(itemRepository.getReferenceById(result.getItemId()))
+                    .previousStatus(currentStatus.name())
+                    .newStatus(newStatus.name())
+                    .changeReason(reason)
+                    .changedBy(changedBy)
+                    .createdAt(now)
+                    .build());
+            events.add(lifecycleEvent(result.getItemId(), ItemLifecycleEventService.STATUS_CHANGED)
+                    .eventDate(now)
+                    .previousStatus(currentStatus.name())
+                    .newStatus(newStatus.name())
+                    .description(reason)
+                    .userId(userId)
+                    .build());
         }
         
-        log.info("Bulk delete completed");
+        for (List<UUID> chunk : chunks(changed)) {
+            for (ItemStatsService.Contribution before : statsContributions(chunk)) {
+                itemStatsService.changed(before, new ItemStatsService.Contribution(newStatus,
+                        before.ownerId(), before.categoryId(), before.count(), before.conditionSum()));
+            }
+            if (SustainabilityRollupService.IMPACT_STATUSES.contains(newStatus)) {
+                impactContributions(chunk, newStatus).forEach(sustainabilityRollupService::credit);
+            }
+            itemRepository.updateStatusByIds(chunk, newStatus);
+        }
+        itemLifecycleRepository.saveAll(lifecycles);
+        itemFacetService.refreshAfterCommit(changed);
+        itemCodeCache.evictAllAfterCommit(changed);
+        itemLifecycleEventService.recordAllAfterCommit(events);
+        
+        BulkItemReport report = BulkItemReport.of(results);
+        log.info("Bulk status update completed: {} updated, {} failed", report.getSucceeded(), report.getFailed());
+        return report;
+    }
+
+    // A requested item, by id or by scanned code
+    private record BulkTarget(UUID itemId, String itemCode) {
+    }
+
+    private List<BulkTarget> bulkTargets(List<UUID> itemIds, List<String> itemCodes) {
+        List<BulkTarget> targets = new ArrayList<>();
+        if (itemIds != null) {
+            itemIds.forEach(itemId -> targets.add(new BulkTarget(itemId, null)));
+        }
+        if (itemCodes != null) {
+            itemCodes.forEach(itemCode -> targets.add(new BulkTarget(null, itemCode)));
+        }
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("At least one item id or item code is required");
+        }
+        if (targets.size() > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_ITEMS + " items can be processed at once");
+        }
+        return targets;
+    }
+
+    /**
+     * Look up and lock all targets with a few IN queries. Found items come back without an
+     * outcome yet and their status is put in currentStatuses; missing or repeated ones are FAILED.
+     */
+    private List<BulkItemResult> resolveTargets(List<BulkTarget> targets, Map<UUID, Item.ItemStatus> currentStatuses) {
+        Map<UUID, Object[]> byId = new HashMap<>();
+        Map<String, Object[]> byCode = new HashMap<>();
+        List<UUID> ids = targets.stream().map(BulkTarget::itemId).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        List<String> codes = targets.stream().map(BulkTarget::itemCode).filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        for (List<UUID> chunk : chunks(ids)) {
+            itemRepository.findStatusRowsByIdsForUpdate(chunk).forEach(row -> byId.put((UUID) row[0], row));
+        }
+        for (List<String> chunk : chunks(codes)) {
+            itemRepository.findStatusRowsByCodesForUpdate(chunk).forEach(row -> byCode.put((String) row[1], row));
+        }
+        
+        List<BulkItemResult> results = new ArrayList<>(targets.size());
+        Set<UUID> seen = new HashSet<>();
+        for (int index = 0; index < targets.size(); index++) {
+            BulkTarget target = targets.get(index);
+            Object[] row = target.itemId() != null ? byId.get(target.itemId()) : byCode.get(target.itemCode());
+            BulkItemResult result = BulkItemResult.builder()
+                    .index(index)
+                    .itemId(target.itemId())
+                    .itemCode(target.itemCode())
+                    .build();
+            if (row == null) {
+                result.setOutcome(BulkItemResult.Outcome.FAILED);
+                result.setMessage("Item not found");
+            } else if (!seen.add((UUID) row[0])) {
+                result.setOutcome(BulkItemResult.Outcome.FAILED);
+                result.setMessage("Item listed more than once");
+            } else {
+                result.setItemId((UUID) row[0]);
+                result.setItemCode((String) row[1]);
+                currentStatuses.put((UUID) row[0], (Item.ItemStatus) row[2]);
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    private List<UUID> foundItemIds(List<BulkItemResult> results) {
+        return results.stream()
+                .filter(result -> result.getOutcome() == null)
+                .map(BulkItemResult::getItemId)
+                .collect(Collectors.toList());
+    }
+
+    private void markSucceeded(List<BulkItemResult> results, BulkItemResult.Outcome outcome) {
+        results.stream()
+                .filter(result -> result.getOutcome() == null)
+                .forEach(result -> result.setOutcome(outcome));
+    }
+
+    // Keeps IN lists well below the driver's bind parameter limit
+    private <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int start = 0; start < values.size(); start += BULK_QUERY_CHUNK_SIZE) {
+            chunks.add(values.subList(start, Math.min(start + BULK_QUERY_CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+
+    private TransactionTemplate requiresNewTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction;
     }
 
     /**
@@ -502,4 +1109,65 @@ public class ItemServiceImpl implements ItemService {
         
         // Add more validation rules as needed
     }
+
+    /**
+     * Turn free text into a prefix tsquery ("red dre" -> "red:* & dre:*").
+     * Only letters and digits are kept, so user input cannot inject tsquery operators.
+     */
+    private String toPrefixTsQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+        String query = Arrays.stream(keyword.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    private List<ItemSummaryResponse> findSummariesInOrder(List<UUID> itemIds) {
+        if (itemIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, ItemSummaryResponse> byId = itemRepository.findSummariesByIds(itemIds).stream()
+                .collect(Collectors.toMap(ItemSummaryResponse::getItemId, summary -> summary));
+        return itemIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // No status filter means any status
+    private List<Item.ItemStatus> statusFilter(List<Item.ItemStatus> statuses) {
+        return statuses == null || statuses.isEmpty() ? List.of(Item.ItemStatus.values()) : statuses;
+    }
+
+    private int clampPageSize(int size) {
+        if (size < 1) {
+            return DEFAULT_CURSOR_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_CURSOR_PAGE_SIZE);
+    }
+
+    /**
+     * Build a cursor page from a size + 1 fetch: the extra row only signals that another page exists.
+     */
+    private CursorPageResponse<ItemSummaryResponse> toCursorPage(List<ItemSummaryResponse> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<ItemSummaryResponse> page = hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            ItemSummaryResponse last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor<>(last.getCreatedAt(), last.getItemId()).encode();
+        }
+        
+        return CursorPageResponse.<ItemSummaryResponse>builder()
+                .content(page)
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,258 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.ItemStatCounter;
+import org.greenloop.circularfashion.repository.ItemStatCounterRepository;
+import org.greenloop.circularfashion.service.ItemStatsService;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item counters kept in item_stat_counters instead of counted on every request. Changes made by a
+ * transaction are summed in memory and upserted in one batch right before it commits, in key order
+ * and into one randomly chosen slot, so they commit or roll back with the item writes while
+ * concurrent writers neither deadlock nor queue on a single hot row. A periodic reconciliation
+ * rebuilds the counters from items to repair drift from racing updates of the same item.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemStatsServiceImpl implements ItemStatsService {
+
+    private static final String TABLE = "item_stat_counters";
+    private static final String UPSERT_SQL = "INSERT INTO " + TABLE +
+            " (dimension, dimension_key, slot, item_count, condition_sum, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (dimension, dimension_key, slot) DO UPDATE SET " +
+            "item_count = " + TABLE + ".item_count + EXCLUDED.item_count, " +
+            "condition_sum = " + TABLE + ".condition_sum + EXCLUDED.condition_sum, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // Every counter as it should be: (dimension, dimension_key, item_count, condition_sum)
+    private static final String FRESH_COUNTERS =
+            "SELECT 'TOTAL' AS dimension, '' AS dimension_key, COUNT(*) AS item_count, " +
+            "COALESCE(SUM(condition_score), 0) AS condition_sum FROM items " +
+            "UNION ALL SELECT 'STATUS', item_status, COUNT(*), COALESCE(SUM(condition_score), 0) " +
+            "FROM items GROUP BY item_status " +
+            "UNION ALL SELECT 'OWNER', CAST(current_owner_id AS varchar), COUNT(*), COALESCE(SUM(condition_score), 0) " +
+            "FROM items WHERE current_owner_id IS NOT NULL GROUP BY current_owner_id " +
+            "UNION ALL SELECT 'CATEGORY', CAST(category_id AS varchar), COUNT(*), COALESCE(SUM(condition_score), 0) " +
+            "FROM items WHERE category_id IS NOT NULL GROUP BY category_id " +
+            "UNION ALL SELECT 'CATEGORY_STATUS', CAST(category_id AS varchar) || ':' || item_status, COUNT(*), " +
+            "COALESCE(SUM(condition_score), 0) FROM items WHERE category_id IS NOT NULL GROUP BY category_id, item_status";
+
+    private static final String COUNT_DRIFT_SQL = "WITH fresh AS (" + FRESH_COUNTERS + "), " +
+            "current_counters AS (SELECT dimension, dimension_key, SUM(item_count) AS item_count, " +
+            "SUM(condition_sum) AS condition_sum FROM " + TABLE + " GROUP BY dimension, dimension_key) " +
+            "SELECT COUNT(*) FROM fresh f FULL JOIN current_counters c " +
+            "ON c.dimension = f.dimension AND c.dimension_key = f.dimension_key " +
+            "WHERE COALESCE(f.item_count, 0) <> COALESCE(c.item_count, 0) " +
+            "OR COALESCE(f.condition_sum, 0) <> COALESCE(c.condition_sum, 0)";
+
+    private static final String REBUILD_SQL = "INSERT INTO " + TABLE +
+            " (dimension, dimension_key, slot, item_count, condition_sum, updated_at) " +
+            "SELECT f.dimension, f.dimension_key, 0, f.item_count, f.condition_sum, LOCALTIMESTAMP " +
+            "FROM (" + FRESH_COUNTERS + ") f";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ItemStatCounterRepository counterRepository;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.items.stats.slots:8}")
+    private int slots;
+
+    private record CounterKey(ItemStatCounter.Dimension dimension, String key) implements Comparable<CounterKey> {
+        @Override
+        public int compareTo(CounterKey other) {
+            int byDimension = dimension.compareTo(other.dimension);
+            return byDimension != 0 ? byDimension : key.compareTo(other.key);
+        }
+    }
+
+    private static final class Delta {
+        long count;
+        BigDecimal conditionSum = BigDecimal.ZERO;
+
+        boolean isZero() {
+            return count == 0 && conditionSum.signum() == 0;
+        }
+    }
+
+    @Override
+    public void added(Contribution contribution) {
+        apply(contribution, 1);
+    }
+
+    @Override
+    public void removed(Contribution contribution) {
+        apply(contribution, -1);
+    }
+
+    @Override
+    public void changed(Contribution before, Contribution after) {
+        apply(before, -1);
+        apply(after, 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countAll() {
+        return counterRepository.sumItemCount(ItemStatCounter.Dimension.TOTAL, "");
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByStatus(Item.ItemStatus status) {
+        return counterRepository.sumItemCount(ItemStatCounter.Dimension.STATUS, status.name());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByOwner(UUID ownerId) {
+        return counterRepository.sumItemCount(ItemStatCounter.Dimension.OWNER, ownerId.toString());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByCategory(UUID categoryId) {
+        return counterRepository.sumItemCount(ItemStatCounter.Dimension.CATEGORY, categoryId.toString());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countInCategorySubtree(UUID categoryId) {
+        return counterRepository.sumItemCountInCategorySubtree(ItemStatCounter.Dimension.CATEGORY, categoryId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Item.ItemStatus, Long> countsByStatusInCategory(UUID categoryId) {
+        String prefix = categoryId + ":";
+        Map<Item.ItemStatus, Long> counts = new EnumMap<>(Item.ItemStatus.class);
+        for (Object[] row : counterRepository.sumItemCountsByKeyPrefix(ItemStatCounter.Dimension.CATEGORY_STATUS, prefix)) {
+            long count = ((Number) row[1]).longValue();
+            if (count != 0) {
+                counts.put(Item.ItemStatus.valueOf(((String) row[0]).substring(prefix.length())), count);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Item.ItemStatus, Long> countsByStatus() {
+        Map<Item.ItemStatus, Long> counts = new EnumMap<>(Item.ItemStatus.class);
+        for (Object[] row : counterRepository.sumItemCountsByKey(ItemStatCounter.Dimension.STATUS)) {
+            long count = ((Number) row[1]).longValue();
+            if (count != 0) {
+                counts.put(Item.ItemStatus.valueOf((String) row[0]), count);
+            }
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getAverageConditionScore() {
+        long count = counterRepository.sumItemCount(ItemStatCounter.Dimension.TOTAL, "");
+        if (count <= 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal sum = counterRepository.sumConditionSum(ItemStatCounter.Dimension.TOTAL, "");
+        return sum.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    // Holds an exclusive lock on the counters while it runs: item writes wait at commit, so the
+    // rebuilt counters match exactly the items committed before it
+    @Override
+    @Scheduled(fixedDelayString = "${app.items.stats.reconcile-ms:21600000}",
+               initialDelayString = "${app.items.stats.reconcile-initial-delay-ms:60000}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        Long drift = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN EXCLUSIVE MODE");
+            Long corrected = jdbcTemplate.queryForObject(COUNT_DRIFT_SQL, Long.class);
+            jdbcTemplate.update("DELETE FROM " + TABLE);
+            jdbcTemplate.update(REBUILD_SQL);
+            return corrected;
+        });
+        meterRegistry.timer("items.stats.reconcile").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (drift != null && drift > 0) {
+            meterRegistry.counter("items.stats.corrections").increment(drift);
+            log.warn("Item stat counters reconciled, {} counters corrected", drift);
+        } else {
+            log.info("Item stat counters reconciled, no drift");
+        }
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        if (contribution == null || contribution.count() == 0) {
+            return;
+        }
+        // One sorted map per transaction, written just before it commits
+        TransactionCallbacks.collectBeforeCommit(this, TreeMap<CounterKey, Delta>::new, deltas -> {
+            add(deltas, ItemStatCounter.Dimension.TOTAL, "", contribution, sign);
+            if (contribution.status() != null) {
+                add(deltas, ItemStatCounter.Dimension.STATUS, contribution.status().name(), contribution, sign);
+            }
+            if (contribution.ownerId() != null) {
+                add(deltas, ItemStatCounter.Dimension.OWNER, contribution.ownerId().toString(), contribution, sign);
+            }
+            if (contribution.categoryId() != null) {
+                add(deltas, ItemStatCounter.Dimension.CATEGORY, contribution.categoryId().toString(), contribution, sign);
+                if (contribution.status() != null) {
+                    add(deltas, ItemStatCounter.Dimension.CATEGORY_STATUS,
+                            contribution.categoryId() + ":" + contribution.status().name(), contribution, sign);
+                }
+            }
+        }, this::write);
+    }
+
+    private static void add(Map<CounterKey, Delta> deltas, ItemStatCounter.Dimension dimension, String key,
+                            Contribution contribution, int sign) {
+        Delta delta = deltas.computeIfAbsent(new CounterKey(dimension, key), k -> new Delta());
+        delta.count += sign * contribution.count();
+        if (contribution.conditionSum() != null) {
+            delta.conditionSum = sign > 0
+                    ? delta.conditionSum.add(contribution.conditionSum())
+                    : delta.conditionSum.subtract(contribution.conditionSum());
+        }
+    }
+
+    private void write(Map<CounterKey, Delta> deltas) {
+        int slot = ThreadLocalRandom.current().nextInt(Math.max(1, slots));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            if (!delta.isZero()) {
+                rows.add(new Object[]{key.dimension().name(), key.key(), slot, delta.count, delta.conditionSum, now});
+            }
+        });
+        deltas.clear();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+}
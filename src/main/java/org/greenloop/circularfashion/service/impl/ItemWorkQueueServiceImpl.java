@@ -0,0 +1,172 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.ItemWorkLease;
+import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
+import org.greenloop.circularfashion.entity.response.ItemWorkBatchResponse;
+import org.greenloop.circularfashion.entity.response.ItemWorkQueueStatsResponse;
+import org.greenloop.circularfashion.exception.ResourceNotFoundException;
+import org.greenloop.circularfashion.repository.ItemRepository;
+import org.greenloop.circularfashion.repository.ItemWorkLeaseRepository;
+import org.greenloop.circularfashion.repository.UserRepository;
+import org.greenloop.circularfashion.service.ItemWorkQueueService;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Staff work queues for verification and valuation. A claim leases the highest-priority unleased
+ * items to one staff member in a single statement that skips rows other claimers are locking, so
+ * concurrent staff get disjoint batches instead of the whole backlog. Leases expire on their own
+ * when a client disappears, and the item write that does the work drops the lease.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class ItemWorkQueueServiceImpl implements ItemWorkQueueService {
+
+    private static final int MAX_CLAIM_SIZE = 100;
+
+    private final ItemWorkLeaseRepository leaseRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.items.work-queue.lease-seconds:900}")
+    private long leaseSeconds;
+
+    @Value("${app.items.work-queue.value-per-hour:10}")
+    private BigDecimal valuePerHour;
+
+    @Override
+    public ItemWorkBatchResponse claim(ItemWorkLease.Queue queue, UUID staffId, int size) {
+        if (size < 1 || size > MAX_CLAIM_SIZE) {
+            throw new IllegalArgumentException("Claim size must be between 1 and " + MAX_CLAIM_SIZE);
+        }
+        if (!userRepository.existsById(staffId)) {
+            throw new ResourceNotFoundException("User", "id", staffId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusSeconds(leaseSeconds);
+        List<UUID> itemIds = switch (queue) {
+            case VERIFICATION -> leaseRepository.claimVerificationWork(queue.name(), staffId, size, valuePerHour, now, expiresAt);
+            case VALUATION -> leaseRepository.claimValuationWork(queue.name(), staffId, size, valuePerHour, now, expiresAt);
+        };
+        meterRegistry.counter("items.work_queue.claimed", "queue", tag(queue), "staff", staffId.toString())
+                .increment(itemIds.size());
+        log.debug("Leased {} {} items to staff {} until {}", itemIds.size(), queue, staffId, expiresAt);
+
+        List<ItemSummaryResponse> items = List.of();
+        if (!itemIds.isEmpty()) {
+            Map<UUID, Integer> claimOrder = new HashMap<>();
+            for (int i = 0; i < itemIds.size(); i++) {
+                claimOrder.put(itemIds.get(i), i);
+            }
+            items = itemRepository.findSummariesByIds(itemIds).stream()
+                    .sorted(Comparator.comparing(item -> claimOrder.get(item.getItemId())))
+                    .toList();
+        }
+
+        return ItemWorkBatchResponse.builder()
+                .queue(queue)
+                .staffId(staffId)
+                .leasedAt(now)
+                .expiresAt(expiresAt)
+                .items(items)
+                .build();
+    }
+
+    @Override
+    public int renew(ItemWorkLease.Queue queue, UUID staffId) {
+        LocalDateTime now = LocalDateTime.now();
+        return leaseRepository.renew(staffId, queue, now, now.plusSeconds(leaseSeconds));
+    }
+
+    @Override
+    public int release(ItemWorkLease.Queue queue, UUID staffId, List<UUID> itemIds) {
+        int released = itemIds == null || itemIds.isEmpty()
+                ? leaseRepository.releaseAll(staffId, queue)
+                : leaseRepository.release(staffId, queue, itemIds);
+        meterRegistry.counter("items.work_queue.released", "queue", tag(queue)).increment(released);
+        return released;
+    }
+
+    @Override
+    public void complete(UUID itemId, ItemWorkLease.Queue queue, UUID staffId) {
+        ItemWorkLease lease = leaseRepository.findByItemIdAndQueue(itemId, queue).orElse(null);
+        boolean heldByStaff = false;
+        if (lease != null) {
+            heldByStaff = lease.getStaffId().equals(staffId);
+            if (lease.isActive(LocalDateTime.now()) && !heldByStaff) {
+                throw new IllegalStateException("Item " + itemId + " is leased to another staff member until " +
+                        lease.getExpiresAt());
+            }
+            leaseRepository.delete(lease);
+        }
+
+        if (staffId == null) {
+            return;
+        }
+        LocalDateTime leasedAt = heldByStaff ? lease.getLeasedAt() : null;
+        TransactionCallbacks.afterCommit(() -> {
+            meterRegistry.counter("items.work_queue.completed", "queue", tag(queue), "staff", staffId.toString())
+                    .increment();
+            if (leasedAt != null) {
+                meterRegistry.timer("items.work_queue.lease_held", "queue", tag(queue))
+                        .record(Duration.between(leasedAt, LocalDateTime.now()));
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ItemWorkQueueStatsResponse getStats(ItemWorkLease.Queue queue) {
+        long backlog = switch (queue) {
+            case VERIFICATION -> leaseRepository.countVerificationWork();
+            case VALUATION -> leaseRepository.countValuationWork();
+        };
+        long leased = leaseRepository.countActive(queue, LocalDateTime.now());
+        return ItemWorkQueueStatsResponse.builder()
+                .queue(queue)
+                .backlog(backlog)
+                .leased(leased)
+                .available(Math.max(0, backlog - leased))
+                .build();
+    }
+
+    // Expired leases are already claimable; this only keeps the table small
+    @Scheduled(fixedDelayString = "${app.items.work-queue.sweep-ms:60000}")
+    public void deleteExpiredLeases() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        for (ItemWorkLease.Queue queue : ItemWorkLease.Queue.values()) {
+            Integer expired = transaction.execute(status -> leaseRepository.deleteExpired(queue, now));
+            if (expired != null && expired > 0) {
+                meterRegistry.counter("items.work_queue.expired", "queue", tag(queue)).increment(expired);
+                log.debug("Dropped {} expired {} leases", expired, queue);
+            }
+        }
+    }
+
+    private static String tag(ItemWorkLease.Queue queue) {
+        return queue.name().toLowerCase();
+    }
+}
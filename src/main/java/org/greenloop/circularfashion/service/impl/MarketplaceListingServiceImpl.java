@@ -5,11 +5,13 @@ import org.greenloop.circularfashion.enums.ListingStatus;
 import org.greenloop.circularfashion.enums.ListingType;
 import org.greenloop.circularfashion.repository.MarketplaceListingRepository;
 import org.greenloop.circularfashion.service.MarketplaceListingService;
+import org.greenloop.circularfashion.service.UserCounterService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,9 +22,14 @@ public class MarketplaceListingServiceImpl implements MarketplaceListingService
     @Autowired
     private MarketplaceListingRepository marketplaceListingRepository;
 
+    @Autowired
+    private UserCounterService userCounterService;
+
     @Override
     public MarketplaceListing create(MarketplaceListing listing) {
-        return marketplaceListingRepository.save(listing);
+        MarketplaceListing saved = marketplaceListingRepository.save(listing);
+        userCounterService.listingAdded(sellerId(saved));
+        return saved;
     }
 
     @Override
@@ -54,14 +61,28 @@ public class MarketplaceListingServiceImpl implements MarketplaceListingService
     public MarketplaceListing update(UUID id, MarketplaceListing updated) { // Changed from Long to UUID
         return marketplaceListingRepository.findById(id)
                 .map(existing -> {
+                    UUID previousSellerId = sellerId(existing);
                     updated.setListingId(existing.getListingId());
-                    return marketplaceListingRepository.save(updated);
+                    MarketplaceListing saved = marketplaceListingRepository.save(updated);
+                    UUID sellerId = sellerId(saved);
+                    if (!Objects.equals(previousSellerId, sellerId)) {
+                        userCounterService.listingRemoved(previousSellerId);
+                        userCounterService.listingAdded(sellerId);
+                    }
+                    return saved;
                 })
                 .orElseThrow(() -> new IllegalArgumentException("Listing not found with id: " + id));
     }
 
     @Override
     public void delete(UUID id) { // Changed from Long to UUID
-        marketplaceListingRepository.deleteById(id);
+        marketplaceListingRepository.findById(id).ifPresent(listing -> {
+            marketplaceListingRepository.delete(listing);
+            userCounterService.listingRemoved(sellerId(listing));
+        });
+    }
+
+    private static UUID sellerId(MarketplaceListing listing) {
+        return listing.getSeller() != null ? listing.getSeller().getUserId() : null;
     }
 } 
\ No newline at end of file
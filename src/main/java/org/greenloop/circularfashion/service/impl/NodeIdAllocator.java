@@ -0,0 +1,119 @@
+package org.greenloop.circularfashion.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.repository.NodeIdLeaseRepository;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Leases the node id that TimeOrderedIds puts into item codes, so two running instances never mint
+ * codes from the same node id. Claimed before the web server starts (startup fails if every id is
+ * taken), renewed well inside the lease and released on shutdown. An instance that finds its lease
+ * gone (it could not renew in time and another instance took the id over) stops minting codes until
+ * it holds a new one. Skipped when GREENLOOP_NODE_ID pins the node id.
+ */
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+@Slf4j
+public class NodeIdAllocator {
+
+    private static final int CLAIM_ATTEMPTS = 5;
+
+    private final NodeIdLeaseRepository leaseRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.ids.node-lease.ttl-ms:300000}")
+    private long leaseTtlMs;
+
+    private final String instanceId = TimeOrderedIds.uuid().toString();
+
+    private volatile Integer nodeId;
+    private volatile long leasedAtMs;
+
+    @PostConstruct
+    public void claim() {
+        if (TimeOrderedIds.hasConfiguredNodeId()) {
+            log.info("Item code node id pinned by GREENLOOP_NODE_ID, no lease taken");
+            return;
+        }
+        for (int attempt = 1; attempt <= CLAIM_ATTEMPTS; attempt++) {
+            Optional<Integer> claimed = new TransactionTemplate(transactionManager).execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                return leaseRepository.claim(instanceId, TimeOrderedIds.MAX_NODE_ID, now, now.plusNanos(leaseTtlMs * 1_000_000));
+            });
+            if (claimed != null && claimed.isPresent()) {
+                nodeId = claimed.get();
+                leasedAtMs = System.currentTimeMillis();
+                TimeOrderedIds.assignNodeId(nodeId);
+                log.info("Leased item code node id {} for instance {}", nodeId, instanceId);
+                return;
+            }
+        }
+        throw new IllegalStateException("No free item code node id after " + CLAIM_ATTEMPTS + " attempts; " +
+                "all " + (TimeOrderedIds.MAX_NODE_ID + 1) + " are leased by running instances");
+    }
+
+    @Scheduled(fixedDelayString = "${app.ids.node-lease.renew-ms:60000}",
+               initialDelayString = "${app.ids.node-lease.renew-ms:60000}")
+    public void renew() {
+        Integer current = nodeId;
+        if (current == null) {
+            if (!TimeOrderedIds.hasConfiguredNodeId()) {
+                claim();
+            }
+            return;
+        }
+        long attemptedAtMs = System.currentTimeMillis();
+        Integer renewed;
+        try {
+            renewed = new TransactionTemplate(transactionManager).execute(status ->
+                    leaseRepository.renew(current, instanceId, LocalDateTime.now().plusNanos(leaseTtlMs * 1_000_000)));
+        } catch (RuntimeException e) {
+            // Past the lease another instance may already hold the id
+            if (attemptedAtMs - leasedAtMs >= leaseTtlMs) {
+                log.error("Could not renew item code node id {} within its lease, no codes until renewed", current);
+                drop();
+            }
+            throw e;
+        }
+        if (renewed == null || renewed == 0) {
+            log.error("Lease on item code node id {} was lost, claiming a new one", current);
+            drop();
+            claim();
+        } else {
+            leasedAtMs = attemptedAtMs;
+        }
+    }
+
+    private void drop() {
+        nodeId = null;
+        TimeOrderedIds.clearNodeId();
+    }
+
+    @PreDestroy
+    public void release() {
+        Integer current = nodeId;
+        if (current == null) {
+            return;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    leaseRepository.release(current, instanceId));
+        } catch (RuntimeException e) {
+            // The lease simply expires
+            log.warn("Could not release item code node id {}: {}", current, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.SustainabilityRollup;
+import org.greenloop.circularfashion.entity.response.SustainabilityImpactPoint;
+import org.greenloop.circularfashion.entity.response.SustainabilityImpactResponse;
+import org.greenloop.circularfashion.repository.SustainabilityRollupRepository;
+import org.greenloop.circularfashion.service.SustainabilityRollupService;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Incremental impact rollups. Credits made by a transaction are summed per rollup row in memory
+ * and upserted in one sorted batch right before it commits (each credit touches the day and the
+ * month row of the platform, the user and the category). Dashboards read at most one row per
+ * period and event. Backfill rebuilds whole months from item_lifecycle, one month per transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SustainabilityRollupServiceImpl implements SustainabilityRollupService {
+
+    private static final String TABLE = "sustainability_rollups";
+    private static final String UPSERT_SQL = "INSERT INTO " + TABLE + " (scope, scope_key, period, period_start, " +
+            "impact_event, item_count, carbon_footprint_kg, water_saved_liters, energy_saved_kwh, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (scope, scope_key, period, period_start, impact_event) DO UPDATE SET " +
+            "item_count = " + TABLE + ".item_count + EXCLUDED.item_count, " +
+            "carbon_footprint_kg = " + TABLE + ".carbon_footprint_kg + EXCLUDED.carbon_footprint_kg, " +
+            "water_saved_liters = " + TABLE + ".water_saved_liters + EXCLUDED.water_saved_liters, " +
+            "energy_saved_kwh = " + TABLE + ".energy_saved_kwh + EXCLUDED.energy_saved_kwh, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // Same attribution as Impact.of: the donor on collection, the current owner otherwise
+    private static final String BACKFILL_SQL = "INSERT INTO " + TABLE + " (scope, scope_key, period, period_start, " +
+            "impact_event, item_count, carbon_footprint_kg, water_saved_liters, energy_saved_kwh, updated_at) " +
+            "WITH credits AS (SELECT l.new_status AS impact_event, CAST(l.created_at AS date) AS day, " +
+            "CASE WHEN l.new_status = 'COLLECTED' THEN i.original_owner_id ELSE i.current_owner_id END AS user_id, " +
+            "i.category_id, i.carbon_footprint_kg, i.water_saved_liters, i.energy_saved_kwh " +
+            "FROM item_lifecycle l JOIN items i ON i.item_id = l.item_id " +
+            "WHERE l.new_status IN ('COLLECTED', 'SOLD', 'RECYCLED') AND l.created_at >= ? AND l.created_at < ?), " +
+            "scoped AS (SELECT 'PLATFORM' AS scope, '' AS scope_key, c.* FROM credits c " +
+            "UNION ALL SELECT 'USER', CAST(c.user_id AS varchar), c.* FROM credits c WHERE c.user_id IS NOT NULL " +
+            "UNION ALL SELECT 'CATEGORY', CAST(c.category_id AS varchar), c.* FROM credits c WHERE c.category_id IS NOT NULL) " +
+            "SELECT scope, scope_key, 'DAY', day, impact_event, COUNT(*), COALESCE(SUM(carbon_footprint_kg), 0), " +
+            "COALESCE(SUM(water_saved_liters), 0), COALESCE(SUM(energy_saved_kwh), 0), LOCALTIMESTAMP " +
+            "FROM scoped GROUP BY scope, scope_key, day, impact_event " +
+            "UNION ALL SELECT scope, scope_key, 'MONTH', CAST(? AS date), impact_event, COUNT(*), " +
+            "COALESCE(SUM(carbon_footprint_kg), 0), COALESCE(SUM(water_saved_liters), 0), " +
+            "COALESCE(SUM(energy_saved_kwh), 0), LOCALTIMESTAMP " +
+            "FROM scoped GROUP BY scope, scope_key, impact_event";
+
+    private static final int MAX_DAYS = 366;
+    private static final int MAX_MONTHS = 120;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SustainabilityRollupRepository rollupRepository;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    private record RollupKey(SustainabilityRollup.Scope scope, String scopeKey, SustainabilityRollup.Period period,
+                             LocalDate periodStart, Item.ItemStatus impactEvent) {
+
+        static final Comparator<RollupKey> ORDER = Comparator.comparing(RollupKey::scope)
+                .thenComparing(RollupKey::scopeKey)
+                .thenComparing(RollupKey::period)
+                .thenComparing(RollupKey::periodStart)
+                .thenComparing(RollupKey::impactEvent);
+    }
+
+    private static final class Totals {
+        long count;
+        BigDecimal carbon = BigDecimal.ZERO;
+        BigDecimal water = BigDecimal.ZERO;
+        BigDecimal energy = BigDecimal.ZERO;
+
+        void add(Impact impact) {
+            count += impact.count();
+            carbon = carbon.add(orZero(impact.carbonFootprintKg()));
+            water = water.add(orZero(impact.waterSavedLiters()));
+            energy = energy.add(orZero(impact.energySavedKwh()));
+        }
+    }
+
+    @Override
+    public void credit(Impact impact) {
+        if (impact == null || impact.count() == 0 || !IMPACT_STATUSES.contains(impact.event())) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate month = today.withDayOfMonth(1);
+        // One sorted map per transaction, written just before it commits
+        TransactionCallbacks.collectBeforeCommit(this, () -> new TreeMap<RollupKey, Totals>(RollupKey.ORDER), rollups -> {
+            for (SustainabilityRollup.Period period : SustainabilityRollup.Period.values()) {
+                LocalDate periodStart = period == SustainabilityRollup.Period.DAY ? today : month;
+                add(rollups, SustainabilityRollup.Scope.PLATFORM, "", period, periodStart, impact);
+                if (impact.userId() != null) {
+                    add(rollups, SustainabilityRollup.Scope.USER, impact.userId().toString(), period, periodStart, impact);
+                }
+                if (impact.categoryId() != null) {
+                    add(rollups, SustainabilityRollup.Scope.CATEGORY, impact.categoryId().toString(), period, periodStart, impact);
+                }
+            }
+        }, this::write);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public SustainabilityImpactResponse getImpact(SustainabilityRollup.Scope scope, UUID scopeId,
+                                                  SustainabilityRollup.Period period, LocalDate from, LocalDate to,
+                                                  Item.ItemStatus impactEvent) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A date range with from <= to is required");
+        }
+        if (scope != SustainabilityRollup.Scope.PLATFORM && scopeId == null) {
+            throw new IllegalArgumentException("An id is required for " + scope + " impact");
+        }
+        if (impactEvent != null && !IMPACT_STATUSES.contains(impactEvent)) {
+            throw new IllegalArgumentException("Not an impact event: " + impactEvent + " (expected " + IMPACT_STATUSES + ")");
+        }
+        LocalDate rangeStart = from;
+        if (period == SustainabilityRollup.Period.MONTH) {
+            rangeStart = from.withDayOfMonth(1);
+            if (ChronoUnit.MONTHS.between(rangeStart, to) >= MAX_MONTHS) {
+                throw new IllegalArgumentException("Monthly ranges are limited to " + MAX_MONTHS + " months");
+            }
+        } else if (ChronoUnit.DAYS.between(from, to) >= MAX_DAYS) {
+            throw new IllegalArgumentException("Daily ranges are limited to " + MAX_DAYS + " days");
+        }
+
+        String scopeKey = scope == SustainabilityRollup.Scope.PLATFORM ? "" : scopeId.toString();
+        List<SustainabilityImpactPoint> series = new ArrayList<>();
+        SustainabilityImpactPoint totals = point(null, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+        for (Object[] row : rollupRepository.sumByPeriod(scope, scopeKey, period, rangeStart, to, impactEvent)) {
+            SustainabilityImpactPoint point = point((LocalDate) row[0], ((Number) row[1]).longValue(),
+                    (BigDecimal) row[2], (BigDecimal) row[3], (BigDecimal) row[4]);
+            series.add(point);
+            totals.setItemCount(totals.getItemCount() + point.getItemCount());
+            totals.setCarbonFootprintKg(totals.getCarbonFootprintKg().add(point.getCarbonFootprintKg()));
+            totals.setWaterSavedLiters(totals.getWaterSavedLiters().add(point.getWaterSavedLiters()));
+            totals.setEnergySavedKwh(totals.getEnergySavedKwh().add(point.getEnergySavedKwh()));
+        }
+
+        return SustainabilityImpactResponse.builder()
+                .scope(scope)
+                .scopeKey(scopeKey.isEmpty() ? null : scopeKey)
+                .period(period)
+                .from(rangeStart)
+                .to(to)
+                .impactEvent(impactEvent)
+                .totals(totals)
+                .series(series)
+                .build();
+    }
+
+    // Each month is replaced under an exclusive lock, so live credits wait instead of being lost
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int backfill(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A date range with from <= to is required");
+        }
+        long started = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int months = 0;
+        for (LocalDate month = from.withDayOfMonth(1); !month.isAfter(to); month = month.plusMonths(1)) {
+            LocalDate start = month;
+            LocalDate end = month.plusMonths(1);
+            Integer written = transaction.execute(status -> {
+                jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN EXCLUSIVE MODE");
+                jdbcTemplate.update("DELETE FROM " + TABLE + " WHERE period_start >= ? AND period_start < ?",
+                        Date.valueOf(start), Date.valueOf(end));
+                return jdbcTemplate.update(BACKFILL_SQL, Timestamp.valueOf(start.atStartOfDay()),
+                        Timestamp.valueOf(end.atStartOfDay()), Date.valueOf(start));
+            });
+            log.info("Sustainability rollups for {} rebuilt ({} rows)", start, written);
+            months++;
+        }
+        meterRegistry.timer("sustainability.rollups.backfill").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return months;
+    }
+
+    private static void add(Map<RollupKey, Totals> rollups, SustainabilityRollup.Scope scope, String scopeKey,
+                            SustainabilityRollup.Period period, LocalDate periodStart, Impact impact) {
+        rollups.computeIfAbsent(new RollupKey(scope, scopeKey, period, periodStart, impact.event()), k -> new Totals())
+                .add(impact);
+    }
+
+    private void write(Map<RollupKey, Totals> rollups) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(rollups.size());
+        rollups.forEach((key, totals) -> rows.add(new Object[]{
+                key.scope().name(), key.scopeKey(), key.period().name(), Date.valueOf(key.periodStart()),
+                key.impactEvent().name(), totals.count, totals.carbon, totals.water, totals.energy, now}));
+        rollups.clear();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        meterRegistry.counter("sustainability.rollups.upserts").increment(rows.size());
+    }
+
+    private static SustainabilityImpactPoint point(LocalDate periodStart, long count, BigDecimal carbon,
+                                                   BigDecimal water, BigDecimal energy) {
+        return SustainabilityImpactPoint.builder()
+                .periodStart(periodStart)
+                .itemCount(count)
+                .carbonFootprintKg(orZero(carbon))
+                .waterSavedLiters(orZero(water))
+                .energySavedKwh(orZero(energy))
+                .build();
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,35 @@
+package org.greenloop.circularfashion.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Whether the pg_trgm extension is installed, checked once on first use. V6 and V12 create it when
+ * the database role is allowed to; without it the searches skip the trigram operators (% and
+ * similarity()), which would otherwise fail: user search falls back to plain substring matching
+ * and item full-text search loses its typo fallback.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TrigramSupport {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean available;
+
+    public boolean isAvailable() {
+        Boolean current = available;
+        if (current == null) {
+            current = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class));
+            if (!current) {
+                log.warn("pg_trgm is not installed, searches fall back to substring matching");
+            }
+            available = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,215 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.ItemStatCounter;
+import org.greenloop.circularfashion.entity.UserActivityCounter;
+import org.greenloop.circularfashion.repository.ItemStatCounterRepository;
+import org.greenloop.circularfashion.repository.UserActivityCounterRepository;
+import org.greenloop.circularfashion.service.UserCounterService;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Per-user follower, following, listing and order counts kept in user_activity_counters. Like the
+ * item stat counters, the changes of a transaction are summed in memory and upserted right before it
+ * commits, ordered by user id so two transactions touching the same pair of users cannot deadlock.
+ * A nightly reconciliation rebuilds the table from the source rows to repair drift, e.g. from
+ * cascaded deletes of users.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserCounterServiceImpl implements UserCounterService {
+
+    private static final String TABLE = "user_activity_counters";
+    private static final String UPSERT_SQL = "INSERT INTO " + TABLE +
+            " (user_id, followers_count, following_count, listings_count, orders_count, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (user_id) DO UPDATE SET " +
+            "followers_count = " + TABLE + ".followers_count + EXCLUDED.followers_count, " +
+            "following_count = " + TABLE + ".following_count + EXCLUDED.following_count, " +
+            "listings_count = " + TABLE + ".listings_count + EXCLUDED.listings_count, " +
+            "orders_count = " + TABLE + ".orders_count + EXCLUDED.orders_count, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // Every counter row as it should be: (user_id, followers_count, following_count, listings_count, orders_count)
+    private static final String FRESH_COUNTERS =
+            "SELECT user_id, SUM(followers_count) AS followers_count, SUM(following_count) AS following_count, " +
+            "SUM(listings_count) AS listings_count, SUM(orders_count) AS orders_count FROM (" +
+            "SELECT followed_id AS user_id, COUNT(*) AS followers_count, 0 AS following_count, 0 AS listings_count, " +
+            "0 AS orders_count FROM user_follows GROUP BY followed_id " +
+            "UNION ALL SELECT follower_id, 0, COUNT(*), 0, 0 FROM user_follows GROUP BY follower_id " +
+            "UNION ALL SELECT seller_id, 0, 0, COUNT(*), 0 FROM marketplace_listings GROUP BY seller_id " +
+            "UNION ALL SELECT buyer_id, 0, 0, 0, COUNT(*) FROM orders GROUP BY buyer_id" +
+            ") activity GROUP BY user_id";
+
+    private static final String COUNT_DRIFT_SQL = "WITH fresh AS (" + FRESH_COUNTERS + ") " +
+            "SELECT COUNT(*) FROM fresh f FULL JOIN " + TABLE + " c ON c.user_id = f.user_id " +
+            "WHERE COALESCE(f.followers_count, 0) <> COALESCE(c.followers_count, 0) " +
+            "OR COALESCE(f.following_count, 0) <> COALESCE(c.following_count, 0) " +
+            "OR COALESCE(f.listings_count, 0) <> COALESCE(c.listings_count, 0) " +
+            "OR COALESCE(f.orders_count, 0) <> COALESCE(c.orders_count, 0)";
+
+    private static final String REBUILD_SQL = "INSERT INTO " + TABLE +
+            " (user_id, followers_count, following_count, listings_count, orders_count, updated_at) " +
+            "SELECT f.user_id, f.followers_count, f.following_count, f.listings_count, f.orders_count, LOCALTIMESTAMP " +
+            "FROM (" + FRESH_COUNTERS + ") f";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserActivityCounterRepository counterRepository;
+    private final ItemStatCounterRepository itemStatCounterRepository;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final class Delta {
+        long followers;
+        long following;
+        long listings;
+        long orders;
+
+        boolean isZero() {
+            return followers == 0 && following == 0 && listings == 0 && orders == 0;
+        }
+    }
+
+    @Override
+    public void followAdded(UUID followerId, UUID followedId) {
+        adjustFollow(followerId, followedId, 1);
+    }
+
+    @Override
+    public void followRemoved(UUID followerId, UUID followedId) {
+        adjustFollow(followerId, followedId, -1);
+    }
+
+    @Override
+    public void listingAdded(UUID sellerId) {
+        adjustListings(sellerId, 1);
+    }
+
+    @Override
+    public void listingRemoved(UUID sellerId) {
+        adjustListings(sellerId, -1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Counts get(UUID userId) {
+        return getAll(List.of(userId)).get(userId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Counts> getAll(Collection<UUID> userIds) {
+        Map<UUID, Counts> counts = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return counts;
+        }
+        Map<UUID, UserActivityCounter> activity = new HashMap<>();
+        counterRepository.findAllById(userIds).forEach(counter -> activity.put(counter.getUserId(), counter));
+        Map<String, Long> items = new HashMap<>();
+        for (Object[] row : itemStatCounterRepository.sumItemCountsByKeys(ItemStatCounter.Dimension.OWNER,
+                userIds.stream().map(UUID::toString).toList())) {
+            items.put((String) row[0], ((Number) row[1]).longValue());
+        }
+
+        for (UUID userId : userIds) {
+            UserActivityCounter counter = activity.get(userId);
+            long owned = items.getOrDefault(userId.toString(), 0L);
+            counts.put(userId, counter == null
+                    ? new Counts(0, 0, owned, 0, 0)
+                    : new Counts(counter.getFollowersCount(), counter.getFollowingCount(), owned,
+                            counter.getListingsCount(), counter.getOrdersCount()));
+        }
+        return counts;
+    }
+
+    // Counters are only written by maintained deltas; a fresh deployment starts from the source rows
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillIfEmpty() {
+        if (counterRepository.count() == 0
+                && Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (" + FRESH_COUNTERS + ")", Boolean.class))) {
+            log.info("User activity counters are empty, filling them from the source tables");
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> rebuild());
+        }
+    }
+
+    // Holds an exclusive lock on the counters while it runs: follow and listing writes wait at
+    // commit, so the rebuilt counters match exactly the rows committed before it
+    @Override
+    @Scheduled(cron = "${app.users.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        long start = System.nanoTime();
+        Long drift = new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE " + TABLE + " IN EXCLUSIVE MODE");
+            Long corrected = jdbcTemplate.queryForObject(COUNT_DRIFT_SQL, Long.class);
+            rebuild();
+            return corrected;
+        });
+        meterRegistry.timer("users.counters.reconcile").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (drift != null && drift > 0) {
+            meterRegistry.counter("users.counters.corrections").increment(drift);
+            log.warn("User activity counters reconciled, {} users corrected", drift);
+        } else {
+            log.info("User activity counters reconciled, no drift");
+        }
+    }
+
+    private void rebuild() {
+        jdbcTemplate.update("DELETE FROM " + TABLE);
+        jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    private void adjustFollow(UUID followerId, UUID followedId, int sign) {
+        adjust(deltas -> {
+            deltas.computeIfAbsent(followerId, id -> new Delta()).following += sign;
+            deltas.computeIfAbsent(followedId, id -> new Delta()).followers += sign;
+        });
+    }
+
+    private void adjustListings(UUID sellerId, int sign) {
+        if (sellerId == null) {
+            return;
+        }
+        adjust(deltas -> deltas.computeIfAbsent(sellerId, id -> new Delta()).listings += sign);
+    }
+
+    // One sorted map per transaction, written just before it commits
+    private void adjust(Consumer<Map<UUID, Delta>> update) {
+        TransactionCallbacks.collectBeforeCommit(this, TreeMap::new, update, this::write);
+    }
+
+    private void write(Map<UUID, Delta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((userId, delta) -> {
+            if (!delta.isZero()) {
+                rows.add(new Object[]{userId, delta.followers, delta.following, delta.listings, delta.orders, now});
+            }
+        });
+        deltas.clear();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.greenloop.circularfashion.entity.BatchJobCheckpoint;
+import org.greenloop.circularfashion.entity.response.ScoreRecomputeReport;
+import org.greenloop.circularfashion.exception.ResourceNotFoundException;
+import org.greenloop.circularfashion.repository.BatchJobCheckpointRepository;
+import org.greenloop.circularfashion.service.UserScoreService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trust and sustainability scores computed from pre-aggregated data: reviews received, completed
+ * sales, sustainability points and the USER sustainability rollups. The batch run splits users into
+ * id ranges, scores the ranges in parallel on a bounded fork-join pool (one connection per worker)
+ * and writes each range back with one batched UPDATE that skips unchanged rows. A checkpoint keeps
+ * the highest id below which every range is done, so an interrupted run resumes from there.
+ * The checkpoint row doubles as the run lock: a run claims it with a conditional UPDATE and renews
+ * its lease with every checkpoint write, so the nightly cron firing on every instance runs once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserScoreServiceImpl implements UserScoreService {
+
+    private static final String JOB_NAME = "user-scores";
+
+    // Sorts before every real id; a run from the start covers user_id > FIRST_ID
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private static final BigDecimal MAX_SCORE = BigDecimal.valueOf(10);
+
+    // (user_id, is_verified, email_verified, phone_verified, is_banned, sustainability_points,
+    //  review_count, rating_sum, completed_sales, impact_items) of the users matched by the filter
+    private static final String AGGREGATES_SQL = "WITH chunk AS (SELECT user_id, is_verified, email_verified, " +
+            "phone_verified, is_banned, sustainability_points FROM users WHERE %s) " +
+            "SELECT c.user_id, c.is_verified, c.email_verified, c.phone_verified, c.is_banned, c.sustainability_points, " +
+            "COALESCE(r.review_count, 0), COALESCE(r.rating_sum, 0), COALESCE(o.completed_sales, 0), " +
+            "COALESCE(s.impact_items, 0) FROM chunk c " +
+            "LEFT JOIN (SELECT reviewed_user_id AS user_id, COUNT(*) AS review_count, SUM(rating) AS rating_sum " +
+            "FROM reviews WHERE reviewed_user_id IN (SELECT user_id FROM chunk) AND COALESCE(is_hidden, false) = false " +
+            "GROUP BY reviewed_user_id) r ON r.user_id = c.user_id " +
+            "LEFT JOIN (SELECT seller_id AS user_id, COUNT(*) AS completed_sales FROM orders " +
+            "WHERE seller_id IN (SELECT user_id FROM chunk) AND order_status IN ('DELIVERED', 'COMPLETED') " +
+            "GROUP BY seller_id) o ON o.user_id = c.user_id " +
+            "LEFT JOIN (SELECT scope_key, SUM(item_count) AS impact_items FROM sustainability_rollups " +
+            "WHERE scope = 'USER' AND period = 'MONTH' AND scope_key IN (SELECT CAST(user_id AS varchar) FROM chunk) " +
+            "GROUP BY scope_key) s ON s.scope_key = CAST(c.user_id AS varchar)";
+    private static final String AGGREGATES_IN_RANGE_SQL = AGGREGATES_SQL.formatted("user_id > ? AND user_id <= ?");
+    private static final String AGGREGATES_OF_USER_SQL = AGGREGATES_SQL.formatted("user_id = ?");
+
+    // Every chunkSize-th id after the start: the upper bounds of the ranges
+    private static final String RANGE_BOUNDS_SQL = "SELECT user_id FROM (SELECT user_id, " +
+            "ROW_NUMBER() OVER (ORDER BY user_id) AS rn FROM users WHERE user_id > ?) numbered " +
+            "WHERE MOD(rn, ?) = 0 ORDER BY user_id";
+    private static final String LAST_ID_SQL = "SELECT MAX(user_id) FROM users WHERE user_id > ?";
+
+    // Leaves updated_at alone: scores are derived data and must not look like account changes
+    private static final String UPDATE_SCORES_SQL = "UPDATE users SET trust_score = ?, sustainability_score = ? " +
+            "WHERE user_id = ? AND (trust_score IS DISTINCT FROM ? OR sustainability_score IS DISTINCT FROM ?)";
+
+    private static final RowMapper<Aggregates> AGGREGATES_MAPPER = (rs, rowNum) -> new Aggregates(
+            rs.getObject(1, UUID.class), rs.getBoolean(2), rs.getBoolean(3), rs.getBoolean(4), rs.getBoolean(5),
+            rs.getLong(6), rs.getLong(7), rs.getLong(8), rs.getLong(9), rs.getLong(10));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchJobCheckpointRepository checkpointRepository;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.users.scores.chunk-size:1000}")
+    private int chunkSize;
+
+    // Each worker holds a connection while it scores a range
+    @Value("${app.users.scores.parallelism:3}")
+    private int parallelism;
+
+    // Renewed after every range; a run whose lease runs out stops and leaves the job to others
+    @Value("${app.users.scores.lease-ms:600000}")
+    private long leaseMs;
+
+    private record Aggregates(UUID userId, boolean verified, boolean emailVerified, boolean phoneVerified,
+                              boolean banned, long sustainabilityPoints, long reviewCount, long ratingSum,
+                              long completedSales, long impactItems) {
+    }
+
+    private record Range(int index, UUID after, UUID upTo) {
+    }
+
+    private record RangeResult(int scanned, int updated) {
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Scores score(UUID userId) {
+        return jdbcTemplate.query(AGGREGATES_OF_USER_SQL, AGGREGATES_MAPPER, userId).stream()
+                .findFirst()
+                .map(UserScoreServiceImpl::scores)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+    }
+
+    @Scheduled(cron = "${app.users.scores.cron:0 0 0 * * *}")
+    public void scheduledRecompute() {
+        if (tryRun(true) == null) {
+            log.info("User score recomputation running elsewhere, scheduled run skipped");
+        }
+    }
+
+    @Override
+    public ScoreRecomputeReport recomputeAll(boolean resume) {
+        ScoreRecomputeReport report = tryRun(resume);
+        if (report == null) {
+            throw new IllegalStateException("User score recomputation is already running");
+        }
+        return report;
+    }
+
+    // Null when another run holds the job
+    private ScoreRecomputeReport tryRun(boolean resume) {
+        String owner = UUID.randomUUID().toString();
+        BatchJobCheckpoint checkpoint = startCheckpoint(owner, resume);
+        if (checkpoint == null) {
+            return null;
+        }
+        try {
+            return run(checkpoint, owner);
+        } finally {
+            release(owner);
+        }
+    }
+
+    private ScoreRecomputeReport run(BatchJobCheckpoint checkpoint, String owner) {
+        long start = System.nanoTime();
+        UUID after = checkpoint.getLastKey() != null ? UUID.fromString(checkpoint.getLastKey()) : FIRST_ID;
+        List<Range> ranges = ranges(after);
+        Progress progress = new Progress(checkpoint, owner, ranges);
+
+        List<Callable<RangeResult>> tasks = ranges.stream()
+                .<Callable<RangeResult>>map(range -> () -> {
+                    if (progress.isLost()) {
+                        throw new IllegalStateException("User score recomputation lost its lease");
+                    }
+                    RangeResult result = scoreRange(range);
+                    progress.done(range, result);
+                    return result;
+                })
+                .toList();
+
+        long scanned = 0;
+        long updated = 0;
+        int failed = 0;
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            List<Future<RangeResult>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    RangeResult result = results.get(i).get();
+                    scanned += result.scanned();
+                    updated += result.updated();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.warn("User score range after {} failed: {}", ranges.get(i).after(), e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("User score recomputation interrupted", e);
+        } finally {
+            pool.shutdown();
+        }
+
+        boolean completed = failed == 0 && progress.complete();
+        long elapsedNanos = System.nanoTime() - start;
+        meterRegistry.timer("users.scores.recompute").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("users.scores.updated").increment(updated);
+        double seconds = Math.max(elapsedNanos / 1e9, 1e-3);
+        log.info("User scores recomputed: {} users in {} ranges, {} updated, {} ranges failed, {} users/s",
+                scanned, ranges.size(), updated, failed, Math.round(scanned / seconds));
+
+        return ScoreRecomputeReport.builder()
+                .resumedAfter(FIRST_ID.equals(after) ? null : after)
+                .completed(completed)
+                .chunks(ranges.size())
+                .failedChunks(failed)
+                .usersScanned(scanned)
+                .usersUpdated(updated)
+                .elapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                .usersPerSecond(scanned / seconds)
+                .build();
+    }
+
+    // Claims the job for owner, then continues an unfinished run when asked to, otherwise starts a
+    // new one from the first user. Null when another run holds the job.
+    private BatchJobCheckpoint startCheckpoint(String owner, boolean resume) {
+        createCheckpointIfAbsent();
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (checkpointRepository.claim(JOB_NAME, owner, now, leaseUntil(now)) == 0) {
+                return null;
+            }
+            BatchJobCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElseThrow();
+            if (resume && checkpoint.getCompletedAt() == null && checkpoint.getLastKey() != null) {
+                log.info("Resuming user score recomputation after {}", checkpoint.getLastKey());
+                return checkpoint;
+            }
+            checkpoint.setLastKey(null);
+            checkpoint.setProcessed(0);
+            checkpoint.setStartedAt(now);
+            checkpoint.setUpdatedAt(now);
+            checkpoint.setCompletedAt(null);
+            return checkpoint;
+        });
+    }
+
+    // The row must exist before it can be claimed; concurrent first runs race on its primary key
+    private void createCheckpointIfAbsent() {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                if (!checkpointRepository.existsById(JOB_NAME)) {
+                    LocalDateTime now = LocalDateTime.now();
+                    checkpointRepository.saveAndFlush(BatchJobCheckpoint.builder()
+                            .jobName(JOB_NAME)
+                            .processed(0)
+                            .startedAt(now)
+                            .updatedAt(now)
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("User score checkpoint created concurrently");
+        }
+    }
+
+    private void release(String owner) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    checkpointRepository.release(JOB_NAME, owner));
+        } catch (RuntimeException e) {
+            // The lease simply expires
+            log.warn("Could not release the user score job: {}", e.getMessage());
+        }
+    }
+
+    private LocalDateTime leaseUntil(LocalDateTime now) {
+        return now.plusNanos(leaseMs * 1_000_000);
+    }
+
+    private List<Range> ranges(UUID after) {
+        int size = Math.max(1, chunkSize);
+        List<UUID> bounds = new ArrayList<>(jdbcTemplate.queryForList(RANGE_BOUNDS_SQL, UUID.class, after, size));
+        UUID last = jdbcTemplate.queryForObject(LAST_ID_SQL, UUID.class, after);
+        if (last != null && (bounds.isEmpty() || !bounds.get(bounds.size() - 1).equals(last))) {
+            bounds.add(last);
+        }
+
+        List<Range> ranges = new ArrayList<>(bounds.size());
+        UUID lower = after;
+        for (UUID upper : bounds) {
+            ranges.add(new Range(ranges.size(), lower, upper));
+            lower = upper;
+        }
+        return ranges;
+    }
+
+    private RangeResult scoreRange(Range range) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Aggregates> users = jdbcTemplate.query(AGGREGATES_IN_RANGE_SQL, AGGREGATES_MAPPER,
+                    range.after(), range.upTo());
+            List<Object[]> rows = new ArrayList<>(users.size());
+            for (Aggregates user : users) {
+                Scores scores = scores(user);
+                rows.add(new Object[]{scores.trustScore(), scores.sustainabilityScore(), user.userId(),
+                        scores.trustScore(), scores.sustainabilityScore()});
+            }
+            int updated = 0;
+            if (!rows.isEmpty()) {
+                for (int count : jdbcTemplate.batchUpdate(UPDATE_SCORES_SQL, rows)) {
+                    // Drivers may report a successful statement without its row count
+                    updated += count > 0 ? count : 0;
+                }
+            }
+            return new RangeResult(users.size(), updated);
+        });
+    }
+
+    // Trust: 5 to start, up to +2 for verified account, email and phone, -1 to +1 from the
+    // average rating (full weight from 10 reviews on), up to +1 for completed sales; 0 when banned.
+    // Sustainability: points / 100 plus 0.1 per item collected, sold or recycled.
+    private static Scores scores(Aggregates user) {
+        BigDecimal trust = BigDecimal.ZERO;
+        if (!user.banned()) {
+            double score = 5.0;
+            if (user.verified()) score += 1.0;
+            if (user.emailVerified()) score += 0.5;
+            if (user.phoneVerified()) score += 0.5;
+            if (user.reviewCount() > 0) {
+                double averageRating = (double) user.ratingSum() / user.reviewCount();
+                double weight = Math.min(user.reviewCount(), 10) / 10.0;
+                score += (averageRating - 3.0) * 0.5 * weight;
+            }
+            score += Math.min(user.completedSales(), 20) * 0.05;
+            trust = clamp(BigDecimal.valueOf(score));
+        }
+
+        BigDecimal sustainability = clamp(BigDecimal.valueOf(Math.max(0, user.sustainabilityPoints()))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP)
+                .add(BigDecimal.valueOf(user.impactItems()).multiply(new BigDecimal("0.1"))));
+        return new Scores(trust, sustainability);
+    }
+
+    private static BigDecimal clamp(BigDecimal score) {
+        return score.max(BigDecimal.ZERO).min(MAX_SCORE).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Ranges finish out of order; the checkpoint only moves past a range once all before it are done.
+    // Every finished range writes the checkpoint, which also renews the lease.
+    private final class Progress {
+        private final BatchJobCheckpoint checkpoint;
+        private final String owner;
+        private final List<Range> ranges;
+        private final TreeMap<Integer, RangeResult> finished = new TreeMap<>();
+        private int nextIndex;
+        private volatile boolean lost;
+
+        Progress(BatchJobCheckpoint checkpoint, String owner, List<Range> ranges) {
+            this.checkpoint = checkpoint;
+            this.owner = owner;
+            this.ranges = ranges;
+        }
+
+        boolean isLost() {
+            return lost;
+        }
+
+        synchronized void done(Range range, RangeResult result) {
+            finished.put(range.index(), result);
+            while (finished.containsKey(nextIndex)) {
+                checkpoint.setProcessed(checkpoint.getProcessed() + finished.remove(nextIndex).scanned());
+                checkpoint.setLastKey(ranges.get(nextIndex).upTo().toString());
+                nextIndex++;
+            }
+            save();
+        }
+
+        synchronized boolean complete() {
+            checkpoint.setCompletedAt(LocalDateTime.now());
+            save();
+            return !lost;
+        }
+
+        private void save() {
+            if (lost) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            checkpoint.setUpdatedAt(now);
+            Integer saved = new TransactionTemplate(transactionManager).execute(status ->
+                    checkpointRepository.saveProgress(JOB_NAME, owner, checkpoint.getLastKey(),
+                            checkpoint.getProcessed(), now, checkpoint.getCompletedAt(), leaseUntil(now)));
+            if (saved == null || saved == 0) {
+                lost = true;
+                log.error("User score recomputation lost its lease, stopping after the running ranges");
+            }
+        }
+    }
+}
@@ -5,14 +5,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.greenloop.circularfashion.entity.User;
 import org.greenloop.circularfashion.entity.UserFollow;
 import org.greenloop.circularfashion.entity.request.UserUpdateRequest;
+import org.greenloop.circularfashion.entity.response.CursorPageResponse;
 import org.greenloop.circularfashion.entity.response.UserDetailResponse;
 import org.greenloop.circularfashion.entity.response.UserManagementResponse;
 import org.greenloop.circularfashion.exception.ResourceNotFoundException;
 import org.greenloop.circularfashion.repository.UserRepository;
+import org.greenloop.circularfashion.security.AuthenticatedPrincipalCache;
+import org.greenloop.circularfashion.security.TokenVersionRegistry;
 import org.greenloop.circularfashion.service.EmailService;
+import org.greenloop.circularfashion.service.FollowService;
+import org.greenloop.circularfashion.service.UserCounterService;
+import org.greenloop.circularfashion.service.UserScoreService;
 import org.greenloop.circularfashion.service.UserService;
 import org.greenloop.circularfashion.service.VerificationTokenService;
+import org.greenloop.circularfashion.util.KeysetCursor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -21,7 +30,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +40,16 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
     private final VerificationTokenService verificationTokenService;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final UserStatsCache userStatsCache;
+    private final UserCounterService userCounterService;
+    private final FollowService followService;
+    private final UserScoreService userScoreService;
+    private final TrigramSupport trigramSupport;
+
+    private static final int DEFAULT_CURSOR_PAGE_SIZE = 20;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     @Override
     @Transactional(readOnly = true)
@@ -96,6 +114,9 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         userRepository.delete(user);
+        evictCachedPrincipal(user);
+        tokenVersionRegistry.publishDeletedAfterCommit(userId);
+        userStatsCache.invalidateAfterCommit();
         log.info("User deleted successfully: {}", userId);
     }
 
@@ -106,6 +127,8 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         user.setIsActive(true);
         userRepository.save(user);
+        evictCachedPrincipal(user);
+        userStatsCache.invalidateAfterCommit();
         log.info("User activated successfully: {}", userId);
     }
 
@@ -115,7 +138,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         user.setIsActive(false);
+        revokeTokens(user);
         userRepository.save(user);
+        evictCachedPrincipal(user);
+        userStatsCache.invalidateAfterCommit();
         log.info("User deactivated successfully: {}", userId);
     }
 
@@ -126,7 +152,10 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         user.setIsBanned(true);
         user.setIsActive(false);
+        revokeTokens(user);
         userRepository.save(user);
+        evictCachedPrincipal(user);
+        userStatsCache.invalidateAfterCommit();
         log.info("User banned successfully: {} - Reason: {}", userId, reason);
     }
 
@@ -138,6 +167,8 @@ public class UserServiceImpl implements UserService {
         user.setIsBanned(false);
         user.setIsActive(true);
         userRepository.save(user);
+        evictCachedPrincipal(user);
+        userStatsCache.invalidateAfterCommit();
         log.info("User unbanned successfully: {}", userId);
     }
 
@@ -149,63 +180,100 @@ public class UserServiceImpl implements UserService {
         user.setIsVerified(true);
         user.setEmailVerified(true);
         userRepository.save(user);
+        userStatsCache.invalidateAfterCommit();
         log.info("User verified successfully: {}", userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserDetailResponse> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable).map(this::convertToDetailResponse);
+        return toDetailPage(userRepository.findAll(pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserDetailResponse> searchUsers(String keyword, Pageable pageable) {
-        // Implementation for search - can be enhanced with specifications
-        return userRepository.findAll(pageable).map(this::convertToDetailResponse);
+        if (keyword == null || keyword.isBlank()) {
+            return getAllUsers(pageable);
+        }
+        String normalized = keyword.trim().toLowerCase();
+        String pattern = "%" + normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+        // Results are ranked by relevance, so any requested sort is ignored
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        Page<UUID> ids = trigramSupport.isAvailable()
+                ? userRepository.searchIds(normalized, pattern, page)
+                : userRepository.searchIdsByPattern(normalized, pattern, page);
+        return new PageImpl<>(findDetailsInOrder(ids.getContent()), page, ids.getTotalElements());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserDetailResponse> getUsersByType(User.UserType userType, Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(this::convertToDetailResponse);
+        return toDetailPage(userRepository.findByUserType(userType, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserDetailResponse> getUsersByRole(User.Role role, Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(this::convertToDetailResponse);
+        return toDetailPage(userRepository.findByRole(role, pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserDetailResponse> getActiveUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(this::convertToDetailResponse);
+        return toDetailPage(userRepository.findByIsActiveTrue(pageable));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserDetailResponse> getBannedUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(this::convertToDetailResponse);
+        return toDetailPage(userRepository.findByIsBannedTrue(pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UserDetailResponse> getUsersForModeration(User.UserType userType, User.Role role,
+                                                                        Boolean active, Boolean banned,
+                                                                        String after, int size) {
+        KeysetCursor<UUID> cursor = KeysetCursor.decodeUuid(after);
+        int pageSize = size < 1 ? DEFAULT_CURSOR_PAGE_SIZE : Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        List<User> rows = userRepository.findForModerationAfter(userType, role, active, banned,
+                cursor.timestamp(), cursor.id(), PageRequest.of(0, pageSize + 1));
+
+        // The extra row only signals that another page exists
+        boolean hasNext = rows.size() > pageSize;
+        List<User> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            User last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor<>(last.getCreatedAt(), last.getUserId()).encode();
+        }
+
+        return CursorPageResponse.<UserDetailResponse>builder()
+                .content(toDetails(page))
+                .size(page.size())
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserManagementResponse getUserManagementSummary(Pageable pageable) {
         Page<UserDetailResponse> users = getAllUsers(pageable);
-        
+        // All counters from the same snapshot, so they always add up
+        UserStatsCache.Snapshot stats = userStatsCache.get();
+
         return UserManagementResponse.builder()
                 .users(users)
-                .totalUsers(getTotalUsers())
-                .activeUsers(getActiveUsersCount())
-                .bannedUsers(getBannedUsersCount())
-                .verifiedUsers(getVerifiedUsersCount())
-                .usersByType(getUsersByTypeCount())
-                .usersByRole(getUsersByRoleCount())
+                .totalUsers(stats.totalUsers())
+                .activeUsers(stats.activeUsers())
+                .bannedUsers(stats.bannedUsers())
+                .verifiedUsers(stats.verifiedUsers())
+                .usersByType(stats.usersByType())
+                .usersByRole(stats.usersByRole())
+                .statisticsAsOf(stats.computedAt())
                 .build();
     }
 
@@ -221,11 +289,12 @@ public class UserServiceImpl implements UserService {
         stats.put("sustainabilityPoints", user.getSustainabilityPoints());
         stats.put("sustainabilityScore", user.getSustainabilityScore());
         stats.put("trustScore", user.getTrustScore());
-        stats.put("followersCount", user.getFollowers().size());
-        stats.put("followingCount", user.getFollowing().size());
-        stats.put("itemsCount", user.getOwnedItems().size());
-        stats.put("listingsCount", user.getListings().size());
-        stats.put("ordersCount", user.getPurchases().size());
+        UserCounterService.Counts counts = userCounterService.get(userId);
+        stats.put("followersCount", counts.followers());
+        stats.put("followingCount", counts.following());
+        stats.put("itemsCount", counts.items());
+        stats.put("listingsCount", counts.listings());
+        stats.put("ordersCount", counts.orders());
         stats.put("createdAt", user.getCreatedAt());
         stats.put("lastLogin", user.getLastLogin());
         
@@ -234,46 +303,32 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Long getTotalUsers() {
-        return userRepository.count();
+        return userStatsCache.get().totalUsers();
     }
 
     @Override
     public Long getActiveUsersCount() {
-        return userRepository.findAll().stream()
-                .filter(User::getIsActive)
-                .count();
+        return userStatsCache.get().activeUsers();
     }
 
     @Override
     public Long getBannedUsersCount() {
-        return userRepository.findAll().stream()
-                .filter(User::getIsBanned)
-                .count();
+        return userStatsCache.get().bannedUsers();
     }
 
     @Override
     public Long getVerifiedUsersCount() {
-        return userRepository.findAll().stream()
-                .filter(User::getIsVerified)
-                .count();
+        return userStatsCache.get().verifiedUsers();
     }
 
     @Override
     public Map<String, Long> getUsersByTypeCount() {
-        return userRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        user -> user.getUserType().name(),
-                        Collectors.counting()
-                ));
+        return userStatsCache.get().usersByType();
     }
 
     @Override
     public Map<String, Long> getUsersByRoleCount() {
-        return userRepository.findAll().stream()
-                .collect(Collectors.groupingBy(
-                        user -> user.getRole().name(),
-                        Collectors.counting()
-                ));
+        return userStatsCache.get().usersByRole();
     }
 
     @Override
@@ -344,7 +399,9 @@ public class UserServiceImpl implements UserService {
         }
         
         user.setPasswordHash(passwordEncoder.encode(newPassword));
+        revokeTokens(user);
         userRepository.save(user);
+        evictCachedPrincipal(user);
         log.info("Password changed for user: {}", userId);
     }
 
@@ -378,59 +435,33 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Long getFollowersCount(UUID userId) {
-        return userRepository.countFollowing(userId);
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        return userCounterService.get(userId).followers();
     }
 
     @Override
     public Long getFollowingCount(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-        return (long) user.getFollowing().size();
+        if (!userRepository.existsById(userId)) {
+            throw new ResourceNotFoundException("User not found with id: " + userId);
+        }
+        return userCounterService.get(userId).following();
     }
 
     @Override
     public boolean isFollowing(UUID followerId, UUID followedId) {
-        User follower = userRepository.findById(followerId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + followerId));
-        
-        return follower.getFollowing().stream()
-                .anyMatch(follow -> follow.getFollowed().getUserId().equals(followedId));
+        return followService.isFollowing(followerId, followedId);
     }
 
     @Override
-    @Transactional
     public void followUser(UUID followerId, UUID followedId) {
-        User follower = userRepository.findById(followerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Follower not found with id: " + followerId));
-        User followed = userRepository.findById(followedId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + followedId));
-        
-        if (followerId.equals(followedId)) {
-            throw new IllegalArgumentException("Cannot follow yourself");
-        }
-        
-        UserFollow userFollow = new UserFollow();
-        userFollow.setFollower(follower);
-        userFollow.setFollowed(followed);
-        userFollow.setCreatedAt(LocalDateTime.now());
-        
-        follower.getFollowing().add(userFollow);
-        userRepository.save(follower);
-        
-        log.info("User {} followed user {}", followerId, followedId);
+        followService.follow(followerId, followedId);
     }
 
     @Override
-    @Transactional
     public void unfollowUser(UUID followerId, UUID followedId) {
-        User follower = userRepository.findById(followerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Follower not found with id: " + followerId));
-        
-        follower.getFollowing().removeIf(follow -> 
-                follow.getFollowed().getUserId().equals(followedId));
-        
-        userRepository.save(follower);
-        log.info("User {} unfollowed user {}", followerId, followedId);
+        followService.unfollow(followerId, followedId);
     }
 
     @Override
@@ -439,8 +470,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
-        // Calculate trust score based on various factors
-        BigDecimal trustScore = calculateTrustScore(user);
+        BigDecimal trustScore = userScoreService.score(userId).trustScore();
         user.setTrustScore(trustScore);
         userRepository.save(user);
         
@@ -453,8 +483,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
         
-        // Calculate sustainability score based on various factors
-        BigDecimal sustainabilityScore = calculateSustainabilityScore(user);
+        BigDecimal sustainabilityScore = userScoreService.score(userId).sustainabilityScore();
         user.setSustainabilityScore(sustainabilityScore);
         userRepository.save(user);
         
@@ -490,6 +519,10 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDetailResponse convertToDetailResponse(User user) {
+        return convertToDetailResponse(user, userCounterService.get(user.getUserId()));
+    }
+
+    private UserDetailResponse convertToDetailResponse(User user, UserCounterService.Counts counts) {
         return UserDetailResponse.builder()
                 .userId(user.getUserId())
                 .email(user.getEmail())
@@ -512,41 +545,52 @@ public class UserServiceImpl implements UserService {
                 .phoneVerified(user.getPhoneVerified())
                 .isActive(user.getIsActive())
                 .isBanned(user.getIsBanned())
-                .followersCount((long) user.getFollowers().size())
-                .followingCount((long) user.getFollowing().size())
-                .itemsCount((long) user.getOwnedItems().size())
-                .listingsCount((long) user.getListings().size())
-                .ordersCount((long) user.getPurchases().size())
+                .followersCount(counts.followers())
+                .followingCount(counts.following())
+                .itemsCount(counts.items())
+                .listingsCount(counts.listings())
+                .ordersCount(counts.orders())
                 .lastLogin(user.getLastLogin())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
                 .build();
     }
 
-    // Helper methods for score calculation
-    private BigDecimal calculateTrustScore(User user) {
-        // Implement trust score calculation logic
-        // Based on: verified status, completed transactions, reviews, etc.
-        BigDecimal baseScore = BigDecimal.valueOf(5.0);
-        
-        if (user.getIsVerified()) baseScore = baseScore.add(BigDecimal.valueOf(1.0));
-        if (user.getEmailVerified()) baseScore = baseScore.add(BigDecimal.valueOf(0.5));
-        if (user.getPhoneVerified()) baseScore = baseScore.add(BigDecimal.valueOf(0.5));
-        
-        // Add more factors based on transactions, reviews, etc.
-        
-        return baseScore.min(BigDecimal.valueOf(10.0));
+    // Loads the users behind a ranked id page, keeping the ranking
+    private List<UserDetailResponse> findDetailsInOrder(List<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<UUID, User> byId = new HashMap<>();
+        userRepository.findAllById(userIds).forEach(user -> byId.put(user.getUserId(), user));
+        return toDetails(userIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList());
     }
 
-    private BigDecimal calculateSustainabilityScore(User user) {
-        // Implement sustainability score calculation logic
-        // Based on: recycling activities, eco-friendly purchases, etc.
-        Integer points = user.getSustainabilityPoints() != null ? user.getSustainabilityPoints() : 0;
-        
-        // Convert points to score (0-10 scale)
-        BigDecimal score = BigDecimal.valueOf(points).divide(BigDecimal.valueOf(100), 2, java.math.RoundingMode.HALF_UP);
-        
-        return score.min(BigDecimal.valueOf(10.0));
+    // Counters of the whole page in two queries instead of five collections per user
+    private List<UserDetailResponse> toDetails(List<User> users) {
+        Map<UUID, UserCounterService.Counts> counts = userCounterService.getAll(
+                users.stream().map(User::getUserId).toList());
+        return users.stream()
+                .map(user -> convertToDetailResponse(user, counts.get(user.getUserId())))
+                .toList();
+    }
+
+    private Page<UserDetailResponse> toDetailPage(Page<User> users) {
+        return new PageImpl<>(toDetails(users.getContent()), users.getPageable(), users.getTotalElements());
+    }
+
+    // Cached JWT principals carry account flags and authorities, drop them on any change
+    private void evictCachedPrincipal(User user) {
+        principalCache.evictSubjectsAfterCommit(user.getEmail(), user.getUsername());
+    }
+
+    // Invalidates every JWT issued to the user so far, on all nodes
+    private void revokeTokens(User user) {
+        int version = user.revokeTokens();
+        tokenVersionRegistry.publishAfterCommit(user.getUserId(), version);
     }
 }
 
@@ -0,0 +1,114 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.repository.UserRepository;
+import org.greenloop.circularfashion.util.TransactionCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Short-lived snapshot of the user management counters. All of them come from one grouped query over
+ * the users table, and concurrent admin sessions that find the snapshot expired wait for a single
+ * reload instead of each running it. Admin account changes drop the snapshot after they commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserStatsCache {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.users.stats.ttl-ms:15000}")
+    private long ttlMs;
+
+    private final AtomicReference<Loaded> loaded = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> loading = new AtomicReference<>();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public record Snapshot(long totalUsers, long activeUsers, long bannedUsers, long verifiedUsers,
+                           Map<String, Long> usersByType, Map<String, Long> usersByRole,
+                           LocalDateTime computedAt) {
+    }
+
+    private record Loaded(Snapshot snapshot, long expiresAt) {
+    }
+
+    public Snapshot get() {
+        Loaded current = loaded.get();
+        if (current != null && System.currentTimeMillis() < current.expiresAt()) {
+            return current.snapshot();
+        }
+        return load();
+    }
+
+    public void invalidateAfterCommit() {
+        TransactionCallbacks.nowAndAfterCommit(this::invalidate);
+    }
+
+    private void invalidate() {
+        invalidations.incrementAndGet();
+        loaded.set(null);
+    }
+
+    private Snapshot load() {
+        CompletableFuture<Snapshot> pending = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existing = loading.compareAndExchange(null, pending);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            long generation = invalidations.get();
+            Snapshot snapshot = meterRegistry.timer("users.stats.load").record(this::query);
+            // A load that overlapped an account change is returned but not kept
+            if (generation == invalidations.get()) {
+                loaded.set(new Loaded(snapshot, System.currentTimeMillis() + ttlMs));
+            }
+            pending.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.set(null);
+        }
+    }
+
+    private Snapshot query() {
+        long total = 0;
+        long active = 0;
+        long banned = 0;
+        long verified = 0;
+        Map<String, Long> byType = new TreeMap<>();
+        Map<String, Long> byRole = new TreeMap<>();
+        for (Object[] row : userRepository.countByAccountState()) {
+            long count = ((Number) row[5]).longValue();
+            total += count;
+            if (Boolean.TRUE.equals(row[2])) {
+                active += count;
+            }
+            if (Boolean.TRUE.equals(row[3])) {
+                banned += count;
+            }
+            if (Boolean.TRUE.equals(row[4])) {
+                verified += count;
+            }
+            if (row[0] != null) {
+                byType.merge(((User.UserType) row[0]).name(), count, Long::sum);
+            }
+            if (row[1] != null) {
+                byRole.merge(((User.Role) row[1]).name(), count, Long::sum);
+            }
+        }
+        return new Snapshot(total, active, banned, verified, byType, byRole, LocalDateTime.now());
+    }
+}
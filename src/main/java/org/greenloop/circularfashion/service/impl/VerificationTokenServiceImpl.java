@@ -4,6 +4,8 @@ import org.greenloop.circularfashion.entity.User;
 import org.greenloop.circularfashion.entity.VerificationToken;
 import org.greenloop.circularfashion.repository.UserRepository;
 import org.greenloop.circularfashion.repository.VerificationTokenRepository;
+import org.greenloop.circularfashion.security.AuthenticatedPrincipalCache;
+import org.greenloop.circularfashion.security.TokenVersionRegistry;
 import org.greenloop.circularfashion.service.VerificationTokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,6 +27,12 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
     @Override
     @Transactional
     public String generateVerificationToken(User user) {
@@ -87,8 +95,11 @@ public class VerificationTokenServiceImpl implements VerificationTokenService {
 
         User user = verificationToken.getUser();
         user.setPasswordHash(passwordEncoder.encode(newPassword));
+        int tokenVersion = user.revokeTokens();
         
         userRepository.save(user); // Save the updated user
+        tokenVersionRegistry.publishAfterCommit(user.getUserId(), tokenVersion);
+        principalCache.evictSubjectsAfterCommit(user.getEmail(), user.getUsername());
         
         verificationTokenRepository.delete(verificationToken);
         return "Password reset successfully";
@@ -0,0 +1,81 @@
+package org.greenloop.circularfashion.util;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor over (timestamp, id), ordered newest first: (created_at, item_id) of items,
+ * (created_at, user_id) of users, (created_at, follow_id) of follows and (event_date, history_id)
+ * of the item lifecycle event log. Encoded as URL-safe base64 of epoch micros followed by the
+ * 128-bit UUID or the 64-bit long id.
+ */
+public record KeysetCursor<I>(LocalDateTime timestamp, I id) {
+
+    // Sort after every real row, so the first page uses the same query as the next ones
+    private static final LocalDateTime LAST_TIMESTAMP = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final KeysetCursor<UUID> FIRST_UUID = new KeysetCursor<>(LAST_TIMESTAMP, new UUID(-1L, -1L));
+    private static final KeysetCursor<Long> FIRST_LONG = new KeysetCursor<>(LAST_TIMESTAMP, Long.MAX_VALUE);
+
+    public static KeysetCursor<UUID> decodeUuid(String after) {
+        if (after == null || after.isBlank()) {
+            return FIRST_UUID;
+        }
+        ByteBuffer buffer = bytes(after, 24);
+        LocalDateTime timestamp = timestamp(buffer.getLong());
+        return new KeysetCursor<>(timestamp, new UUID(buffer.getLong(), buffer.getLong()));
+    }
+
+    public static KeysetCursor<Long> decodeLong(String after) {
+        if (after == null || after.isBlank()) {
+            return FIRST_LONG;
+        }
+        ByteBuffer buffer = bytes(after, 16);
+        LocalDateTime timestamp = timestamp(buffer.getLong());
+        return new KeysetCursor<>(timestamp, buffer.getLong());
+    }
+
+    public String encode() {
+        long micros = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+        ByteBuffer buffer;
+        if (id instanceof UUID uuid) {
+            buffer = ByteBuffer.allocate(24)
+                    .putLong(micros)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits());
+        } else if (id instanceof Long value) {
+            buffer = ByteBuffer.allocate(16)
+                    .putLong(micros)
+                    .putLong(value);
+        } else {
+            throw new IllegalStateException("Unsupported cursor id type: " + id.getClass().getName());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    private static ByteBuffer bytes(String after, int length) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(after);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + after);
+        }
+        if (bytes.length != length) {
+            throw new IllegalArgumentException("Invalid cursor: " + after);
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private static LocalDateTime timestamp(long micros) {
+        try {
+            return LocalDateTime.ofEpochSecond(
+                    Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000,
+                    ZoneOffset.UTC);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor timestamp: " + micros);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.greenloop.circularfashion.util;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, time-ordered identifiers.
+ * <ul>
+ *   <li>{@link #uuid()}: UUIDv7 (RFC 9562) - 48-bit Unix millis, 12-bit per-millisecond counter,
+ *       62 random bits. Monotonic per JVM, roughly time-ordered across nodes, so B-tree inserts
+ *       land on the right-most pages instead of scattering.</li>
+ *   <li>{@link #itemCode()}: "GL" + 13 Crockford base32 chars + 1 check char, encoding
+ *       41-bit millis since 2024 | 10-bit node id | 12-bit sequence (Snowflake layout).
+ *       Unique across nodes as long as node ids differ: {@code GREENLOOP_NODE_ID} pins one per
+ *       instance, otherwise NodeIdAllocator leases a free one from the database at startup.
+ *       No code is minted before a node id is assigned.</li>
+ * </ul>
+ */
+public final class TimeOrderedIds {
+
+    public static final String ITEM_CODE_PREFIX = "GL";
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int BASE = ALPHABET.length;
+    private static final int ITEM_CODE_BODY_LENGTH = 13;
+    public static final int ITEM_CODE_LENGTH = ITEM_CODE_PREFIX.length() + ITEM_CODE_BODY_LENGTH + 1;
+    private static final long ITEM_CODE_EPOCH_MS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long UNASSIGNED = -1;
+    private static final long CONFIGURED_NODE_ID = configuredNodeId();
+
+    private static volatile long nodeId = CONFIGURED_NODE_ID;
+
+    // (millis << 12 | sequence) of the last value handed out; advancing it with max(now, last + 1)
+    // keeps values strictly increasing, borrowing the next millisecond when a sequence is exhausted
+    private static final AtomicLong lastUuidState = new AtomicLong();
+    private static final AtomicLong lastItemCodeState = new AtomicLong();
+
+    private TimeOrderedIds() {
+    }
+
+    public static UUID uuid() {
+        long state = nextState(lastUuidState);
+        long millis = state >>> SEQUENCE_BITS;
+        long counter = state & ((1L << SEQUENCE_BITS) - 1);
+
+        long mostSigBits = (millis << 16) | (0x7L << 12) | counter;
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() >>> 2) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    public static String itemCode() {
+        long node = nodeId;
+        if (node == UNASSIGNED) {
+            throw new IllegalStateException("No node id assigned for item codes yet");
+        }
+        long state = nextState(lastItemCodeState);
+        long millis = (state >>> SEQUENCE_BITS) - ITEM_CODE_EPOCH_MS;
+        long sequence = state & ((1L << SEQUENCE_BITS) - 1);
+        long value = (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+
+        char[] body = new char[ITEM_CODE_BODY_LENGTH];
+        for (int i = ITEM_CODE_BODY_LENGTH - 1; i >= 0; i--) {
+            body[i] = ALPHABET[(int) (value & (BASE - 1))];
+            value >>>= 5;
+        }
+        return ITEM_CODE_PREFIX + new String(body) + checkChar(body);
+    }
+
+    // True when GREENLOOP_NODE_ID pins the node id and no lease is needed
+    public static boolean hasConfiguredNodeId() {
+        return CONFIGURED_NODE_ID != UNASSIGNED;
+    }
+
+    public static void assignNodeId(int id) {
+        if (id < 0 || id > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + id);
+        }
+        nodeId = id;
+    }
+
+    // Stops minting item codes until a node id is assigned again
+    public static void clearNodeId() {
+        if (!hasConfiguredNodeId()) {
+            nodeId = UNASSIGNED;
+        }
+    }
+
+    /**
+     * Check the Luhn mod 32 check character of a code produced by {@link #itemCode()},
+     * catching mistyped or misread labels. Older purely numeric codes are not covered.
+     */
+    public static boolean isValidItemCode(String itemCode) {
+        if (itemCode == null || itemCode.length() != ITEM_CODE_LENGTH
+                || !itemCode.startsWith(ITEM_CODE_PREFIX)) {
+            return false;
+        }
+        char[] body = itemCode.substring(ITEM_CODE_PREFIX.length(), itemCode.length() - 1).toCharArray();
+        for (char c : body) {
+            if (indexOf(c) < 0) {
+                return false;
+            }
+        }
+        return checkChar(body) == itemCode.charAt(itemCode.length() - 1);
+    }
+
+    private static long nextState(AtomicLong lastState) {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        return lastState.updateAndGet(last -> Math.max(now, last + 1));
+    }
+
+    // Luhn mod N over the base32 alphabet
+    private static char checkChar(char[] body) {
+        int factor = 2;
+        int sum = 0;
+        for (int i = body.length - 1; i >= 0; i--) {
+            int addend = factor * indexOf(body[i]);
+            factor = factor == 2 ? 1 : 2;
+            sum += addend / BASE + addend % BASE;
+        }
+        return ALPHABET[(BASE - sum % BASE) % BASE];
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < BASE; i++) {
+            if (ALPHABET[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long configuredNodeId() {
+        String configured = System.getenv("GREENLOOP_NODE_ID");
+        if (configured != null && !configured.isBlank()) {
+            return Long.parseLong(configured.trim()) & MAX_NODE_ID;
+        }
+        return UNASSIGNED;
+    }
+}
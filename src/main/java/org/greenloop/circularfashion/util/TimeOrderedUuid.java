@@ -0,0 +1,18 @@
+package org.greenloop.circularfashion.util;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a UUID primary key generated as a time-ordered UUIDv7 ({@link TimeOrderedIds#uuid()}).
+ * Replaces {@code @GeneratedValue}.
+ */
+@IdGeneratorType(TimeOrderedUuidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedUuid {
+}
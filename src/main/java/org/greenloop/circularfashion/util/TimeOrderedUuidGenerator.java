@@ -0,0 +1,27 @@
+package org.greenloop.circularfashion.util;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+
+/**
+ * Hibernate generator behind {@link TimeOrderedUuid}; keeps an id that was already assigned.
+ */
+public class TimeOrderedUuidGenerator implements BeforeExecutionGenerator {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        Object assigned = session.getEntityPersister(null, owner).getIdentifier(owner, session);
+        return assigned != null ? assigned : TimeOrderedIds.uuid();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
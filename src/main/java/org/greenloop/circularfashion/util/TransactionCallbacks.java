@@ -0,0 +1,90 @@
+package org.greenloop.circularfashion.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Work tied to the commit of the current transaction: in-memory caches updated only once a change
+ * is visible to other transactions, and per-transaction write buffers flushed just before commit.
+ * Outside a transaction everything runs immediately.
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Run the action once the surrounding transaction commits (not at all on rollback), or right
+     * away when there is none.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Run the action now and again once the surrounding transaction commits, so a reader racing
+     * the transaction cannot re-cache its pre-commit state.
+     */
+    public static void nowAndAfterCommit(Runnable action) {
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(action);
+        }
+    }
+
+    /**
+     * Apply update to the owner's buffer of the current transaction, created on first use and
+     * handed to flush just before the transaction commits; one buffer per owner and transaction,
+     * so a REQUIRES_NEW transaction gets its own. Without a transaction the update goes to a fresh
+     * buffer that is flushed right away.
+     */
+    public static <B> void collectBeforeCommit(Object owner, Supplier<B> newBuffer, Consumer<B> update,
+                                               Consumer<B> flush) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            B buffer = newBuffer.get();
+            update.accept(buffer);
+            flush.accept(buffer);
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof BufferSynchronization<?> pending && pending.owner == owner) {
+                @SuppressWarnings("unchecked")
+                B buffer = (B) pending.buffer;
+                update.accept(buffer);
+                return;
+            }
+        }
+        BufferSynchronization<B> pending = new BufferSynchronization<>(owner, newBuffer.get(), flush);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        update.accept(pending.buffer);
+    }
+
+    private static final class BufferSynchronization<B> implements TransactionSynchronization {
+        private final Object owner;
+        private final B buffer;
+        private final Consumer<B> flush;
+
+        BufferSynchronization(Object owner, B buffer, Consumer<B> flush) {
+            this.owner = owner;
+            this.buffer = buffer;
+            this.flush = flush;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            flush.accept(buffer);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- Sustainability Rollups Migration
+-- Version 10.0 - Daily and monthly impact totals per platform, user and category
+-- Credited by the application as items are collected, sold or recycled. Existing history is
+-- loaded with POST /api/sustainability/impact/backfill, which rebuilds months from item_lifecycle.
+
+CREATE TABLE IF NOT EXISTS sustainability_rollups (
+    scope VARCHAR(20) NOT NULL,
+    scope_key VARCHAR(64) NOT NULL,
+    period VARCHAR(10) NOT NULL,
+    period_start DATE NOT NULL,
+    impact_event VARCHAR(20) NOT NULL,
+    item_count BIGINT NOT NULL,
+    carbon_footprint_kg DECIMAL(19,4) NOT NULL,
+    water_saved_liters DECIMAL(19,2) NOT NULL,
+    energy_saved_kwh DECIMAL(19,2) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (scope, scope_key, period, period_start, impact_event)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sustainability_rollup_period ON sustainability_rollups (period, period_start);
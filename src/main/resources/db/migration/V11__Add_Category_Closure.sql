@@ -0,0 +1,23 @@
+-- Category Closure Migration
+-- Version 11.0 - Closure table of the category hierarchy (every ancestor/descendant pair, self at depth 0)
+-- Backs subtree item browsing, whole-subtree deactivate/restore and cycle checks on reparenting.
+
+CREATE TABLE IF NOT EXISTS category_closure (
+    ancestor_id UUID NOT NULL,
+    descendant_id UUID NOT NULL,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_category_closure_descendant ON category_closure (descendant_id, depth);
+
+INSERT INTO category_closure (ancestor_id, descendant_id, depth)
+WITH RECURSIVE tree (ancestor_id, descendant_id, depth) AS (
+    SELECT category_id, category_id, 0 FROM categories
+    UNION ALL
+    SELECT t.ancestor_id, c.category_id, t.depth + 1
+    FROM tree t JOIN categories c ON c.parent_category_id = t.descendant_id
+    WHERE t.depth < 64
+)
+SELECT ancestor_id, descendant_id, depth FROM tree
+ON CONFLICT DO NOTHING;
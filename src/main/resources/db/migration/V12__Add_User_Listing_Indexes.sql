@@ -0,0 +1,31 @@
+-- User Listing Migration
+-- Version 12.0 - Indexed user filters, (created_at, user_id) keyset order and trigram search
+
+CREATE INDEX IF NOT EXISTS idx_users_keyset ON users(created_at DESC, user_id DESC);
+CREATE INDEX IF NOT EXISTS idx_users_type_keyset ON users(user_type, created_at DESC, user_id DESC);
+CREATE INDEX IF NOT EXISTS idx_users_role_keyset ON users(role, created_at DESC, user_id DESC);
+
+-- Banned and deactivated accounts are a small minority, so partial indexes list them cheaply.
+-- Active users are most of the table and are read through idx_users_keyset.
+CREATE INDEX IF NOT EXISTS idx_users_banned_keyset ON users(created_at DESC, user_id DESC) WHERE is_banned = true;
+CREATE INDEX IF NOT EXISTS idx_users_inactive_keyset ON users(created_at DESC, user_id DESC) WHERE is_active = false;
+
+-- pg_trgm needs a role allowed to create it. Without it the migration still succeeds, the trigram
+-- indexes are skipped and user search falls back to substring matching (TrigramSupport).
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+    RAISE NOTICE 'pg_trgm is not available, skipping trigram indexes: %', SQLERRM;
+END $$;
+
+-- Expressions must match UserRepository.TRIGRAM_MATCH exactly for the indexes to be used
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_users_username_trgm ON users USING GIN(LOWER(username) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING GIN(LOWER(email) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm ON users
+            USING GIN(LOWER(COALESCE(first_name, '') || ' ' || COALESCE(last_name, '')) gin_trgm_ops);
+    END IF;
+END $$;
@@ -0,0 +1,13 @@
+-- User Activity Counters Migration
+-- Version 13.0 - Maintained follower, following, listing and order counts per user
+-- Owned item counts come from item_stat_counters (OWNER). The application fills the table on
+-- startup when it is empty and reconciles it nightly.
+
+CREATE TABLE IF NOT EXISTS user_activity_counters (
+    user_id UUID PRIMARY KEY REFERENCES users(user_id) ON DELETE CASCADE,
+    followers_count BIGINT NOT NULL,
+    following_count BIGINT NOT NULL,
+    listings_count BIGINT NOT NULL,
+    orders_count BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
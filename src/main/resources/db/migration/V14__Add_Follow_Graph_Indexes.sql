@@ -0,0 +1,9 @@
+-- Follow Graph Migration
+-- Version 14.0 - Keyset indexes for follower and following lists
+-- Edge lookups, inserts and deletes use the unique (follower_id, followed_id) index from V1.
+
+CREATE INDEX IF NOT EXISTS idx_user_follows_followers_keyset ON user_follows(followed_id, created_at DESC, follow_id DESC);
+CREATE INDEX IF NOT EXISTS idx_user_follows_following_keyset ON user_follows(follower_id, created_at DESC, follow_id DESC);
+
+-- Picks the accounts whose followers are held in the in-memory adjacency cache
+CREATE INDEX IF NOT EXISTS idx_user_activity_followers ON user_activity_counters(followers_count DESC);
@@ -0,0 +1,15 @@
+-- Batch Job Checkpoints Migration
+-- Version 15.0 - Resumable progress of long-running batch jobs (user score recomputation)
+-- owner/lease_until make the row the job's run lock across instances: a run claims it with a
+-- conditional UPDATE and renews the lease with every checkpoint it writes.
+
+CREATE TABLE IF NOT EXISTS batch_job_checkpoints (
+    job_name VARCHAR(50) PRIMARY KEY,
+    last_key VARCHAR(64),
+    processed BIGINT NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    completed_at TIMESTAMP,
+    owner VARCHAR(64),
+    lease_until TIMESTAMP
+);
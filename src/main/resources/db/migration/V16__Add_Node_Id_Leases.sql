@@ -0,0 +1,8 @@
+-- Node Id Leases Migration
+-- Version 16.0 - Item-code node ids leased per running instance, so no two instances mint from the same node id
+
+CREATE TABLE IF NOT EXISTS node_id_leases (
+    node_id INTEGER PRIMARY KEY,
+    instance_id VARCHAR(64) NOT NULL,
+    leased_until TIMESTAMP NOT NULL
+);
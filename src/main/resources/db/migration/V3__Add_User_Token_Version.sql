@@ -0,0 +1,8 @@
+-- Token Revocation Migration
+-- Version 3.0 - Per-user token version embedded in JWT claims
+
+-- Bumped on logout, ban, deactivation and password change to revoke issued tokens
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER NOT NULL DEFAULT 0;
+
+-- Nodes poll recently updated users to pick up revocations made elsewhere
+CREATE INDEX IF NOT EXISTS idx_users_updated_at ON users(updated_at);
@@ -0,0 +1,7 @@
+-- Item Keyset Pagination Migration
+-- Version 4.0 - Composite indexes matching the (created_at, item_id) cursor order
+
+CREATE INDEX IF NOT EXISTS idx_items_keyset ON items(created_at DESC, item_id DESC);
+CREATE INDEX IF NOT EXISTS idx_items_owner_keyset ON items(current_owner_id, created_at DESC, item_id DESC);
+CREATE INDEX IF NOT EXISTS idx_items_status_keyset ON items(item_status, created_at DESC, item_id DESC);
+CREATE INDEX IF NOT EXISTS idx_items_category_status_keyset ON items(category_id, item_status, created_at DESC, item_id DESC);
@@ -0,0 +1,4 @@
+-- Brand Browsing Migration
+-- Version 5.0 - Index for paged brand listings filtered by status
+
+CREATE INDEX IF NOT EXISTS idx_items_brand_status_created ON items(brand_id, item_status, created_at DESC);
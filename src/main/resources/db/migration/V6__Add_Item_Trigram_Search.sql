@@ -0,0 +1,19 @@
+-- Item Search Migration
+-- Version 6.0 - Trigram index for typo-tolerant name search
+-- Full-text search uses idx_items_search (V1) and tag matches use idx_items_tags_gin (V1)
+
+-- pg_trgm needs a role allowed to create it. Without it the migration still succeeds, the index is
+-- skipped and full-text search has no typo fallback (TrigramSupport).
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+    RAISE NOTICE 'pg_trgm is not available, skipping the trigram index: %', SQLERRM;
+END $$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN(LOWER(name) gin_trgm_ops);
+    END IF;
+END $$;
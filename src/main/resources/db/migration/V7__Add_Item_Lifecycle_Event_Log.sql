@@ -0,0 +1,135 @@
+-- Item Lifecycle Event Log Migration
+-- Version 7.0 - Append-only item_lifecycle_history, range-partitioned by month on event_date
+-- Monthly partitions ahead of time are created by the application (ItemLifecycleEventService);
+-- the default partition only catches out-of-range event dates.
+-- No foreign keys: the log is insert-heavy and keeps history of deleted items.
+--
+-- Existing databases already have a plain item_lifecycle_history created by Hibernate (IDENTITY key,
+-- foreign keys, idx_lifecycle_* indexes). It is renamed out of the way, its rows are copied into the
+-- partitioned table with their history_id kept, and it is dropped together with its foreign keys.
+
+-- 1. Move a non-partitioned table aside, freeing its primary key and index names
+DO $$
+DECLARE
+    legacy_pkey TEXT;
+    legacy_index TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class
+               WHERE oid = to_regclass('item_lifecycle_history') AND relkind = 'r') THEN
+        ALTER TABLE item_lifecycle_history RENAME TO item_lifecycle_history_legacy;
+
+        SELECT conname INTO legacy_pkey FROM pg_constraint
+        WHERE conrelid = 'item_lifecycle_history_legacy'::regclass AND contype = 'p';
+        IF legacy_pkey IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE item_lifecycle_history_legacy RENAME CONSTRAINT %I TO %I',
+                           legacy_pkey, 'item_lifecycle_history_legacy_pkey');
+        END IF;
+
+        FOR legacy_index IN
+            SELECT i.relname FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid
+            WHERE x.indrelid = 'item_lifecycle_history_legacy'::regclass AND NOT x.indisprimary
+        LOOP
+            EXECUTE format('DROP INDEX %I', legacy_index);
+        END LOOP;
+    END IF;
+END $$;
+
+-- 2. Partitioned table
+CREATE SEQUENCE IF NOT EXISTS item_lifecycle_history_seq;
+
+CREATE TABLE IF NOT EXISTS item_lifecycle_history (
+    history_id BIGINT NOT NULL DEFAULT nextval('item_lifecycle_history_seq'),
+    item_id UUID NOT NULL,
+    user_id UUID,
+    location_id UUID,
+
+    event_type VARCHAR(50) NOT NULL,
+    event_date TIMESTAMP NOT NULL,
+    description TEXT,
+
+    previous_status VARCHAR(50),
+    new_status VARCHAR(50),
+    previous_location VARCHAR(255),
+    new_location VARCHAR(255),
+    previous_owner_id UUID,
+    new_owner_id UUID,
+    transaction_id BIGINT,
+
+    financial_value DECIMAL(10,2),
+    points_involved DECIMAL(10,2),
+    environmental_impact JSONB,
+    event_metadata JSONB,
+    condition_before DECIMAL(3,2),
+    condition_after DECIMAL(3,2),
+
+    automated_event BOOLEAN NOT NULL DEFAULT FALSE,
+    device_id VARCHAR(100),
+    ip_address VARCHAR(45),
+    user_agent VARCHAR(500),
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    is_deleted BOOLEAN NOT NULL DEFAULT FALSE,
+    version BIGINT DEFAULT 0,
+
+    PRIMARY KEY (history_id, event_date)
+) PARTITION BY RANGE (event_date);
+
+CREATE TABLE IF NOT EXISTS item_lifecycle_history_default PARTITION OF item_lifecycle_history DEFAULT;
+
+-- Monthly partitions from the oldest existing event (or this month) to two months ahead, so copied
+-- rows land in their own month rather than piling up in the default partition
+DO $$
+DECLARE
+    first_month DATE := date_trunc('month', CURRENT_DATE);
+    last_month DATE := date_trunc('month', CURRENT_DATE) + INTERVAL '2 months';
+    month_start DATE;
+BEGIN
+    IF to_regclass('item_lifecycle_history_legacy') IS NOT NULL THEN
+        EXECUTE 'SELECT LEAST(date_trunc(''month'', MIN(event_date))::date, $1) FROM item_lifecycle_history_legacy'
+            INTO first_month USING first_month;
+    END IF;
+
+    month_start := first_month;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF item_lifecycle_history FOR VALUES FROM (%L) TO (%L)',
+                       'item_lifecycle_history_y' || to_char(month_start, 'YYYY"m"MM'),
+                       month_start,
+                       month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+-- 3. Copy the existing rows, keep their ids and start new ids after the highest one
+DO $$
+BEGIN
+    IF to_regclass('item_lifecycle_history_legacy') IS NOT NULL THEN
+        INSERT INTO item_lifecycle_history (
+            history_id, item_id, user_id, location_id, event_type, event_date, description,
+            previous_status, new_status, previous_location, new_location, previous_owner_id, new_owner_id,
+            transaction_id, financial_value, points_involved, environmental_impact, event_metadata,
+            condition_before, condition_after, automated_event, device_id, ip_address, user_agent,
+            created_at, updated_at, is_deleted, version)
+        SELECT
+            history_id, item_id, user_id, location_id, event_type, event_date, description,
+            previous_status, new_status, previous_location, new_location, previous_owner_id, new_owner_id,
+            transaction_id, financial_value, points_involved, environmental_impact, event_metadata,
+            condition_before, condition_after, COALESCE(automated_event, FALSE), device_id, ip_address, user_agent,
+            COALESCE(created_at, event_date), COALESCE(updated_at, event_date), COALESCE(is_deleted, FALSE), version
+        FROM item_lifecycle_history_legacy;
+
+        PERFORM setval('item_lifecycle_history_seq',
+                       COALESCE((SELECT MAX(history_id) FROM item_lifecycle_history_legacy), 0) + 1,
+                       false);
+
+        -- 4. The old table goes with its foreign keys and IDENTITY sequence
+        DROP TABLE item_lifecycle_history_legacy;
+    END IF;
+END $$;
+
+-- Per-item timeline, newest first (keyset order)
+CREATE INDEX IF NOT EXISTS idx_lifecycle_item_timeline ON item_lifecycle_history(item_id, event_date DESC, history_id DESC);
+CREATE INDEX IF NOT EXISTS idx_lifecycle_user ON item_lifecycle_history(user_id);
+CREATE INDEX IF NOT EXISTS idx_lifecycle_event_type ON item_lifecycle_history(event_type);
+CREATE INDEX IF NOT EXISTS idx_lifecycle_event_date ON item_lifecycle_history(event_date);
+CREATE INDEX IF NOT EXISTS idx_lifecycle_location ON item_lifecycle_history(location_id);
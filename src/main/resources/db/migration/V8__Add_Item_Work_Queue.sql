@@ -0,0 +1,24 @@
+-- Item Work Queue Migration
+-- Version 8.0 - Leases for the staff verification/valuation queues (claimed with FOR UPDATE SKIP LOCKED)
+-- No foreign keys: leases are short-lived and must not block item deletes.
+
+CREATE SEQUENCE IF NOT EXISTS item_work_lease_seq;
+
+CREATE TABLE IF NOT EXISTS item_work_leases (
+    lease_id BIGINT NOT NULL DEFAULT nextval('item_work_lease_seq') PRIMARY KEY,
+    item_id UUID NOT NULL,
+    queue VARCHAR(20) NOT NULL,
+    staff_id UUID NOT NULL,
+    leased_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_item_work_lease_item_queue UNIQUE (item_id, queue)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_work_lease_staff ON item_work_leases(staff_id, queue);
+CREATE INDEX IF NOT EXISTS idx_item_work_lease_expiry ON item_work_leases(queue, expires_at);
+
+-- Queue candidates only, so a claim never scans the rest of items
+CREATE INDEX IF NOT EXISTS idx_items_verification_work ON items(created_at)
+    WHERE item_status = 'COLLECTED' AND is_verified = false;
+CREATE INDEX IF NOT EXISTS idx_items_valuation_work ON items(created_at)
+    WHERE item_status IN ('COLLECTED', 'VALUING');
@@ -0,0 +1,14 @@
+-- Item Stat Counters Migration
+-- Version 9.0 - Maintained item counts and condition sums (total, per status, owner and category)
+-- Each counter is split over a few slots to spread concurrent updates; readers sum the slots.
+-- The application fills the table on its first reconciliation run.
+
+CREATE TABLE IF NOT EXISTS item_stat_counters (
+    dimension VARCHAR(20) NOT NULL,
+    dimension_key VARCHAR(64) NOT NULL,
+    slot INTEGER NOT NULL,
+    item_count BIGINT NOT NULL,
+    condition_sum DECIMAL(19,2) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (dimension, dimension_key, slot)
+);
@@ -0,0 +1,31 @@
+package org.greenloop.circularfashion;
+
+/**
+ * Minimal timing loop for the tests tagged "benchmark", which only run with the benchmark Maven
+ * profile (mvn test -Pbenchmark). Each operation is warmed up before it is timed, and the mean is
+ * printed so runs before and after a change can be compared.
+ */
+public final class Benchmarks {
+
+    public static final String TAG = "benchmark";
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs op warmup times untimed, then iterations times timed, and returns the mean nanoseconds
+     * per call.
+     */
+    public static double nanosPerOp(String name, int warmup, int iterations, Runnable op) {
+        for (int i = 0; i < warmup; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            op.run();
+        }
+        double nanos = (double) (System.nanoTime() - start) / iterations;
+        System.out.printf("[benchmark] %-40s %12.1f us/op (%d ops)%n", name, nanos / 1_000, iterations);
+        return nanos;
+    }
+}
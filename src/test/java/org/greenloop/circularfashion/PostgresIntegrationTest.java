@@ -0,0 +1,147 @@
+package org.greenloop.circularfashion;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.greenloop.circularfashion.config.FlywayConfig;
+import org.greenloop.circularfashion.entity.Brand;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.repository.BrandRepository;
+import org.greenloop.circularfashion.repository.CategoryRepository;
+import org.greenloop.circularfashion.repository.ItemRepository;
+import org.greenloop.circularfashion.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base for tests of the Postgres-only SQL (ON CONFLICT upserts, SKIP LOCKED claims, FULL JOIN
+ * reconciliations, query plans). One container is started for the whole run and shared by every
+ * test class; the schema is built as in production (Hibernate updates the entity tables, then Flyway
+ * applies db/migration) and each test starts from empty tables. Tests run
+ * outside a test transaction so commit callbacks and concurrent transactions behave as in production.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=update",
+        // Some tests assert how many statements a read issues, or EXPLAIN the statement it ran
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.greenloop.circularfashion.SqlStatementRecorder"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(FlywayConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected PlatformTransactionManager transactionManager;
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CategoryRepository categoryRepository;
+
+    @Autowired
+    protected BrandRepository brandRepository;
+
+    @Autowired
+    protected ItemRepository itemRepository;
+
+    // Started on first use rather than per class, so the cached Spring context keeps a live database
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        POSTGRES.start();
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @AfterEach
+    void truncateTables() {
+        List<String> tables = jdbcTemplate.queryForList(
+                "SELECT quote_ident(tablename) FROM pg_tables WHERE schemaname = 'public' " +
+                "AND tablename <> 'flyway_schema_history'", String.class);
+        if (!tables.isEmpty()) {
+            jdbcTemplate.execute("TRUNCATE " + String.join(", ", tables) + " CASCADE");
+        }
+    }
+
+    protected Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    protected User newUser() {
+        int n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+                .email("user" + n + "@greenloop.test")
+                .username("user_" + n)
+                .passwordHash("not-a-hash")
+                .phone("09" + String.format("%08d", n))
+                .userType(User.UserType.CONSUMER)
+                .role(User.Role.USER)
+                .build());
+    }
+
+    protected Category newCategory(String name) {
+        return categoryRepository.save(Category.builder()
+                .name(name)
+                .slug(name.toLowerCase() + "-" + SEQUENCE.incrementAndGet())
+                .build());
+    }
+
+    protected Brand newBrand(String name) {
+        return brandRepository.save(Brand.builder()
+                .name(name)
+                .slug(name.toLowerCase() + "-" + SEQUENCE.incrementAndGet())
+                .build());
+    }
+
+    protected Item.ItemBuilder item(User owner, Category category, Item.ItemStatus status, LocalDateTime createdAt) {
+        int n = SEQUENCE.incrementAndGet();
+        return Item.builder()
+                .itemCode("TEST" + n)
+                .name("Item " + n)
+                .description("cotton shirt")
+                .category(category)
+                .currentOwner(owner)
+                .originalOwner(owner)
+                .conditionScore(new BigDecimal("3.50"))
+                .size("M")
+                .itemStatus(status)
+                .isVerified(false)
+                .acquisitionMethod(Item.AcquisitionMethod.COLLECTED)
+                .images(new ArrayList<>(List.of("https://img.test/" + n + ".jpg")))
+                .createdAt(createdAt)
+                .updatedAt(createdAt);
+    }
+}
@@ -0,0 +1,29 @@
+package org.greenloop.circularfashion;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the SQL Hibernate prepares, so a test can EXPLAIN the statement a repository method
+ * actually runs. Registered for every Postgres test by PostgresIntegrationTest.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS);
+    }
+}
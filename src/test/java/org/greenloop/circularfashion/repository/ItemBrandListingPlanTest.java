@@ -0,0 +1,126 @@
+package org.greenloop.circularfashion.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.SqlStatementRecorder;
+import org.greenloop.circularfashion.entity.Brand;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Brand listings page in the database: whatever the brand size, the first page of LISTED items is
+ * read through the (brand_id, item_status, created_at DESC) index that V5 adds at startup, already
+ * in order, in one select plus its count.
+ */
+class ItemBrandListingPlanTest extends PostgresIntegrationTest {
+
+    private static final String BRAND_INDEX = "idx_items_brand_status_created";
+    private static final int PAGE_SIZE = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private User owner;
+    private Category category;
+
+    @BeforeEach
+    void createOwner() {
+        owner = newUser();
+        category = newCategory("Tops");
+    }
+
+    @Test
+    void firstPageIsAnOrderedIndexScanAtEveryBrandSize() throws Exception {
+        Brand small = newBrand("Small");
+        Brand medium = newBrand("Medium");
+        Brand large = newBrand("Large");
+        // Half of each brand is LISTED
+        insertItems(small, 12);
+        insertItems(medium, 2_000);
+        insertItems(large, 40_000);
+        jdbcTemplate.execute("ANALYZE items");
+
+        for (Brand brand : List.of(small, medium, large)) {
+            long listed = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM items WHERE brand_id = ? AND item_status = 'LISTED'", Long.class, brand.getBrandId());
+
+            Statistics statistics = statistics();
+            statistics.clear();
+            SqlStatementRecorder.clear();
+            Page<ItemSummaryResponse> page = readOnly().execute(status -> itemRepository.findSummariesByBrandAndStatus(
+                    brand.getBrandId(), Item.ItemStatus.LISTED,
+                    PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"))));
+
+            assertThat(page.getTotalElements()).isEqualTo(listed);
+            assertThat(page.getContent()).hasSize((int) Math.min(listed, PAGE_SIZE));
+            assertThat(page.getContent()).extracting(ItemSummaryResponse::getCreatedAt)
+                    .isSortedAccordingTo((a, b) -> b.compareTo(a));
+            // The count is skipped when the first page already holds every row
+            assertThat(statistics.getPrepareStatementCount()).as("statements for %s", brand.getName())
+                    .isEqualTo(listed > PAGE_SIZE ? 2 : 1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+
+            List<String> nodes = planNodes(SqlStatementRecorder.statements().get(0), brand.getBrandId());
+            assertThat(nodes).as("plan for %s", brand.getName())
+                    .anyMatch(node -> node.contains("items") && node.contains(BRAND_INDEX))
+                    .noneMatch(node -> node.startsWith("Seq Scan") && node.contains("items"))
+                    .noneMatch(node -> node.contains("Sort"));
+        }
+    }
+
+    private void insertItems(Brand brand, int count) {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Timestamp createdAt = Timestamp.valueOf(base.plusSeconds(i));
+            rows.add(new Object[]{UUID.randomUUID(), brand.getSlug() + "-" + i, "Item " + i, category.getCategoryId(),
+                    brand.getBrandId(), owner.getUserId(), i % 2 == 0 ? "LISTED" : "SOLD", createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (item_id, item_code, name, category_id, brand_id, current_owner_id, " +
+                "condition_score, acquisition_method, item_status, is_verified, images, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 3.50, 'COLLECTED', ?, false, '[\"https://img.test/a.jpg\"]'::jsonb, ?, ?)", rows);
+    }
+
+    // "Node Type on relation using index" for every node of the plan of the recorded select
+    private List<String> planNodes(String sql, UUID brandId) throws Exception {
+        // brand, status, then the first page's offset and limit
+        assertThat(sql.chars().filter(c -> c == '?').count()).as("parameters of %s", sql).isEqualTo(4);
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class,
+                brandId, Item.ItemStatus.LISTED.name(), 0, PAGE_SIZE);
+        List<String> nodes = new ArrayList<>();
+        collect(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+        return nodes;
+    }
+
+    private static void collect(JsonNode plan, List<String> nodes) {
+        nodes.add(plan.path("Node Type").asText()
+                + " on " + plan.path("Relation Name").asText("-")
+                + " using " + plan.path("Index Name").asText("-"));
+        for (JsonNode child : plan.path("Plans")) {
+            collect(child, nodes);
+        }
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
+    }
+}
@@ -0,0 +1,132 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.Brand;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.entity.response.ItemResponse;
+import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
+import org.greenloop.circularfashion.mapper.ItemMapper;
+import org.greenloop.circularfashion.util.KeysetCursor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Item list pages are built from the summary projection: one select per page (plus the count
+ * query of offset pages), with category and brand names joined in and no entity loaded. A single
+ * item's detail is one select as well, with its to-one relations fetched in the row.
+ */
+class ItemSummaryQueryTest extends PostgresIntegrationTest {
+
+    private static final int ITEMS = 30;
+    private static final int PAGE_SIZE = 20;
+
+    @BeforeEach
+    void seed() {
+        User owner = newUser();
+        List<Category> categories = List.of(newCategory("Tops"), newCategory("Coats"), newCategory("Shoes"));
+        List<Brand> brands = List.of(newBrand("Acme"), newBrand("Loop"));
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < ITEMS; i++) {
+            itemRepository.save(item(owner, categories.get(i % categories.size()), Item.ItemStatus.LISTED,
+                    base.plusMinutes(i / 2))
+                    .brand(brands.get(i % brands.size()))
+                    .build());
+        }
+    }
+
+    @Test
+    void keysetPageIsOneStatement() {
+        KeysetCursor<UUID> first = KeysetCursor.decodeUuid(null);
+
+        List<ItemSummaryResponse> page = assertStatements(1, () -> itemRepository.findSummariesAfter(
+                first.timestamp(), first.id(), PageRequest.of(0, PAGE_SIZE + 1)));
+
+        assertThat(page).hasSize(PAGE_SIZE + 1);
+        assertNamesJoined(page);
+
+        ItemSummaryResponse last = page.get(PAGE_SIZE - 1);
+        List<ItemSummaryResponse> next = assertStatements(1, () -> itemRepository.findSummariesAfter(
+                last.getCreatedAt(), last.getItemId(), PageRequest.of(0, PAGE_SIZE + 1)));
+
+        assertThat(next).hasSize(ITEMS - PAGE_SIZE);
+        assertThat(next).extracting(ItemSummaryResponse::getItemId)
+                .doesNotContainAnyElementsOf(page.subList(0, PAGE_SIZE).stream().map(ItemSummaryResponse::getItemId).toList());
+    }
+
+    @Test
+    void filteredKeysetPageIsOneStatement() {
+        KeysetCursor<UUID> first = KeysetCursor.decodeUuid(null);
+
+        List<ItemSummaryResponse> page = assertStatements(1, () -> itemRepository.findSummariesWithFiltersAfter(
+                null, List.of(Item.ItemStatus.LISTED), null, first.timestamp(), first.id(),
+                PageRequest.of(0, PAGE_SIZE + 1)));
+
+        assertThat(page).hasSize(PAGE_SIZE + 1);
+        assertNamesJoined(page);
+    }
+
+    @Test
+    void offsetPageIsOneStatementPlusCount() {
+        PageRequest request = PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        Page<ItemSummaryResponse> all = assertStatements(2, () -> itemRepository.findAllSummaries(request));
+        Page<ItemSummaryResponse> search = assertStatements(2, () -> itemRepository.searchSummaries("cotton", request));
+        Page<ItemSummaryResponse> filtered = assertStatements(2, () -> itemRepository.findSummariesWithFilters(
+                null, List.of(Item.ItemStatus.LISTED), null, request));
+
+        for (Page<ItemSummaryResponse> page : List.of(all, search, filtered)) {
+            assertThat(page.getTotalElements()).isEqualTo(ITEMS);
+            assertThat(page.getContent()).hasSize(PAGE_SIZE);
+            assertNamesJoined(page.getContent());
+        }
+    }
+
+    @Test
+    void detailFetchesEveryToOneInOneStatement() {
+        UUID itemId = itemRepository.findAll().get(0).getItemId();
+        Statistics statistics = statistics();
+        statistics.clear();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        ItemResponse detail = transaction.execute(status ->
+                new ItemMapper().toResponse(itemRepository.findDetailById(itemId).orElseThrow()));
+
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(1);
+        assertThat(detail.getCategoryName()).isNotNull();
+        assertThat(detail.getBrandName()).isNotNull();
+        assertThat(detail.getCurrentOwnerName()).isNotNull();
+    }
+
+    private <T> T assertStatements(long expected, Supplier<T> read) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        T result = transaction.execute(status -> read.get());
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(expected);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+        return result;
+    }
+
+    private static void assertNamesJoined(List<ItemSummaryResponse> page) {
+        assertThat(page).allSatisfy(summary -> {
+            assertThat(summary.getCategoryName()).isNotNull();
+            assertThat(summary.getBrandName()).isNotNull();
+            assertThat(summary.getPrimaryImageUrl()).startsWith("https://img.test/");
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * insertIfAbsent reports whether it created the edge: a repeated or concurrent follow of the same
+ * pair returns 0 instead of failing, and leaves its transaction usable.
+ */
+class UserFollowRepositoryTest extends PostgresIntegrationTest {
+
+    // Below the connection pool size, so every insert runs at the same time
+    private static final int CONCURRENT_FOLLOWS = 4;
+
+    @Autowired
+    private UserFollowRepository userFollowRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_FOLLOWS);
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void seed() {
+        alice = newUser();
+        bob = newUser();
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void repeatedFollowIsANoOp() {
+        List<Integer> inserted = new TransactionTemplate(transactionManager).execute(status -> {
+            int first = follow(alice, bob);
+            int second = follow(alice, bob);
+            // The transaction is not aborted by the conflict
+            int reverse = follow(bob, alice);
+            return List.of(first, second, reverse);
+        });
+
+        assertThat(inserted).containsExactly(1, 0, 1);
+        assertThat(userFollowRepository.count()).isEqualTo(2);
+        assertThat(userFollowRepository.existsEdge(alice.getUserId(), bob.getUserId())).isTrue();
+
+        List<Integer> deleted = new TransactionTemplate(transactionManager).execute(status -> List.of(
+                userFollowRepository.deleteEdge(alice.getUserId(), bob.getUserId()),
+                userFollowRepository.deleteEdge(alice.getUserId(), bob.getUserId())));
+        assertThat(deleted).containsExactly(1, 0);
+        Integer refollowed = new TransactionTemplate(transactionManager).execute(status -> follow(alice, bob));
+        assertThat(refollowed).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentFollowsOfOnePairInsertOnce() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_FOLLOWS; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return new TransactionTemplate(transactionManager).execute(status -> follow(alice, bob));
+            }));
+        }
+        start.countDown();
+
+        int inserted = 0;
+        for (Future<Integer> result : results) {
+            inserted += result.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(inserted).isEqualTo(1);
+        assertThat(userFollowRepository.count()).isEqualTo(1);
+    }
+
+    private int follow(User follower, User followed) {
+        return userFollowRepository.insertIfAbsent(UUID.randomUUID(), follower.getUserId(), followed.getUserId(),
+                LocalDateTime.now());
+    }
+}
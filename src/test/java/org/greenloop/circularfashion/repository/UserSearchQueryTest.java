@@ -0,0 +1,52 @@
+package org.greenloop.circularfashion.repository;
+
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * User search with and without pg_trgm: the trigram query also finds misspelled names, the
+ * substring fallback only finds the keyword itself. Both rank exact username matches first.
+ */
+class UserSearchQueryTest extends PostgresIntegrationTest {
+
+    @Test
+    void trigramSearchToleratesTypos() {
+        User exact = named("linh", "Linh", "Nguyen");
+        User partial = named("linh_tran", "Linh", "Tran");
+        User misspelled = named("nguyenn", "Thao", "Nguyenn");
+
+        assertThat(userRepository.searchIds("linh", "%linh%", PageRequest.of(0, 10)).getContent())
+                .startsWith(exact.getUserId()).contains(partial.getUserId());
+        assertThat(userRepository.searchIds("nguyen", "%nguyen%", PageRequest.of(0, 10)).getContent())
+                .contains(exact.getUserId(), misspelled.getUserId());
+        assertThat(userRepository.searchIds("nguyem", "%nguyem%", PageRequest.of(0, 10)).getContent())
+                .contains(exact.getUserId());
+    }
+
+    @Test
+    void patternSearchMatchesSubstringsOnly() {
+        User exact = named("linh", "Linh", "Nguyen");
+        User partial = named("linh_tran", "Linh", "Tran");
+        named("thao", "Thao", "Pham");
+
+        Page<UUID> ids = userRepository.searchIdsByPattern("linh", "%linh%", PageRequest.of(0, 10));
+        assertThat(ids.getContent()).containsExactly(exact.getUserId(), partial.getUserId());
+        assertThat(ids.getTotalElements()).isEqualTo(2);
+        assertThat(userRepository.searchIdsByPattern("nguyem", "%nguyem%", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    private User named(String username, String firstName, String lastName) {
+        User user = newUser();
+        user.setUsername(username);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return userRepository.save(user);
+    }
+}
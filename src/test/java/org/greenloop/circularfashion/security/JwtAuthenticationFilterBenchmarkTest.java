@@ -0,0 +1,108 @@
+package org.greenloop.circularfashion.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.greenloop.circularfashion.Benchmarks;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.service.impl.CustomUserDetailsServiceImpl;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter: loading the user
+ * from the database on every request (the original behaviour, forced here by emptying the
+ * principal cache), a principal cache hit for subject-only tokens, and a self-contained token
+ * checked against the in-memory token versions.
+ */
+@Tag(Benchmarks.TAG)
+@Import({JwtAuthenticationFilter.class, JwtTokenProvider.class, AuthenticatedPrincipalCache.class,
+        TokenVersionRegistry.class, CustomUserDetailsServiceImpl.class, SimpleMeterRegistry.class})
+class JwtAuthenticationFilterBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    @Autowired
+    private JwtAuthenticationFilter filter;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private AuthenticatedPrincipalCache principalCache;
+
+    private String subjectToken;
+    private String claimsToken;
+
+    @BeforeEach
+    void issueTokens() {
+        User user = newUser();
+        subjectToken = tokenProvider.generateTokenFromUsername(user.getUsername());
+        claimsToken = tokenProvider.generateToken(user);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+        principalCache.evictAll();
+    }
+
+    @Test
+    void claimsTokenSkipsTheUserLookup() {
+        Result database = measure("database lookup per request", subjectToken, principalCache::evictAll);
+        Result cached = measure("principal cache hit", subjectToken, () -> { });
+        Result claims = measure("claims + token version", claimsToken, () -> { });
+
+        assertThat(database.statements()).isGreaterThanOrEqualTo(WARMUP + ITERATIONS);
+        // The token version is loaded by one scalar query on the first claims request, then kept in memory
+        assertThat(cached.statements()).isZero();
+        assertThat(claims.statements()).isLessThanOrEqualTo(1);
+        assertThat(claims.nanosPerRequest()).isLessThan(database.nanosPerRequest());
+        assertThat(cached.nanosPerRequest()).isLessThan(database.nanosPerRequest());
+    }
+
+    private record Result(double nanosPerRequest, long statements) {
+    }
+
+    // Times the filter, failing if a request is not authenticated; before runs ahead of each request
+    private Result measure(String name, String token, Runnable before) {
+        Statistics statistics = statistics();
+        statistics.clear();
+        double nanos = Benchmarks.nanosPerOp(name, WARMUP, ITERATIONS, () -> {
+            before.run();
+            authenticate(token);
+        });
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("[benchmark] %-40s %12.2f statements/request%n", name,
+                (double) statements / (WARMUP + ITERATIONS));
+        return new Result(nanos, statements);
+    }
+
+    private void authenticate(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), CHAIN);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException("Token was not accepted");
+        }
+        SecurityContextHolder.clearContext();
+    }
+}
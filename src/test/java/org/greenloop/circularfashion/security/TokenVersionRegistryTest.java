@@ -0,0 +1,47 @@
+package org.greenloop.circularfashion.security;
+
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A full registry makes room without forgetting revocations: revoked users stay rejected, and
+ * evicted users reload their current version from the users table.
+ */
+@Import(TokenVersionRegistry.class)
+@TestPropertySource(properties = "app.security.token-version.max-size=4")
+class TokenVersionRegistryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Test
+    void overflowKeepsRevokedUsers() {
+        // Revoked before the row is deleted: only the registry knows
+        User revoked = newUser();
+        tokenVersionRegistry.publishDeletedAfterCommit(revoked.getUserId());
+        User bumped = newUser();
+        bumped.setTokenVersion(3);
+        userRepository.save(bumped);
+
+        List<User> others = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            User user = newUser();
+            others.add(user);
+            assertThat(tokenVersionRegistry.isCurrent(user.getUserId(), 0)).isTrue();
+        }
+
+        assertThat(tokenVersionRegistry.isCurrent(revoked.getUserId(), 0)).isFalse();
+        assertThat(tokenVersionRegistry.isCurrent(bumped.getUserId(), 2)).isFalse();
+        assertThat(tokenVersionRegistry.isCurrent(bumped.getUserId(), 3)).isTrue();
+        assertThat(others).allSatisfy(user -> assertThat(tokenVersionRegistry.isCurrent(user.getUserId(), 0)).isTrue());
+    }
+}
@@ -0,0 +1,62 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A full code cache makes room by dropping its least recently used entry: codes that keep being
+ * scanned stay cached while the cache turns over.
+ */
+@Import({ItemCodeCache.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "app.items.code-cache.max-size=3")
+class ItemCodeCacheTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ItemCodeCache itemCodeCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void fullCacheEvictsLeastRecentlyUsed() {
+        User owner = newUser();
+        Category tops = newCategory("Tops");
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            codes.add(itemRepository.save(item(owner, tops, Item.ItemStatus.LISTED, LocalDateTime.now()).build()).getItemCode());
+        }
+
+        codes.subList(0, 3).forEach(itemCodeCache::get);
+        itemCodeCache.get(codes.get(0));
+        // Evicts codes 1 and then 2, never the code just scanned again
+        itemCodeCache.get(codes.get(3));
+        itemCodeCache.get(codes.get(4));
+        assertThat(itemCodeCache.size()).isEqualTo(3);
+
+        double hits = hits();
+        itemCodeCache.get(codes.get(0));
+        itemCodeCache.get(codes.get(4));
+        assertThat(hits()).isEqualTo(hits + 2);
+        itemCodeCache.get(codes.get(1));
+        assertThat(hits()).isEqualTo(hits + 2);
+        assertThat(itemCodeCache.size()).isEqualTo(3);
+    }
+
+    private double hits() {
+        return meterRegistry.counter("items.code_cache.requests", "result", "hit").count();
+    }
+}
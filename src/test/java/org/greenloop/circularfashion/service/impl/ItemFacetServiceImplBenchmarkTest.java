@@ -0,0 +1,175 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.greenloop.circularfashion.Benchmarks;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.Brand;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.entity.response.FacetSearchResponse;
+import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
+import org.greenloop.circularfashion.service.ItemFacetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Facet counts from the in-memory bitmaps against the same answer computed in SQL: one GROUP BY
+ * per facet (each ignoring its own filter), a count and a page of ids. The summary query that both
+ * need for the page is left out of the timings. Before timing, the service's search is checked to
+ * agree with the SQL, page contents included. Seeds a million items, the catalogue size the index
+ * is sized for; expect several minutes per run.
+ */
+@Tag(Benchmarks.TAG)
+@Import({ItemFacetServiceImpl.class, SimpleMeterRegistry.class})
+class ItemFacetServiceImplBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int PAGE_SIZE = 20;
+    private static final List<String> SIZES = List.of("XS", "S", "M", "L", "XL");
+    private static final List<String> COLORS = List.of("black", "white", "red", "blue", "green", "beige", "grey", "navy");
+
+    // SQL expression of each facet value, as ItemFacetServiceImpl derives it
+    private static final Map<String, String> FACET_SQL = new LinkedHashMap<>();
+
+    static {
+        FACET_SQL.put(ItemFacetService.CATEGORY, "CAST(i.category_id AS varchar)");
+        FACET_SQL.put(ItemFacetService.BRAND, "CAST(i.brand_id AS varchar)");
+        FACET_SQL.put(ItemFacetService.SIZE, "i.size");
+        FACET_SQL.put(ItemFacetService.COLOR, "i.color");
+        FACET_SQL.put(ItemFacetService.CONDITION, "CASE WHEN i.condition_score IS NULL THEN 'Unknown' " +
+                "WHEN i.condition_score >= 4.5 THEN 'Excellent' WHEN i.condition_score >= 3.5 THEN 'Very Good' " +
+                "WHEN i.condition_score >= 2.5 THEN 'Good' WHEN i.condition_score >= 1.5 THEN 'Fair' ELSE 'Poor' END");
+    }
+
+    @Autowired
+    private ItemFacetService itemFacetService;
+
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private List<Category> categories;
+    // Same contents as the service's index, built here so the bitmaps can be timed on their own
+    private final ItemFacetServiceImpl.FacetIndex index = new ItemFacetServiceImpl.FacetIndex();
+
+    @BeforeEach
+    void seed() {
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        User owner = newUser();
+        categories = new ArrayList<>();
+        for (int c = 0; c < 8; c++) {
+            categories.add(newCategory("Category" + c));
+        }
+        List<Brand> brands = new ArrayList<>();
+        for (int b = 0; b < 20; b++) {
+            brands.add(newBrand("Brand" + b));
+        }
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < ITEMS; i++) {
+            Timestamp createdAt = Timestamp.valueOf(base.plusSeconds(i));
+            String status = i % 10 == 0 ? "SOLD" : i % 10 == 1 ? "READY_FOR_SALE" : "LISTED";
+            UUID itemId = UUID.randomUUID();
+            UUID categoryId = categories.get(i % categories.size()).getCategoryId();
+            UUID brandId = i % 11 == 0 ? null : brands.get(i % brands.size()).getBrandId();
+            String size = SIZES.get(i % SIZES.size());
+            String color = i % 13 == 0 ? null : COLORS.get(i % COLORS.size());
+            BigDecimal conditionScore = BigDecimal.valueOf(10 + i % 41, 1);
+            rows.add(new Object[]{itemId, "BENCH" + i, "Item " + i, categoryId, brandId, owner.getUserId(),
+                    size, color, conditionScore, status, createdAt, createdAt});
+            if (!status.equals("SOLD")) {
+                index.put(itemId, createdAt.toLocalDateTime(), new String[]{categoryId.toString(), brandId != null ? brandId.toString() : null,
+                        size, color, Item.conditionTextOf(conditionScore)});
+            }
+            if (rows.size() == INSERT_BATCH) {
+                insert(rows);
+                rows.clear();
+            }
+        }
+        insert(rows);
+        jdbcTemplate.execute("ANALYZE items");
+        itemFacetService.rebuild();
+    }
+
+    @Test
+    void bitmapSearchAgainstGroupBy() {
+        Map<String, Set<String>> unfiltered = Map.of();
+        Map<String, Set<String>> filtered = Map.of(
+                ItemFacetService.CATEGORY, Set.of(categories.get(0).getCategoryId().toString(),
+                        categories.get(3).getCategoryId().toString()),
+                ItemFacetService.SIZE, Set.of("M"),
+                ItemFacetService.CONDITION, Set.of("Good", "Very Good"));
+
+        for (Map<String, Set<String>> filters : List.of(unfiltered, filtered)) {
+            ItemFacetServiceImpl.FacetIndex.Result groupBy = countWithGroupBy(filters);
+            FacetSearchResponse search = itemFacetService.search(filters, 0, PAGE_SIZE);
+            assertThat(search.getTotalMatches()).isEqualTo(groupBy.total());
+            assertThat(search.getFacets()).isEqualTo(groupBy.counts());
+            assertThat(search.getItems()).extracting(ItemSummaryResponse::getItemId).isEqualTo(groupBy.itemIds());
+            assertThat(index.query(filters, 0, PAGE_SIZE).counts()).isEqualTo(groupBy.counts());
+
+            String label = filters.isEmpty() ? "unfiltered" : "3 facets filtered";
+            double bitmapNanos = Benchmarks.nanosPerOp("facet bitmaps, " + label, 20, 100,
+                    () -> index.query(filters, 0, PAGE_SIZE));
+            double groupByNanos = Benchmarks.nanosPerOp("GROUP BY per facet, " + label, 2, 10,
+                    () -> countWithGroupBy(filters));
+            assertThat(bitmapNanos).isLessThan(groupByNanos);
+        }
+    }
+
+    private ItemFacetServiceImpl.FacetIndex.Result countWithGroupBy(Map<String, Set<String>> filters) {
+        MapSqlParameterSource params = new MapSqlParameterSource("statuses", List.of("LISTED", "READY_FOR_SALE"));
+        filters.forEach((facet, values) -> params.addValue(facet, values));
+
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, String> facet : FACET_SQL.entrySet()) {
+            Map<String, Long> valueCounts = new TreeMap<>();
+            namedJdbcTemplate.query("SELECT " + facet.getValue() + " AS value, COUNT(*) AS matches FROM items i WHERE " +
+                    where(filters, facet.getKey()) + " AND " + facet.getValue() + " IS NOT NULL GROUP BY 1", params,
+                    (RowCallbackHandler) row -> valueCounts.put(row.getString("value"), row.getLong("matches")));
+            counts.put(facet.getKey(), valueCounts);
+        }
+        Long total = namedJdbcTemplate.queryForObject("SELECT COUNT(*) FROM items i WHERE " + where(filters, null),
+                params, Long.class);
+        List<UUID> page = namedJdbcTemplate.queryForList("SELECT i.item_id FROM items i WHERE " + where(filters, null) +
+                " ORDER BY i.created_at DESC, i.item_id DESC LIMIT " + PAGE_SIZE, params, UUID.class);
+
+        return new ItemFacetServiceImpl.FacetIndex.Result(total != null ? total : 0, page, counts);
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO items (item_id, item_code, name, category_id, brand_id, current_owner_id, " +
+                "size, color, condition_score, acquisition_method, item_status, is_verified, images, created_at, updated_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'COLLECTED', ?, false, '[\"https://img.test/a.jpg\"]'::jsonb, ?, ?)", rows);
+    }
+
+    // Marketplace statuses plus every filter except the excluded facet's own
+    private static String where(Map<String, Set<String>> filters, String excludedFacet) {
+        StringBuilder where = new StringBuilder("i.item_status IN (:statuses)");
+        filters.keySet().forEach(facet -> {
+            if (!facet.equals(excludedFacet)) {
+                where.append(" AND ").append(FACET_SQL.get(facet)).append(" IN (:").append(facet).append(")");
+            }
+        });
+        return where.toString();
+    }
+}
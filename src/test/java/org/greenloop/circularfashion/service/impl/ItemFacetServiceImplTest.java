@@ -0,0 +1,82 @@
+package org.greenloop.circularfashion.service.impl;
+
+import org.greenloop.circularfashion.service.ItemFacetService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Facet index pages are newest first whatever ordinals the items got: removed items free their
+ * ordinals for later ones, and walking the pages returns every match once, in listing order.
+ */
+class ItemFacetServiceImplTest {
+
+    private static final int PAGE_SIZE = 7;
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private final ItemFacetServiceImpl.FacetIndex index = new ItemFacetServiceImpl.FacetIndex();
+    private final Map<UUID, LocalDateTime> createdAt = new HashMap<>();
+
+    @Test
+    void pagesFollowCreationOrderAcrossRecycledOrdinals() {
+        List<UUID> items = IntStream.range(0, 50).mapToObj(i -> put(BASE.plusMinutes(i), i % 2 == 0 ? "M" : "L"))
+                .collect(Collectors.toCollection(ArrayList::new));
+        // The newest items take the ordinals freed by old ones
+        for (int i = 0; i < 20; i += 3) {
+            index.remove(items.get(i));
+            createdAt.remove(items.get(i));
+        }
+        for (int i = 0; i < 10; i++) {
+            put(BASE.plusDays(1).plusMinutes(i), i % 2 == 0 ? "M" : "L");
+        }
+        // Same timestamp: ties are broken by id
+        put(BASE.plusHours(5), "M");
+        put(BASE.plusHours(5), "M");
+
+        assertThat(walk(Map.of())).isEqualTo(expected(createdAt.keySet()));
+        Map<String, Set<String>> medium = Map.of(ItemFacetService.SIZE, Set.of("M"));
+        assertThat(walk(medium)).isEqualTo(expected(index.query(medium, 0, Integer.MAX_VALUE).itemIds()));
+        assertThat(index.query(Map.of(), createdAt.size(), PAGE_SIZE).itemIds()).isEmpty();
+    }
+
+    private UUID put(LocalDateTime at, String size) {
+        UUID itemId = UUID.randomUUID();
+        index.put(itemId, at, new String[]{null, null, size, null, null});
+        createdAt.put(itemId, at);
+        return itemId;
+    }
+
+    private List<UUID> walk(Map<String, Set<String>> filters) {
+        List<UUID> seen = new ArrayList<>();
+        for (int offset = 0; ; offset += PAGE_SIZE) {
+            ItemFacetServiceImpl.FacetIndex.Result page = index.query(filters, offset, PAGE_SIZE);
+            seen.addAll(page.itemIds());
+            if (page.itemIds().size() < PAGE_SIZE) {
+                assertThat(seen).hasSize((int) page.total());
+                return seen;
+            }
+        }
+    }
+
+    // createdAt DESC, then item id DESC compared as unsigned bytes, as Postgres orders uuids
+    private List<UUID> expected(Collection<UUID> itemIds) {
+        Comparator<UUID> newestFirst = Comparator.comparing((UUID itemId) -> createdAt.get(itemId))
+                .thenComparing(UUID::toString)
+                .reversed();
+        return itemIds.stream()
+                .sorted(newestFirst)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,61 @@
+package org.greenloop.circularfashion.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.request.ItemLifecycleEventRequest;
+import org.greenloop.circularfashion.service.ItemLifecycleEventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The event log as the migrations leave it: item_lifecycle_history is partitioned by month, the
+ * coming months get their own partitions, and flushed events are stored in the partition of their
+ * event date, or the default partition when none covers it.
+ */
+@Import({ItemLifecycleEventServiceImpl.class, ObjectMapper.class, SimpleMeterRegistry.class})
+class ItemLifecycleEventServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ItemLifecycleEventService itemLifecycleEventService;
+
+    @Test
+    void eventsAreStoredInTheirMonthlyPartition() {
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = 'item_lifecycle_history'::regclass", String.class))
+                .isEqualTo("p");
+
+        ((ItemLifecycleEventServiceImpl) itemLifecycleEventService).ensurePartitions();
+        YearMonth month = YearMonth.now();
+        List<String> partitions = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'item_lifecycle_history'::regclass", String.class);
+        assertThat(partitions).contains("item_lifecycle_history_default", partition(month),
+                partition(month.plusMonths(1)), partition(month.plusMonths(2)));
+
+        Item item = itemRepository.save(item(newUser(), newCategory("Tops"), Item.ItemStatus.LISTED, LocalDateTime.now()).build());
+        LocalDateTime nextMonth = month.plusMonths(1).atDay(15).atStartOfDay();
+        LocalDateTime longAgo = LocalDateTime.of(2001, 3, 1, 12, 0);
+        itemLifecycleEventService.appendEvents(List.of(event(item, "SCANNED", nextMonth), event(item, "CREATED", longAgo)));
+        itemLifecycleEventService.flush();
+
+        assertThat(jdbcTemplate.queryForList("SELECT tableoid::regclass::text || ' ' || event_type " +
+                "FROM item_lifecycle_history ORDER BY event_date", String.class))
+                .containsExactly("item_lifecycle_history_default CREATED", partition(month.plusMonths(1)) + " SCANNED");
+    }
+
+    private static ItemLifecycleEventRequest event(Item item, String type, LocalDateTime eventDate) {
+        return ItemLifecycleEventRequest.builder().itemId(item.getItemId()).eventType(type).eventDate(eventDate).build();
+    }
+
+    private static String partition(YearMonth month) {
+        return String.format("item_lifecycle_history_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+}
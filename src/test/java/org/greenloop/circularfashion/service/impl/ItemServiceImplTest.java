@@ -0,0 +1,75 @@
+package org.greenloop.circularfashion.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.entity.request.ItemCreateRequest;
+import org.greenloop.circularfashion.entity.response.BulkItemReport;
+import org.greenloop.circularfashion.entity.response.BulkItemResult;
+import org.greenloop.circularfashion.mapper.ItemMapper;
+import org.greenloop.circularfashion.service.ItemService;
+import org.greenloop.circularfashion.util.TimeOrderedIds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk creation inserts each chunk as one batch; a chunk that fails is retried row by row with
+ * the rows already built, so only the bad row fails and every other row is stored once.
+ */
+@Import({ItemServiceImpl.class, ItemMapper.class, ItemFacetServiceImpl.class, ItemLifecycleEventServiceImpl.class,
+        ItemCodeCache.class, ItemWorkQueueServiceImpl.class, ItemStatsServiceImpl.class,
+        SustainabilityRollupServiceImpl.class, TrigramSupport.class, ObjectMapper.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "app.items.bulk.chunk-size=4")
+class ItemServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    // Item codes are generated on insert; normally NodeIdAllocator leases the node id
+    @BeforeEach
+    void assignNodeId() {
+        TimeOrderedIds.assignNodeId(1);
+    }
+
+    @AfterEach
+    void clearNodeId() {
+        TimeOrderedIds.clearNodeId();
+    }
+
+    @Test
+    void failedChunkIsRetriedRowByRow() {
+        User owner = newUser();
+        Category tops = newCategory("Tops");
+        List<ItemCreateRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Too long for the name column: fails its chunk, then only itself
+            String name = i == 5 ? "x".repeat(300) : "Bulk item " + i;
+            requests.add(ItemCreateRequest.builder().categoryId(tops.getCategoryId()).name(name)
+                    .acquisitionMethod("COLLECTED").conditionScore(new BigDecimal("4.00")).build());
+        }
+
+        BulkItemReport report = itemService.createBulkItems(requests, owner.getUserId());
+
+        assertThat(report.getSucceeded()).isEqualTo(9);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getResults().get(5).getOutcome()).isEqualTo(BulkItemResult.Outcome.FAILED);
+        List<BulkItemResult> created = report.getResults().stream()
+                .filter(result -> result.getOutcome() == BulkItemResult.Outcome.CREATED)
+                .toList();
+        assertThat(created).extracting(BulkItemResult::getItemId).doesNotHaveDuplicates()
+                .allSatisfy(itemId -> assertThat(itemRepository.existsById(itemId)).isTrue());
+        assertThat(itemRepository.count()).isEqualTo(9);
+    }
+}
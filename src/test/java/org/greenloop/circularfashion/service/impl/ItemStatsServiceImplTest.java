@@ -0,0 +1,104 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.service.ItemStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counter deltas are upserted into item_stat_counters just before commit (and not at all on
+ * rollback), reads sum the slots, and reconcile rebuilds every counter from items, reporting how
+ * many had drifted.
+ */
+@Import({ItemStatsServiceImpl.class, SimpleMeterRegistry.class})
+class ItemStatsServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ItemStatsService itemStatsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private Category tops;
+
+    @BeforeEach
+    void seed() {
+        owner = newUser();
+        tops = newCategory("Tops");
+    }
+
+    @Test
+    void countersCommitWithTheirTransaction() {
+        // Separate transactions, so the rows land in (likely) different slots
+        for (int i = 0; i < 6; i++) {
+            Item.ItemStatus status = i < 4 ? Item.ItemStatus.LISTED : Item.ItemStatus.SOLD;
+            transaction().executeWithoutResult(tx -> itemStatsService.added(
+                    ItemStatsService.Contribution.of(itemRepository.save(item(owner, tops, status, LocalDateTime.now()).build()))));
+        }
+        transaction().executeWithoutResult(tx -> {
+            itemStatsService.added(ItemStatsService.Contribution.of(
+                    itemRepository.save(item(owner, tops, Item.ItemStatus.LISTED, LocalDateTime.now()).build())));
+            tx.setRollbackOnly();
+        });
+
+        assertThat(itemStatsService.countAll()).isEqualTo(6);
+        assertThat(itemStatsService.countByStatus(Item.ItemStatus.LISTED)).isEqualTo(4);
+        assertThat(itemStatsService.countByOwner(owner.getUserId())).isEqualTo(6);
+        assertThat(itemStatsService.countByCategory(tops.getCategoryId())).isEqualTo(6);
+        assertThat(itemStatsService.countsByStatusInCategory(tops.getCategoryId()))
+                .isEqualTo(Map.of(Item.ItemStatus.LISTED, 4L, Item.ItemStatus.SOLD, 2L));
+        assertThat(itemStatsService.getAverageConditionScore()).isEqualByComparingTo("3.50");
+    }
+
+    @Test
+    void reconcileRebuildsDriftedCounters() {
+        for (int i = 0; i < 5; i++) {
+            transaction().executeWithoutResult(tx -> itemStatsService.added(ItemStatsService.Contribution.of(
+                    itemRepository.save(item(owner, tops, Item.ItemStatus.LISTED, LocalDateTime.now()).build()))));
+        }
+        // Writes that bypassed the counters: one item sold, one added, and a stale owner counter
+        jdbcTemplate.update("UPDATE items SET item_status = 'SOLD' WHERE item_id = " +
+                "(SELECT item_id FROM items ORDER BY created_at LIMIT 1)");
+        itemRepository.save(item(owner, tops, Item.ItemStatus.LISTED, LocalDateTime.now())
+                .conditionScore(new BigDecimal("4.50")).build());
+        jdbcTemplate.update("INSERT INTO item_stat_counters (dimension, dimension_key, slot, item_count, condition_sum, updated_at) " +
+                "VALUES ('OWNER', ?, 3, 2, 7.00, LOCALTIMESTAMP)", newUser().getUserId().toString());
+
+        itemStatsService.reconcile();
+
+        assertThat(itemStatsService.countAll()).isEqualTo(6);
+        assertThat(itemStatsService.countsByStatus())
+                .isEqualTo(Map.of(Item.ItemStatus.LISTED, 5L, Item.ItemStatus.SOLD, 1L));
+        assertThat(itemStatsService.countByOwner(owner.getUserId())).isEqualTo(6);
+        assertThat(itemStatsService.getAverageConditionScore()).isEqualByComparingTo("3.67");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_stat_counters WHERE dimension = 'OWNER'",
+                Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_stat_counters WHERE slot <> 0",
+                Long.class)).isZero();
+        // TOTAL, OWNER, CATEGORY, LISTED, CATEGORY:LISTED, SOLD, CATEGORY:SOLD and the stray owner
+        double corrected = meterRegistry.counter("items.stats.corrections").count();
+        assertThat(corrected).isEqualTo(8);
+
+        itemStatsService.reconcile();
+        assertThat(meterRegistry.counter("items.stats.corrections").count()).isEqualTo(corrected);
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
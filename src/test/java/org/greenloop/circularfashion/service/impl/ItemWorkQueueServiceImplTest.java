@@ -0,0 +1,140 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.ItemWorkLease;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.entity.response.ItemSummaryResponse;
+import org.greenloop.circularfashion.repository.ItemWorkLeaseRepository;
+import org.greenloop.circularfashion.service.ItemWorkQueueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The claim CTE hands concurrent staff disjoint batches (rows locked by an open claim are skipped,
+ * not waited on), takes over leases once they expire, and only the holder can complete leased work.
+ */
+@Import({ItemWorkQueueServiceImpl.class, SimpleMeterRegistry.class})
+class ItemWorkQueueServiceImplTest extends PostgresIntegrationTest {
+
+    private static final int ITEMS = 10;
+    private static final ItemWorkLease.Queue QUEUE = ItemWorkLease.Queue.VERIFICATION;
+
+    @Autowired
+    private ItemWorkQueueService workQueueService;
+
+    @Autowired
+    private ItemWorkLeaseRepository leaseRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void seed() {
+        User owner = newUser();
+        alice = newUser();
+        bob = newUser();
+        Category category = newCategory("Tops");
+        LocalDateTime base = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < ITEMS; i++) {
+            itemRepository.save(item(owner, category, Item.ItemStatus.COLLECTED, base.plusMinutes(i)).build());
+        }
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentClaimsGetDisjointBatches() throws Exception {
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        // Alice's claim stays uncommitted, holding its row locks, while Bob claims
+        Future<List<UUID>> first = executor.submit(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            List<UUID> ids = claim(alice, 4);
+            claimed.countDown();
+            await(commit);
+            return ids;
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<UUID> second = executor.submit(() -> claim(bob, 4)).get(10, TimeUnit.SECONDS);
+        commit.countDown();
+        List<UUID> firstIds = first.get(10, TimeUnit.SECONDS);
+
+        assertThat(firstIds).hasSize(4).doesNotHaveDuplicates();
+        assertThat(second).hasSize(4).doesNotContainAnyElementsOf(firstIds);
+        assertThat(leaseRepository.count()).isEqualTo(8);
+
+        // Only the two unleased items are left
+        List<UUID> rest = claim(bob, ITEMS);
+        assertThat(rest).hasSize(ITEMS - 8).doesNotContainAnyElementsOf(firstIds).doesNotContainAnyElementsOf(second);
+    }
+
+    @Test
+    void expiredLeaseIsClaimedAgain() {
+        List<UUID> leased = claim(alice, ITEMS);
+        assertThat(leased).hasSize(ITEMS);
+        assertThat(claim(bob, ITEMS)).isEmpty();
+
+        jdbcTemplate.update("UPDATE item_work_leases SET expires_at = ? WHERE staff_id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)), alice.getUserId());
+
+        assertThat(claim(bob, ITEMS)).containsExactlyInAnyOrderElementsOf(leased);
+        assertThat(leaseRepository.findAll()).hasSize(ITEMS)
+                .allSatisfy(lease -> assertThat(lease.getStaffId()).isEqualTo(bob.getUserId()));
+    }
+
+    @Test
+    void onlyTheHolderCompletesLeasedWork() {
+        UUID itemId = claim(alice, 1).get(0);
+
+        // IllegalStateException is answered with 409 Conflict
+        assertThatThrownBy(() -> workQueueService.complete(itemId, QUEUE, bob.getUserId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("leased to another staff member");
+        assertThat(leaseRepository.findByItemIdAndQueue(itemId, QUEUE)).isPresent();
+
+        workQueueService.complete(itemId, QUEUE, alice.getUserId());
+        assertThat(leaseRepository.findByItemIdAndQueue(itemId, QUEUE)).isEmpty();
+    }
+
+    private List<UUID> claim(User staff, int size) {
+        List<UUID> ids = new ArrayList<>();
+        for (ItemSummaryResponse item : workQueueService.claim(QUEUE, staff.getUserId(), size).getItems()) {
+            ids.add(item.getItemId());
+        }
+        return ids;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
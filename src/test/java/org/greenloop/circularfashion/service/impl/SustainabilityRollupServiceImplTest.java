@@ -0,0 +1,135 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.Category;
+import org.greenloop.circularfashion.entity.Item;
+import org.greenloop.circularfashion.entity.SustainabilityRollup;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.entity.response.SustainabilityImpactPoint;
+import org.greenloop.circularfashion.entity.response.SustainabilityImpactResponse;
+import org.greenloop.circularfashion.service.SustainabilityRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Backfill rebuilds whole months of rollups from item_lifecycle: only impact statuses count, the
+ * donor is credited on collection and the current owner otherwise, stale rows of the rebuilt months
+ * are replaced, other months are left alone, and running it twice gives the same rollups.
+ */
+@Import({SustainabilityRollupServiceImpl.class, SimpleMeterRegistry.class})
+class SustainabilityRollupServiceImplTest extends PostgresIntegrationTest {
+
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+
+    @Autowired
+    private SustainabilityRollupService rollupService;
+
+    private User donor;
+    private User buyer;
+    private Category tops;
+
+    @BeforeEach
+    void seed() {
+        donor = newUser();
+        buyer = newUser();
+        tops = newCategory("Tops");
+
+        Item sold = itemRepository.save(impactItem("2.0000", "100.00", "5.00").build());
+        recordStatus(sold, "COLLECTED", LocalDateTime.of(2025, 3, 10, 9, 0));
+        recordStatus(sold, "LISTED", LocalDateTime.of(2025, 3, 11, 9, 0));
+        recordStatus(sold, "SOLD", LocalDateTime.of(2025, 3, 20, 18, 30));
+
+        Item recycled = itemRepository.save(impactItem("1.5000", "40.00", "2.50").build());
+        recordStatus(recycled, "RECYCLED", LocalDateTime.of(2025, 2, 28, 23, 59));
+        recordStatus(recycled, "COLLECTED", LocalDateTime.of(2025, 4, 1, 0, 0));
+
+        // Stale rows: one inside March that the rebuild must drop, one in April it must not touch
+        insertRollup(LocalDate.of(2025, 3, 5), 9);
+        insertRollup(LocalDate.of(2025, 4, 3), 7);
+    }
+
+    @Test
+    void backfillRebuildsOnlyTheMonthsInRange() {
+        assertThat(rollupService.backfill(LocalDate.of(2025, 3, 15), LocalDate.of(2025, 3, 15))).isEqualTo(1);
+
+        SustainabilityImpactResponse march = impact(SustainabilityRollup.Scope.PLATFORM, null,
+                SustainabilityRollup.Period.DAY, null);
+        assertThat(march.getSeries()).extracting(SustainabilityImpactPoint::getPeriodStart, SustainabilityImpactPoint::getItemCount)
+                .containsExactly(tuple(LocalDate.of(2025, 3, 10), 1L), tuple(LocalDate.of(2025, 3, 20), 1L));
+        assertThat(march.getTotals().getCarbonFootprintKg()).isEqualByComparingTo("4.0");
+        assertThat(march.getTotals().getWaterSavedLiters()).isEqualByComparingTo("200.00");
+
+        assertThat(impact(SustainabilityRollup.Scope.USER, donor.getUserId(), SustainabilityRollup.Period.DAY, null)
+                .getSeries()).extracting(SustainabilityImpactPoint::getPeriodStart)
+                .containsExactly(LocalDate.of(2025, 3, 10));
+        assertThat(impact(SustainabilityRollup.Scope.USER, buyer.getUserId(), SustainabilityRollup.Period.DAY, null)
+                .getSeries()).extracting(SustainabilityImpactPoint::getPeriodStart)
+                .containsExactly(LocalDate.of(2025, 3, 20));
+        assertThat(impact(SustainabilityRollup.Scope.CATEGORY, tops.getCategoryId(), SustainabilityRollup.Period.MONTH,
+                Item.ItemStatus.SOLD).getTotals().getItemCount()).isEqualTo(1);
+        assertThat(impact(SustainabilityRollup.Scope.PLATFORM, null, SustainabilityRollup.Period.MONTH, null)
+                .getSeries()).extracting(SustainabilityImpactPoint::getPeriodStart, SustainabilityImpactPoint::getItemCount)
+                .containsExactly(tuple(MARCH, 2L));
+
+        assertThat(rowsIn(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 5, 1))).isEqualTo(1);
+        assertThat(rowsIn(LocalDate.of(2025, 2, 1), MARCH)).isZero();
+    }
+
+    @Test
+    void backfillIsRepeatableAcrossMonths() {
+        LocalDate from = LocalDate.of(2025, 2, 1);
+        LocalDate to = LocalDate.of(2025, 4, 30);
+        assertThat(rollupService.backfill(from, to)).isEqualTo(3);
+        long rows = rowsIn(from, to.plusDays(1));
+        assertThat(rollupService.backfill(from, to)).isEqualTo(3);
+
+        assertThat(rowsIn(from, to.plusDays(1))).isEqualTo(rows);
+        SustainabilityImpactResponse months = rollupService.getImpact(SustainabilityRollup.Scope.PLATFORM, null,
+                SustainabilityRollup.Period.MONTH, from, to, null);
+        assertThat(months.getSeries()).extracting(SustainabilityImpactPoint::getPeriodStart, SustainabilityImpactPoint::getItemCount)
+                .containsExactly(tuple(from, 1L), tuple(MARCH, 2L), tuple(LocalDate.of(2025, 4, 1), 1L));
+        assertThat(months.getTotals().getEnergySavedKwh()).isEqualByComparingTo("15.00");
+    }
+
+    private SustainabilityImpactResponse impact(SustainabilityRollup.Scope scope, UUID scopeId,
+                                                SustainabilityRollup.Period period, Item.ItemStatus event) {
+        return rollupService.getImpact(scope, scopeId, period, MARCH, MARCH.plusMonths(1).minusDays(1), event);
+    }
+
+    private Item.ItemBuilder impactItem(String carbon, String water, String energy) {
+        return item(donor, tops, Item.ItemStatus.SUBMITTED, LocalDateTime.of(2025, 1, 1, 0, 0))
+                .currentOwner(buyer)
+                .carbonFootprintKg(new BigDecimal(carbon))
+                .waterSavedLiters(new BigDecimal(water))
+                .energySavedKwh(new BigDecimal(energy));
+    }
+
+    private void recordStatus(Item item, String status, LocalDateTime at) {
+        jdbcTemplate.update("INSERT INTO item_lifecycle (lifecycle_id, item_id, new_status, created_at) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), item.getItemId(), status, Timestamp.valueOf(at));
+    }
+
+    private void insertRollup(LocalDate day, long count) {
+        jdbcTemplate.update("INSERT INTO sustainability_rollups (scope, scope_key, period, period_start, impact_event, " +
+                "item_count, carbon_footprint_kg, water_saved_liters, energy_saved_kwh, updated_at) " +
+                "VALUES ('PLATFORM', '', 'DAY', ?, 'SOLD', ?, 0, 0, 0, LOCALTIMESTAMP)", Date.valueOf(day), count);
+    }
+
+    private long rowsIn(LocalDate from, LocalDate until) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sustainability_rollups " +
+                "WHERE period_start >= ? AND period_start < ?", Long.class, Date.valueOf(from), Date.valueOf(until));
+    }
+}
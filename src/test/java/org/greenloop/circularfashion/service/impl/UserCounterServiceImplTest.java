@@ -0,0 +1,107 @@
+package org.greenloop.circularfashion.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.greenloop.circularfashion.entity.User;
+import org.greenloop.circularfashion.service.UserCounterService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Follow and listing deltas are upserted into user_activity_counters just before commit (and not
+ * at all on rollback), and reconcile rebuilds the table from user_follows, marketplace_listings and
+ * orders, counting the users whose counters had drifted.
+ */
+@Import({UserCounterServiceImpl.class, SimpleMeterRegistry.class})
+class UserCounterServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private UserCounterService userCounterService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User alice;
+    private User bob;
+    private User carol;
+
+    @BeforeEach
+    void seed() {
+        alice = newUser();
+        bob = newUser();
+        carol = newUser();
+    }
+
+    @Test
+    void deltasCommitWithTheirTransaction() {
+        transaction().executeWithoutResult(tx -> {
+            userCounterService.followAdded(alice.getUserId(), bob.getUserId());
+            userCounterService.followAdded(carol.getUserId(), bob.getUserId());
+            userCounterService.listingAdded(alice.getUserId());
+            userCounterService.listingAdded(alice.getUserId());
+        });
+        transaction().executeWithoutResult(tx -> userCounterService.listingRemoved(alice.getUserId()));
+        transaction().executeWithoutResult(tx -> {
+            userCounterService.followAdded(bob.getUserId(), alice.getUserId());
+            tx.setRollbackOnly();
+        });
+
+        assertThat(userCounterService.get(alice.getUserId())).isEqualTo(new UserCounterService.Counts(0, 1, 0, 1, 0));
+        assertThat(userCounterService.get(bob.getUserId())).isEqualTo(new UserCounterService.Counts(2, 0, 0, 0, 0));
+
+        transaction().executeWithoutResult(tx -> userCounterService.followRemoved(carol.getUserId(), bob.getUserId()));
+        Map<UUID, UserCounterService.Counts> counts = userCounterService.getAll(
+                List.of(bob.getUserId(), carol.getUserId(), newUser().getUserId()));
+        assertThat(counts.get(bob.getUserId()).followers()).isEqualTo(1);
+        assertThat(counts.get(carol.getUserId())).isEqualTo(UserCounterService.Counts.NONE);
+        assertThat(counts).hasSize(3).containsValue(UserCounterService.Counts.NONE);
+    }
+
+    @Test
+    void reconcileRebuildsDriftedCounters() {
+        transaction().executeWithoutResult(tx -> {
+            insertFollow(alice, bob);
+            userCounterService.followAdded(alice.getUserId(), bob.getUserId());
+        });
+        // Follows written behind the counters' back, and counters left over for a user with no rows
+        insertFollow(carol, bob);
+        insertFollow(bob, alice);
+        User gone = newUser();
+        transaction().executeWithoutResult(tx -> userCounterService.listingAdded(gone.getUserId()));
+
+        userCounterService.reconcile();
+
+        assertThat(userCounterService.get(alice.getUserId())).isEqualTo(new UserCounterService.Counts(1, 1, 0, 0, 0));
+        assertThat(userCounterService.get(bob.getUserId())).isEqualTo(new UserCounterService.Counts(2, 1, 0, 0, 0));
+        assertThat(userCounterService.get(carol.getUserId())).isEqualTo(new UserCounterService.Counts(0, 1, 0, 0, 0));
+        assertThat(userCounterService.get(gone.getUserId())).isEqualTo(UserCounterService.Counts.NONE);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_activity_counters", Long.class)).isEqualTo(3);
+        // alice gained a follower, bob a follower and a followee, carol a followee, and gone lost its row
+        double corrected = meterRegistry.counter("users.counters.corrections").count();
+        assertThat(corrected).isEqualTo(4);
+
+        userCounterService.reconcile();
+        assertThat(meterRegistry.counter("users.counters.corrections").count()).isEqualTo(corrected);
+    }
+
+    private void insertFollow(User follower, User followed) {
+        jdbcTemplate.update("INSERT INTO user_follows (follow_id, follower_id, followed_id, created_at) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), follower.getUserId(), followed.getUserId(), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
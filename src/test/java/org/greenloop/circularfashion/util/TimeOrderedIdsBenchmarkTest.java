@@ -0,0 +1,63 @@
+package org.greenloop.circularfashion.util;
+
+import org.greenloop.circularfashion.Benchmarks;
+import org.greenloop.circularfashion.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert locality of UUIDv7 primary keys against random (v4) ones: the same rows are inserted in
+ * batches into two tables that differ only in how ids are generated. Time-ordered keys append to
+ * the right edge of the primary key B-tree, so inserts touch fewer pages and the index stays
+ * densely packed, while random keys split pages all over the index.
+ */
+@Tag(Benchmarks.TAG)
+class TimeOrderedIdsBenchmarkTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @AfterEach
+    void dropTables() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_uuid_v7, bench_uuid_v4");
+    }
+
+    @Test
+    void timeOrderedKeysKeepThePrimaryKeyCompact() {
+        long timeOrdered = insert("bench_uuid_v7", TimeOrderedIds::uuid);
+        long random = insert("bench_uuid_v4", UUID::randomUUID);
+
+        System.out.printf("[benchmark] %-40s %12d kB primary key%n", "UUIDv7 keys", timeOrdered / 1024);
+        System.out.printf("[benchmark] %-40s %12d kB primary key%n", "random UUID keys", random / 1024);
+        // Appends leave pages ~90% full, random splits ~70%. Insert times are printed, not asserted:
+        // while the index still fits in shared buffers the gap is small and noisy
+        assertThat(timeOrdered).isLessThan(random);
+    }
+
+    // Inserts ROWS rows in batches, printing the time per batch; returns the primary key size in bytes
+    private long insert(String table, Supplier<UUID> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id uuid PRIMARY KEY, payload varchar(64) NOT NULL)");
+        int batches = ROWS / BATCH_SIZE;
+        int[] batch = {0};
+        Benchmarks.nanosPerOp("insert " + BATCH_SIZE + " rows, " + table, 0, batches, () -> {
+            List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                rows.add(new Object[]{ids.get(), "row " + batch[0] + "-" + i});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, payload) VALUES (?, ?)", rows);
+            batch[0]++;
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class)).isEqualTo(ROWS);
+        Long indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        return indexBytes != null ? indexBytes : 0;
+    }
+}